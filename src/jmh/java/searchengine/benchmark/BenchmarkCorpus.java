@@ -0,0 +1,41 @@
+package searchengine.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BenchmarkCorpus {
+
+    private static final String CORPUS_DIRECTORY = "/corpus/";
+    private static final String CORPUS_PAGES_LIST = CORPUS_DIRECTORY + "pages.txt";
+
+    public static Map<String, String> loadPagesByRelativePath() {
+        Map<String, String> pagesByRelativePath = new LinkedHashMap<>();
+        for (String pageFileName : readResource(CORPUS_PAGES_LIST).lines().map(String::strip).toList()) {
+            if (!pageFileName.isEmpty()) {
+                pagesByRelativePath.put("/" + pageFileName, readResource(CORPUS_DIRECTORY + pageFileName));
+            }
+        }
+        return pagesByRelativePath;
+    }
+
+    public static List<String> loadPages() {
+        return List.copyOf(loadPagesByRelativePath().values());
+    }
+
+    private static String readResource(String resourcePath) {
+        try (InputStream inputStream = BenchmarkCorpus.class.getResourceAsStream(resourcePath)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Benchmark corpus resource " + resourcePath + " is not found");
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package searchengine.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import searchengine.Application;
+import searchengine.config.Site;
+import searchengine.config.SitesList;
+import searchengine.dto.indexing.PageIndexingData;
+import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
+import searchengine.model.SiteIndexingStatus;
+import searchengine.services.actions.ComputeIndexingInfoAction;
+import searchengine.services.entity.IndexService;
+import searchengine.services.entity.PageContentService;
+import searchengine.services.entity.PageService;
+import searchengine.services.entity.SiteService;
+import searchengine.services.index.InvertedIndexService;
+import searchengine.services.index.LemmaFrequencyAccumulator;
+import searchengine.util.ConnectionInfoExtractor;
+
+import java.util.Map;
+
+public class EmbeddedDatabaseFixture implements AutoCloseable {
+
+    private static final String BENCHMARK_PROFILE = "benchmark";
+    private static final long INVERTED_INDEX_LOADING_TIMEOUT_MILLIS = 60_000;
+
+    private final ConfigurableApplicationContext context;
+
+    public EmbeddedDatabaseFixture() {
+        this.context = new SpringApplicationBuilder(Application.class)
+                .profiles(BENCHMARK_PROFILE)
+                .run();
+    }
+
+    public <T> T getBean(Class<T> beanClass) {
+        return context.getBean(beanClass);
+    }
+
+    public Site getCorpusSite() {
+        return getBean(SitesList.class).getSites().get(0);
+    }
+
+    public SiteEntity saveCorpusSite() {
+        Site corpusSite = getCorpusSite();
+        SiteService siteService = getBean(SiteService.class);
+        SiteEntity site = siteService.createSiteByNameAndUrl(corpusSite.getName(), corpusSite.getUrl());
+        site.setStatus(SiteIndexingStatus.INDEXED);
+        return siteService.save(site);
+    }
+
+    public PageEntity savePage(SiteEntity site, String relativePath, String content) {
+        PageEntity page = new PageEntity();
+        page.setSite(site);
+        page.setRelativePath(relativePath);
+        page.setCode(ConnectionInfoExtractor.PAGE_CODE_SUCCESS);
+        page.setContent(content);
+        PageEntity savedPage = getBean(PageService.class).save(page);
+        savedPage.setContent(content);
+        getBean(PageContentService.class).save(savedPage);
+        return savedPage;
+    }
+
+    public void indexCorpus() throws InterruptedException {
+        InvertedIndexService invertedIndexService = getBean(InvertedIndexService.class);
+        awaitInvertedIndexLoading(invertedIndexService);
+        SiteEntity site = saveCorpusSite();
+        LemmaFrequencyAccumulator lemmaFrequencyAccumulator = getBean(LemmaFrequencyAccumulator.class);
+        IndexService indexService = getBean(IndexService.class);
+        ComputeIndexingInfoAction computeIndexingInfoAction = getBean(ComputeIndexingInfoAction.class);
+        for (Map.Entry<String, String> corpusPage : BenchmarkCorpus.loadPagesByRelativePath().entrySet()) {
+            PageEntity page = savePage(site, corpusPage.getKey(), corpusPage.getValue());
+            PageIndexingData pageIndexingData = computeIndexingInfoAction.computeIndexingInfoForPage(indexService, page);
+            indexService.insertAll(pageIndexingData.getIndexesByPage());
+            invertedIndexService.addPage(pageIndexingData);
+        }
+        lemmaFrequencyAccumulator.flush(site);
+    }
+
+    private void awaitInvertedIndexLoading(InvertedIndexService invertedIndexService) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + INVERTED_INDEX_LOADING_TIMEOUT_MILLIS;
+        while (!invertedIndexService.isReady()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Inverted index is not loaded in benchmark fixture");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+}
@@ -0,0 +1,77 @@
+package searchengine.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import searchengine.config.IndexingConfig;
+import searchengine.model.IndexEntity;
+import searchengine.model.LemmaEntity;
+import searchengine.model.PageEntity;
+import searchengine.repository.LemmaRepository;
+import searchengine.repository.PageRepository;
+import searchengine.services.entity.IndexService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndexWriteBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 5_000;
+
+    @Param({"jpa", "jdbc"})
+    public String writer;
+
+    @Param({"500", "2000"})
+    public int batchSize;
+
+    private EmbeddedDatabaseFixture fixture;
+    private IndexService indexService;
+    private List<PageEntity> pages;
+    private List<LemmaEntity> lemmas;
+    private List<IndexEntity> indexRows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        fixture = new EmbeddedDatabaseFixture();
+        fixture.indexCorpus();
+        fixture.getBean(IndexingConfig.class).setIndexInsertBatchSize(batchSize);
+        indexService = fixture.getBean(IndexService.class);
+        pages = fixture.getBean(PageRepository.class).findAll();
+        lemmas = fixture.getBean(LemmaRepository.class).findAll();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearIndexTable() {
+        indexService.deleteAll();
+    }
+
+    @Setup(Level.Invocation)
+    public void createIndexRows() {
+        indexRows = new ArrayList<>(ROWS_PER_INVOCATION);
+        for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+            PageEntity page = pages.get(i % pages.size());
+            LemmaEntity lemma = lemmas.get(i % lemmas.size());
+            indexRows.add(indexService.createIndexForPage(lemma, (float) (i % 10 + 1), page));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public int writeIndexRows() {
+        if (writer.equals("jpa")) {
+            return indexService.saveAll(indexRows).size();
+        }
+        return indexService.insertAll(indexRows);
+    }
+
+}
@@ -0,0 +1,52 @@
+package searchengine.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
+import searchengine.services.actions.ComputeIndexingInfoAction;
+import searchengine.services.entity.IndexService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndexingBenchmark {
+
+    private EmbeddedDatabaseFixture fixture;
+    private ComputeIndexingInfoAction computeIndexingInfoAction;
+    private IndexService indexService;
+    private List<PageEntity> pages;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new EmbeddedDatabaseFixture();
+        computeIndexingInfoAction = fixture.getBean(ComputeIndexingInfoAction.class);
+        indexService = fixture.getBean(IndexService.class);
+        SiteEntity site = fixture.saveCorpusSite();
+        pages = new ArrayList<>();
+        for (Map.Entry<String, String> corpusPage : BenchmarkCorpus.loadPagesByRelativePath().entrySet()) {
+            pages.add(fixture.savePage(site, corpusPage.getKey(), corpusPage.getValue()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void computeIndexingInfoForPage(Blackhole blackhole) {
+        for (PageEntity page : pages) {
+            blackhole.consume(computeIndexingInfoAction.computeIndexingInfoForPage(indexService, page));
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package searchengine.benchmark;
+
+import org.apache.commons.lang3.StringUtils;
+import searchengine.services.actions.CollectLemmasAction;
+import searchengine.util.RussianWordTokenizer;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class LegacySnippetGenerator {
+
+    private static final int MAX_SNIPPET_LENGTH_IN_SYMBOLS = 250;
+    private static final String SNIPPET_DELIMITER = "...";
+    private static final int WORDS_BEFORE_OR_AFTER_SNIPPET = 2;
+
+    private final CollectLemmasAction collectLemmasAction;
+
+    public LegacySnippetGenerator(CollectLemmasAction collectLemmasAction) {
+        this.collectLemmasAction = collectLemmasAction;
+    }
+
+    public String createSnippet(String cleanedPageContent, Set<String> queryLemmas) {
+        List<UnalteredWord> unalteredWordList = cutUnalteredWordsFromText(cleanedPageContent);
+        List<UnalteredWord> wordsContainingQuery =
+                getQueryWordsSortedByOrdinalNumberInText(queryLemmas, unalteredWordList);
+        Map<Integer, String> snippetsWithQueryWordsCount =
+                getSnippetsByQueryWordsCountDownward(wordsContainingQuery, cleanedPageContent, unalteredWordList);
+        String finalSnippet = constructFinalSnippet(snippetsWithQueryWordsCount);
+        return getSnippetWithQueryWordsInBold(finalSnippet, wordsContainingQuery);
+    }
+
+    private List<UnalteredWord> cutUnalteredWordsFromText(String cleanedPageContent) {
+        List<UnalteredWord> unalteredWordList = new LinkedList<>();
+        RussianWordTokenizer tokenizer = new RussianWordTokenizer(cleanedPageContent);
+        int ordinalNumberInText = 0;
+        while (tokenizer.next()) {
+            String wordInLowerCase = tokenizer.getWord();
+            if (!collectLemmasAction.isWord(wordInLowerCase)) {
+                continue;
+            }
+            unalteredWordList.add(new UnalteredWord(
+                    cleanedPageContent.substring(tokenizer.getWordStart(), tokenizer.getWordEnd()),
+                    collectLemmasAction.getNormalFormOfWord(wordInLowerCase),
+                    tokenizer.getWordStart(),
+                    ordinalNumberInText++));
+        }
+        return unalteredWordList;
+    }
+
+    private List<UnalteredWord> getQueryWordsSortedByOrdinalNumberInText(Set<String> queryLemmas,
+                                                                         List<UnalteredWord> unalteredWordList) {
+        List<UnalteredWord> wordsContainingQuery = new LinkedList<>();
+        for (String lemma : queryLemmas) {
+            for (UnalteredWord wordFromText : unalteredWordList) {
+                if (StringUtils.equalsIgnoreCase(lemma, wordFromText.lemma())) {
+                    wordsContainingQuery.add(wordFromText);
+                }
+            }
+        }
+        wordsContainingQuery.sort(Comparator.comparingInt(UnalteredWord::ordinalNumberInText));
+        return wordsContainingQuery;
+    }
+
+    private Map<Integer, String> getSnippetsByQueryWordsCountDownward(List<UnalteredWord> wordsContainingQuery,
+                                                                      String cleanedPageContent,
+                                                                      List<UnalteredWord> unalteredWordList) {
+        Map<Integer, String> snippetsWithQueryWordsCount = new TreeMap<>(Comparator.reverseOrder());
+        Snippet snippet = new Snippet();
+        for (UnalteredWord word : wordsContainingQuery) {
+            snippet.updateSnippetInfo(cleanedPageContent, word, unalteredWordList);
+            if (snippet.isComplete) {
+                snippetsWithQueryWordsCount.merge(snippet.queryWordsInSnippetCount, snippet.snippet, String::concat);
+                snippet = new Snippet();
+                snippet.updateSnippetInfo(cleanedPageContent, word, unalteredWordList);
+            }
+        }
+        if (!snippet.isComplete) {
+            snippet.completeSnippet(unalteredWordList, cleanedPageContent);
+            snippetsWithQueryWordsCount.merge(snippet.queryWordsInSnippetCount, snippet.snippet, String::concat);
+        }
+        return snippetsWithQueryWordsCount;
+    }
+
+    private String constructFinalSnippet(Map<Integer, String> snippetsWithQueryWordsCount) {
+        StringBuilder finalSnippet = new StringBuilder();
+        for (String snippetToAppend : snippetsWithQueryWordsCount.values()) {
+            finalSnippet.append(snippetToAppend);
+            if (finalSnippet.length() > MAX_SNIPPET_LENGTH_IN_SYMBOLS) {
+                String snippetStart = finalSnippet.substring(0, MAX_SNIPPET_LENGTH_IN_SYMBOLS);
+                int pointToCutSnippet = snippetStart.lastIndexOf(SNIPPET_DELIMITER);
+                if (pointToCutSnippet == -1) {
+                    pointToCutSnippet = Math.max(0, snippetStart.lastIndexOf(" "));
+                }
+                finalSnippet.replace(
+                        Math.min(pointToCutSnippet + SNIPPET_DELIMITER.length(), finalSnippet.length()),
+                        finalSnippet.length(),
+                        "");
+                if (!StringUtils.endsWith(finalSnippet, SNIPPET_DELIMITER)) {
+                    finalSnippet.replace(finalSnippet.length() - SNIPPET_DELIMITER.length(),
+                            finalSnippet.length(), SNIPPET_DELIMITER);
+                }
+                break;
+            }
+        }
+        return finalSnippet.toString();
+    }
+
+    private String getSnippetWithQueryWordsInBold(String snippetText, List<UnalteredWord> wordsContainingQuery) {
+        Set<String> initialWordsContainingQuery = wordsContainingQuery.stream()
+                .map(UnalteredWord::initialWord)
+                .collect(Collectors.toSet());
+        for (String word : initialWordsContainingQuery) {
+            String wordInBold = "<b>" + word + "</b>";
+            snippetText = snippetText.replaceAll("(?<!<b>)(" + word + ")(?!\\p{L})", wordInBold);
+        }
+        return snippetText;
+    }
+
+    private record UnalteredWord(String initialWord, String lemma, int firstLetterIndexInText,
+                                 int ordinalNumberInText) {
+
+        private int lastLetterIndexInText() {
+            return firstLetterIndexInText + initialWord.length() - 1;
+        }
+    }
+
+    private static class Snippet {
+
+        private String snippet = "";
+        private int firstLetterIndexInText = -1;
+        private int lastLetterIndexInText = -1;
+        private int lastQueryWordOrdinalNumber = -1;
+        private int queryWordsInSnippetCount = 0;
+        private boolean isComplete = false;
+
+        private void updateSnippetInfo(String text, UnalteredWord word, List<UnalteredWord> unalteredWordList) {
+            int firstSnippetWordOrdinalNumber = Math.max(0, word.ordinalNumberInText() - WORDS_BEFORE_OR_AFTER_SNIPPET);
+            int lastSnippetWordOrdinalNumber = lastQueryWordOrdinalNumber + WORDS_BEFORE_OR_AFTER_SNIPPET;
+            if (lastSnippetWordOrdinalNumber >= firstSnippetWordOrdinalNumber - 1 || firstLetterIndexInText == -1) {
+                if (firstLetterIndexInText == -1) {
+                    firstLetterIndexInText =
+                            unalteredWordList.get(firstSnippetWordOrdinalNumber).firstLetterIndexInText();
+                }
+                queryWordsInSnippetCount++;
+                lastLetterIndexInText = word.lastLetterIndexInText();
+                lastQueryWordOrdinalNumber = word.ordinalNumberInText();
+            } else {
+                completeSnippet(unalteredWordList, text);
+            }
+        }
+
+        private void completeSnippet(List<UnalteredWord> unalteredWordList, String text) {
+            int lastWordToAppendOrdinalNumber = Math.min(lastQueryWordOrdinalNumber + WORDS_BEFORE_OR_AFTER_SNIPPET,
+                    unalteredWordList.size() - 1);
+            lastLetterIndexInText = unalteredWordList.get(lastWordToAppendOrdinalNumber).lastLetterIndexInText();
+            try {
+                snippet = text.substring(firstLetterIndexInText, lastLetterIndexInText + 1) + SNIPPET_DELIMITER + " ";
+            } catch (IndexOutOfBoundsException e) {
+                snippet = StringUtils.EMPTY;
+            }
+            isComplete = true;
+        }
+    }
+
+}
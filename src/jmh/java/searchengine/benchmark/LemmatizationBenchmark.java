@@ -0,0 +1,70 @@
+package searchengine.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import searchengine.services.actions.CollectLemmasAction;
+import searchengine.util.RussianWordTokenizer;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LemmatizationBenchmark {
+
+    private static final String NOT_LOWCASE_RUSSIAN_LETTERS_OR_SPACE = "([^а-яъ\\p{Z}])";
+    private static final String TWO_OR_MORE_LOWCASE_RUSSIAN_LETTERS = "[а-яъ]{2,}";
+    private static final String ONE_OR_MORE_SPACE_SYMBOLS = "\\p{Z}+";
+    private static final String DOUBLE_STANDALONE_CONSONANTS = "([б-джзк-н-п-т-х-ь])\\1+[\\p{Z}\\p{Punct}]";
+
+    private final CollectLemmasAction collectLemmasAction = new CollectLemmasAction();
+    private List<String> cleanedPages;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cleanedPages = BenchmarkCorpus.loadPages().stream()
+                .map(collectLemmasAction::cleanText)
+                .toList();
+    }
+
+    @Benchmark
+    public void tokenizeWithRegexPipeline(Blackhole blackhole) {
+        for (String cleanedPage : cleanedPages) {
+            String[] words = cleanedPage.toLowerCase(Locale.ROOT)
+                    .replaceAll(NOT_LOWCASE_RUSSIAN_LETTERS_OR_SPACE, " ")
+                    .replaceAll(DOUBLE_STANDALONE_CONSONANTS, " ")
+                    .split(ONE_OR_MORE_SPACE_SYMBOLS);
+            for (String word : words) {
+                if (!word.isEmpty() && word.matches(TWO_OR_MORE_LOWCASE_RUSSIAN_LETTERS)) {
+                    blackhole.consume(word);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void tokenizeWithRussianWordTokenizer(Blackhole blackhole) {
+        for (String cleanedPage : cleanedPages) {
+            RussianWordTokenizer tokenizer = new RussianWordTokenizer(cleanedPage);
+            while (tokenizer.next()) {
+                blackhole.consume(tokenizer.getWord());
+                blackhole.consume(tokenizer.getWordStart());
+            }
+        }
+    }
+
+    @Benchmark
+    public void collectLemmasFromCleanedTextWithCount(Blackhole blackhole) {
+        for (String cleanedPage : cleanedPages) {
+            Map<String, Integer> lemmasWithCount = collectLemmasAction.collectLemmasFromCleanedTextWithCount(cleanedPage);
+            blackhole.consume(lemmasWithCount);
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package searchengine.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import searchengine.dto.search.SearchResponse;
+import searchengine.services.api.SearchService;
+import searchengine.services.index.SearchResultCache;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final int SEARCH_OFFSET = 0;
+    private static final int SEARCH_LIMIT = 20;
+
+    @Param({"расписание занятий", "лошадь дикий", "научный институт"})
+    public String query;
+
+    @Param({"true", "false"})
+    public boolean useResultCache;
+
+    private EmbeddedDatabaseFixture fixture;
+    private SearchService searchService;
+    private SearchResultCache searchResultCache;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        fixture = new EmbeddedDatabaseFixture();
+        fixture.indexCorpus();
+        searchService = fixture.getBean(SearchService.class);
+        searchResultCache = fixture.getBean(SearchResultCache.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public SearchResponse getSearchResults() {
+        if (!useResultCache) {
+            searchResultCache.invalidateAll();
+        }
+        return searchService.getSearchResults(query, null, SEARCH_OFFSET, SEARCH_LIMIT);
+    }
+
+}
@@ -0,0 +1,104 @@
+package searchengine.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import searchengine.index.PageWords;
+import searchengine.model.PageEntity;
+import searchengine.model.PageTextEntity;
+import searchengine.model.SiteEntity;
+import searchengine.services.actions.CollectLemmasAction;
+import searchengine.services.actions.GenerateSnippetAction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnippetBenchmark {
+
+    private static final String SITE_URL = "https://corpus.benchmark";
+
+    @Param({"расписание занятий", "лошадь дикий", "научный институт"})
+    public String query;
+
+    private final CollectLemmasAction collectLemmasAction = new CollectLemmasAction();
+    private final GenerateSnippetAction snippetAction = new GenerateSnippetAction(collectLemmasAction);
+    private final LegacySnippetGenerator legacySnippetGenerator = new LegacySnippetGenerator(collectLemmasAction);
+    private List<PageEntity> pages;
+    private List<PageTextEntity> pageTexts;
+    private List<List<byte[]>> queryLemmaPositionsByPage;
+    private Set<String> queryLemmas;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SiteEntity site = new SiteEntity();
+        site.setUrl(SITE_URL);
+        pages = new ArrayList<>();
+        for (Map.Entry<String, String> corpusPage : BenchmarkCorpus.loadPagesByRelativePath().entrySet()) {
+            PageEntity page = new PageEntity();
+            page.setSite(site);
+            page.setRelativePath(corpusPage.getKey());
+            page.setContent(corpusPage.getValue());
+            pages.add(page);
+        }
+        queryLemmas = collectLemmasAction.collectLemmasFromCleanedTextWithCount(query).keySet();
+        pageTexts = new ArrayList<>();
+        queryLemmaPositionsByPage = new ArrayList<>();
+        for (PageEntity page : pages) {
+            String cleanedText = collectLemmasAction.cleanText(page.getContent());
+            PageWords pageWords = new PageWords();
+            collectLemmasAction.collectLemmasFromCleanedTextWithCount(cleanedText, pageWords);
+            pageTexts.add(new PageTextEntity(pageTexts.size(), page.getRelativePath(), cleanedText,
+                    pageWords.getWordOffsets().encode()));
+            queryLemmaPositionsByPage.add(queryLemmas.stream()
+                    .map(pageWords::encodePositions)
+                    .filter(Objects::nonNull)
+                    .toList());
+        }
+    }
+
+    @Benchmark
+    public void createSnippet(Blackhole blackhole) {
+        for (PageEntity page : pages) {
+            blackhole.consume(snippetAction.createSnippet(page, queryLemmas));
+        }
+    }
+
+    @Benchmark
+    public void createSnippetWithLegacyGenerator(Blackhole blackhole) {
+        for (PageEntity page : pages) {
+            String cleanedText = collectLemmasAction.cleanText(page.getContent());
+            blackhole.consume(legacySnippetGenerator.createSnippet(cleanedText, queryLemmas));
+        }
+    }
+
+    @Benchmark
+    public void createSnippetFromPageText(Blackhole blackhole) {
+        for (PageTextEntity pageText : pageTexts) {
+            blackhole.consume(snippetAction.createSnippet(pageText, queryLemmas));
+        }
+    }
+
+    @Benchmark
+    public void createSnippetFromPageTextWithLegacyGenerator(Blackhole blackhole) {
+        for (PageTextEntity pageText : pageTexts) {
+            blackhole.consume(legacySnippetGenerator.createSnippet(pageText.getCleanedText(), queryLemmas));
+        }
+    }
+
+    @Benchmark
+    public void createSnippetFromLemmaPositions(Blackhole blackhole) {
+        for (int i = 0; i < pageTexts.size(); i++) {
+            blackhole.consume(snippetAction.createSnippet(pageTexts.get(i), queryLemmaPositionsByPage.get(i)));
+        }
+    }
+
+}
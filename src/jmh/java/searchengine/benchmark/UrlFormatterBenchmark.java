@@ -0,0 +1,38 @@
+package searchengine.benchmark;
+
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import searchengine.util.UrlFormatter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UrlFormatterBenchmark {
+
+    private static final String SITE_URL = "https://corpus.benchmark";
+
+    private List<String> links;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        links = BenchmarkCorpus.loadPages().stream()
+                .flatMap(page -> Jsoup.parse(page, SITE_URL).select("a[href]").stream())
+                .map(link -> link.absUrl("href"))
+                .toList();
+    }
+
+    @Benchmark
+    public void isGoodLink(Blackhole blackhole) {
+        for (String link : links) {
+            blackhole.consume(UrlFormatter.isGoodLink(SITE_URL, link));
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crawl-settings")
+public class CrawlConfig {
+    private FetchMode fetchMode = FetchMode.PLATFORM;
+    private int workersPerSite = 8;
+    private int virtualWorkersPerSite = 64;
+    private int maxInFlightRequests = 32;
+    private int maxDepth = 50;
+    private int maxPagesPerSite = 100_000;
+    private Duration frontierPollTimeout = Duration.ofMillis(500);
+    private int stageQueueCapacity = 64;
+    private int parseThreads = 2;
+    private int lemmatizationThreads = 2;
+    private int persistThreads = 1;
+    private boolean checkpointEnabled = true;
+    private String checkpointDirectory = "crawl-checkpoints";
+    private Duration checkpointInterval = Duration.ofMinutes(1);
+}
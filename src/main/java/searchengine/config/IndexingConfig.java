@@ -0,0 +1,21 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings")
+public class IndexingConfig {
+    private IndexingMode mode = IndexingMode.FULL;
+    private int lemmaFlushThreshold = 100_000;
+    private int lemmaFlushBatchSize = 1_000;
+    private int indexInsertBatchSize = 2_000;
+    private int indexLoadBatchPages = 1_000;
+    private int contentDictionarySamples = 16;
+    private int contentDictionaryMaxSize = 32 * 1024;
+    private LegacyContentMigrationMode legacyContentMigration = LegacyContentMigrationMode.NONE;
+}
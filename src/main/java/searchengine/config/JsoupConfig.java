@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @Component
@@ -13,8 +15,8 @@ public class JsoupConfig {
     private String userAgent;
     private String referrer;
     private int timeout;
-    private int pauseBeforeParseMultiplier;
-    private int pauseBeforeParseSummand;
+    private Duration hostMinDelay = Duration.ofSeconds(1);
+    private Duration hostMaxJitter = Duration.ofMillis(500);
     private int maxBodySize;
     private boolean ignoreContentType;
 }
@@ -0,0 +1,7 @@
+package searchengine.config;
+
+public enum LegacyContentMigrationMode {
+    NONE,
+    COPY,
+    COPY_AND_DROP
+}
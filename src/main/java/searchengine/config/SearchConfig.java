@@ -0,0 +1,23 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "search-settings")
+public class SearchConfig {
+    private int resultCacheMaxEntries = 1_000;
+    private long resultCacheMaxWeight = 2_000_000;
+    private Duration resultCacheTtl = Duration.ofMinutes(10);
+    private int siteSearchThreads = 4;
+    private Duration siteSearchTimeout = Duration.ofSeconds(10);
+    private int resultRenderingThreads = 8;
+    private Duration resultRenderingTimeout = Duration.ofMillis(500);
+    private Duration resultPageRenderingTimeout = Duration.ofSeconds(2);
+}
@@ -25,8 +25,9 @@ public class ApiController {
     }
 
     @GetMapping("/startIndexing")
-    public ResponseEntity<IndexingResponse> startIndexing() {
-        IndexingResponse indexingResponse = indexingService.initiateFullIndexing();
+    public ResponseEntity<IndexingResponse> startIndexing(
+            @RequestParam(required = false, defaultValue = "false") boolean resume) {
+        IndexingResponse indexingResponse = indexingService.initiateFullIndexing(resume);
         return ResponseEntity.ok(indexingResponse);
     }
 
@@ -0,0 +1,87 @@
+package searchengine.crawler;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@RequiredArgsConstructor
+public class CrawlCheckpoint {
+
+    private static final int FORMAT_MAGIC = 0x434b5054;
+    private static final int FORMAT_VERSION = 1;
+
+    private final int siteId;
+    private final String siteUrl;
+    private final Instant createdAt;
+    private final int acceptedUrlsCount;
+    private final Map<String, Integer> unsavedUrlDepths;
+    private final long[] visitedUrlHashes;
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        DataOutputStream output = new DataOutputStream(outputStream);
+        output.writeInt(FORMAT_MAGIC);
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(siteId);
+        writeString(output, siteUrl);
+        output.writeLong(createdAt.toEpochMilli());
+        output.writeInt(acceptedUrlsCount);
+        output.writeInt(unsavedUrlDepths.size());
+        for (Map.Entry<String, Integer> unsavedUrlDepth : unsavedUrlDepths.entrySet()) {
+            writeString(output, unsavedUrlDepth.getKey());
+            output.writeInt(unsavedUrlDepth.getValue());
+        }
+        output.writeInt(visitedUrlHashes.length);
+        for (long visitedUrlHash : visitedUrlHashes) {
+            output.writeLong(visitedUrlHash);
+        }
+        output.flush();
+    }
+
+    public static CrawlCheckpoint readFrom(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(inputStream);
+        if (input.readInt() != FORMAT_MAGIC) {
+            throw new IOException("Stream does not contain crawl checkpoint");
+        }
+        int formatVersion = input.readInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported crawl checkpoint version " + formatVersion);
+        }
+        int siteId = input.readInt();
+        String siteUrl = readString(input);
+        Instant createdAt = Instant.ofEpochMilli(input.readLong());
+        int acceptedUrlsCount = input.readInt();
+        int unsavedUrlsCount = input.readInt();
+        Map<String, Integer> unsavedUrlDepths = new LinkedHashMap<>();
+        for (int i = 0; i < unsavedUrlsCount; i++) {
+            unsavedUrlDepths.put(readString(input), input.readInt());
+        }
+        long[] visitedUrlHashes = new long[input.readInt()];
+        for (int i = 0; i < visitedUrlHashes.length; i++) {
+            visitedUrlHashes[i] = input.readLong();
+        }
+        return new CrawlCheckpoint(siteId, siteUrl, createdAt, acceptedUrlsCount, unsavedUrlDepths, visitedUrlHashes);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,129 @@
+package searchengine.crawler;
+
+import searchengine.services.crawl.HostPolitenessScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CrawlFrontier {
+
+    private static final int MAX_INITIAL_VISITED_CAPACITY = 4_096;
+
+    private final int maxDepth;
+    private final int maxPages;
+    private final HostPolitenessScheduler politenessScheduler;
+    private final BlockingQueue<FrontierUrl> pendingUrls = new LinkedBlockingQueue<>();
+    private final VisitedUrlSet visitedUrls;
+    private final Map<String, Integer> unsavedUrlDepths = new ConcurrentHashMap<>();
+    private final AtomicInteger acceptedUrlsCount = new AtomicInteger();
+    private final AtomicInteger unfinishedUrlsCount = new AtomicInteger();
+    private volatile boolean isCancelled;
+
+    public CrawlFrontier(int maxDepth, int maxPages, HostPolitenessScheduler politenessScheduler) {
+        this.maxDepth = maxDepth;
+        this.maxPages = maxPages;
+        this.politenessScheduler = politenessScheduler;
+        this.visitedUrls = new VisitedUrlSet(Math.min(maxPages, MAX_INITIAL_VISITED_CAPACITY));
+    }
+
+    public boolean offer(String url, int depth) {
+        if (isCancelled || depth > maxDepth) {
+            return false;
+        }
+        if (!visitedUrls.add(url)) {
+            return false;
+        }
+        if (acceptedUrlsCount.incrementAndGet() > maxPages) {
+            acceptedUrlsCount.decrementAndGet();
+            return false;
+        }
+        enqueue(url, depth);
+        return true;
+    }
+
+    public boolean markVisited(String url) {
+        return visitedUrls.add(url);
+    }
+
+    public FrontierUrl poll(Duration timeout) throws InterruptedException {
+        if (isCancelled) {
+            return null;
+        }
+        FrontierUrl frontierUrl = pendingUrls.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (frontierUrl == null) {
+            return null;
+        }
+        long dispatchDelayNanos = politenessScheduler.reserveDispatchNanos(frontierUrl.getUrl()) - System.nanoTime();
+        if (dispatchDelayNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(dispatchDelayNanos);
+        }
+        return isCancelled ? null : frontierUrl;
+    }
+
+    public void complete(FrontierUrl frontierUrl) {
+        unfinishedUrlsCount.decrementAndGet();
+    }
+
+    public void markSaved(FrontierUrl frontierUrl) {
+        unsavedUrlDepths.remove(frontierUrl.getUrl());
+    }
+
+    public CrawlCheckpoint createCheckpoint(int siteId, String siteUrl) {
+        long[] visitedUrlHashes = visitedUrls.toHashArray();
+        Map<String, Integer> unsavedUrlsSnapshot = new LinkedHashMap<>(unsavedUrlDepths);
+        return new CrawlCheckpoint(siteId, siteUrl, Instant.now(), acceptedUrlsCount.get(),
+                unsavedUrlsSnapshot, visitedUrlHashes);
+    }
+
+    public void restore(CrawlCheckpoint checkpoint) {
+        visitedUrls.addAllHashes(checkpoint.getVisitedUrlHashes());
+        acceptedUrlsCount.set(checkpoint.getAcceptedUrlsCount());
+        checkpoint.getUnsavedUrlDepths().forEach((url, depth) -> {
+            visitedUrls.add(url);
+            enqueue(url, depth);
+        });
+    }
+
+    public boolean isFinished() {
+        return isCancelled || unfinishedUrlsCount.get() == 0;
+    }
+
+    public void cancel() {
+        isCancelled = true;
+        pendingUrls.clear();
+    }
+
+    public boolean isCancelled() {
+        return isCancelled;
+    }
+
+    public int countAcceptedUrls() {
+        return acceptedUrlsCount.get();
+    }
+
+    public int countPendingUrls() {
+        return pendingUrls.size();
+    }
+
+    public int countVisitedUrls() {
+        return visitedUrls.size();
+    }
+
+    public int countUnsavedUrls() {
+        return unsavedUrlDepths.size();
+    }
+
+    private void enqueue(String url, int depth) {
+        unsavedUrlDepths.put(url, depth);
+        unfinishedUrlsCount.incrementAndGet();
+        pendingUrls.add(new FrontierUrl(url, depth));
+    }
+
+}
@@ -0,0 +1,34 @@
+package searchengine.crawler;
+
+import lombok.Getter;
+import lombok.Setter;
+import searchengine.dto.indexing.PageValidators;
+import searchengine.index.PageWords;
+import searchengine.model.PageEntity;
+
+import java.util.Collections;
+import java.util.Map;
+
+@Getter
+@Setter
+public class CrawledPage {
+
+    private final FrontierUrl frontierUrl;
+    private final PageEntity page;
+    private PageValidators previousPage;
+    private boolean isParseable;
+    private boolean isUnchanged;
+    private String title = "";
+    private String cleanedText = "";
+    private PageWords pageWords = new PageWords();
+    private Map<String, Integer> lemmasWithCount = Collections.emptyMap();
+
+    public CrawledPage(FrontierUrl frontierUrl, PageEntity page) {
+        this.frontierUrl = frontierUrl;
+        this.page = page;
+    }
+
+    public String getUrl() {
+        return frontierUrl.getUrl();
+    }
+}
@@ -0,0 +1,14 @@
+package searchengine.crawler;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class FrontierUrl {
+
+    private final String url;
+    private final int depth;
+}
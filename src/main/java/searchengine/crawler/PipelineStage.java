@@ -0,0 +1,127 @@
+package searchengine.crawler;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Log4j2
+public class PipelineStage<T> {
+
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+
+    @Getter
+    private final String name;
+    private final int workersCount;
+    private final BlockingQueue<T> queue;
+    private final StageHandler<T> handler;
+    private final ExecutorService workers;
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder blockedSubmitNanos = new LongAdder();
+    private volatile boolean isInputClosed;
+
+    public PipelineStage(String name, int queueCapacity, int workersCount, StageHandler<T> handler) {
+        this.name = name;
+        this.workersCount = workersCount;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.handler = handler;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workersCount,
+                runnable -> new Thread(runnable, name + "-stage-thread-" + threadNumber.incrementAndGet()));
+    }
+
+    public void start() {
+        for (int i = 0; i < workersCount; i++) {
+            workers.submit(this::processQueue);
+        }
+        workers.shutdown();
+    }
+
+    public void submit(T item) throws InterruptedException {
+        if (queue.offer(item)) {
+            return;
+        }
+        long start = System.nanoTime();
+        queue.put(item);
+        blockedSubmitNanos.add(System.nanoTime() - start);
+    }
+
+    public void finish() throws InterruptedException {
+        isInputClosed = true;
+        while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            log.debug("Waiting for stage {} to finish, {}", name, describeMetrics());
+        }
+    }
+
+    public void abort() {
+        isInputClosed = true;
+        queue.clear();
+        workers.shutdownNow();
+    }
+
+    public long countProcessed() {
+        return processedCount.sum();
+    }
+
+    public long countFailed() {
+        return failedCount.sum();
+    }
+
+    public int countQueued() {
+        return queue.size();
+    }
+
+    public String describeMetrics() {
+        return String.format("stage '%s' : processed %d, failed %d, queued %d, busy %d ms, producers blocked %d ms",
+                name, countProcessed(), countFailed(), countQueued(),
+                TimeUnit.NANOSECONDS.toMillis(busyNanos.sum()),
+                TimeUnit.NANOSECONDS.toMillis(blockedSubmitNanos.sum()));
+    }
+
+    private void processQueue() {
+        try {
+            while (true) {
+                T item = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (item == null) {
+                    if (isInputClosed && queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                processItem(item);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void processItem(T item) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            handler.handle(item);
+            processedCount.increment();
+        } catch (InterruptedException ex) {
+            failedCount.increment();
+            throw ex;
+        } catch (Exception ex) {
+            failedCount.increment();
+            log.error("Exception in stage {} while processing {}", name, item, ex);
+        } finally {
+            busyNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    @FunctionalInterface
+    public interface StageHandler<T> {
+        void handle(T item) throws Exception;
+    }
+
+}
@@ -0,0 +1,123 @@
+package searchengine.crawler;
+
+public class VisitedUrlSet {
+
+    private static final long EMPTY_SLOT = 0L;
+    private static final long ZERO_HASH_REPLACEMENT = 1L;
+    private static final int MIN_CAPACITY = 16;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final char ESCAPE_SYMBOL = '/';
+    private static final String SCHEME_SEPARATOR = "://";
+
+    private long[] slots;
+    private int size;
+
+    public VisitedUrlSet(int expectedSize) {
+        this.slots = new long[tableSizeFor(Math.max(expectedSize * 2, MIN_CAPACITY))];
+    }
+
+    public synchronized boolean add(String url) {
+        return addHash(hashUrl(url));
+    }
+
+    public synchronized void addAllHashes(long[] hashes) {
+        for (long hash : hashes) {
+            addHash(hash == EMPTY_SLOT ? ZERO_HASH_REPLACEMENT : hash);
+        }
+    }
+
+    public synchronized long[] toHashArray() {
+        long[] hashes = new long[size];
+        int hashesCount = 0;
+        for (long hash : slots) {
+            if (hash != EMPTY_SLOT) {
+                hashes[hashesCount++] = hash;
+            }
+        }
+        return hashes;
+    }
+
+    public synchronized boolean contains(String url) {
+        long hash = hashUrl(url);
+        return slots[findPosition(slots, hash)] == hash;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private boolean addHash(long hash) {
+        int position = findPosition(slots, hash);
+        if (slots[position] == hash) {
+            return false;
+        }
+        slots[position] = hash;
+        size++;
+        if (size * 2 > slots.length) {
+            resize();
+        }
+        return true;
+    }
+
+    static long hashUrl(String url) {
+        int length = url.length();
+        if (length > 0 && url.charAt(length - 1) == ESCAPE_SYMBOL) {
+            length--;
+        }
+        int hostEnd = findHostEnd(url, length);
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < length; i++) {
+            char symbol = url.charAt(i);
+            hash ^= i < hostEnd ? Character.toLowerCase(symbol) : symbol;
+            hash *= FNV_PRIME;
+        }
+        hash = mix(hash);
+        return hash == EMPTY_SLOT ? ZERO_HASH_REPLACEMENT : hash;
+    }
+
+    private static int findHostEnd(String url, int length) {
+        int schemeEnd = url.indexOf(SCHEME_SEPARATOR);
+        int hostStart = schemeEnd < 0 ? 0 : schemeEnd + SCHEME_SEPARATOR.length();
+        for (int i = hostStart; i < length; i++) {
+            char symbol = url.charAt(i);
+            if (symbol == ESCAPE_SYMBOL || symbol == '?' || symbol == '#') {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static int findPosition(long[] table, long hash) {
+        int mask = table.length - 1;
+        int position = (int) hash & mask;
+        while (table[position] != EMPTY_SLOT && table[position] != hash) {
+            position = (position + 1) & mask;
+        }
+        return position;
+    }
+
+    private void resize() {
+        long[] resizedSlots = new long[slots.length * 2];
+        for (long hash : slots) {
+            if (hash != EMPTY_SLOT) {
+                resizedSlots[findPosition(resizedSlots, hash)] = hash;
+            }
+        }
+        slots = resizedSlots;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+}
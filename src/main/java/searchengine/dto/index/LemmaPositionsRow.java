@@ -0,0 +1,14 @@
+package searchengine.dto.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LemmaPositionsRow {
+
+    private Integer pageId;
+    private String lemma;
+    private byte[] positions;
+
+}
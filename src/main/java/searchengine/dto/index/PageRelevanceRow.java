@@ -0,0 +1,13 @@
+package searchengine.dto.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PageRelevanceRow {
+
+    private Integer pageId;
+    private Double absRelevance;
+
+}
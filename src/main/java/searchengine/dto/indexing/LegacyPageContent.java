@@ -0,0 +1,13 @@
+package searchengine.dto.indexing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LegacyPageContent {
+
+    private Integer pageId;
+    private String content;
+
+}
@@ -0,0 +1,17 @@
+package searchengine.dto.indexing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PageValidators {
+
+    private Integer pageId;
+    private String relativePath;
+    private Integer code;
+    private String etag;
+    private String lastModified;
+    private String contentHash;
+
+}
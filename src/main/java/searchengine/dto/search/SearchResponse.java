@@ -16,22 +16,27 @@ public class SearchResponse {
     private String error;
     private Integer count;
     private List<SearchData> data;
+    private Boolean partial;
 
-    public static SearchResponse buildSearchResponseWithData(List<SearchData> searchDataList, Integer totalDataCount) {
+    public static SearchResponse buildSearchResponseWithData(List<SearchData> searchDataList,
+                                                             Integer totalDataCount,
+                                                             boolean isPartial) {
         return SearchResponse.builder()
                 .result(true)
                 .error(null)
                 .count(totalDataCount)
                 .data(searchDataList)
+                .partial(isPartial ? true : null)
                 .build();
     }
 
-    public static SearchResponse buildSearchResponseWithoutData(String query) {
+    public static SearchResponse buildSearchResponseWithoutData(String query, boolean isPartial) {
         return SearchResponse.builder()
                 .result(true)
                 .error("Nothing was found for query " + query)
                 .count(0)
                 .data(Collections.emptyList())
+                .partial(isPartial ? true : null)
                 .build();
     }
 
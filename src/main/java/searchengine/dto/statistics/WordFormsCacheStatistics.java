@@ -0,0 +1,10 @@
+package searchengine.dto.statistics;
+
+import lombok.Data;
+
+@Data
+public class WordFormsCacheStatistics {
+    private int size;
+    private long hits;
+    private long misses;
+}
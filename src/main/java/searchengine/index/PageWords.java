@@ -0,0 +1,32 @@
+package searchengine.index;
+
+import searchengine.util.LemmaKeyGenerator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class PageWords {
+
+    private final WordOffsets wordOffsets = new WordOffsets();
+    private final Map<String, PositionList> positionsByLemma = new HashMap<>();
+
+    public void addWord(String lemma, int start, int end) {
+        positionsByLemma.computeIfAbsent(LemmaKeyGenerator.getLemmaKey(lemma), key -> new PositionList())
+                .add(wordOffsets.size());
+        wordOffsets.add(start, end);
+    }
+
+    public WordOffsets getWordOffsets() {
+        return wordOffsets;
+    }
+
+    public PositionList getPositions(String lemma) {
+        return positionsByLemma.get(LemmaKeyGenerator.getLemmaKey(lemma));
+    }
+
+    public byte[] encodePositions(String lemma) {
+        PositionList positionList = getPositions(lemma);
+        return positionList == null ? null : positionList.encode();
+    }
+
+}
@@ -0,0 +1,142 @@
+package searchengine.index;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PagesRelevance {
+
+    private static final PagesRelevance EMPTY = new PagesRelevance(new int[0], new float[0], 0, 1f, false);
+    private static final PagesRelevance PARTIAL_EMPTY = new PagesRelevance(new int[0], new float[0], 0, 1f, true);
+
+    private final int[] pageIds;
+    private final float[] absRelevances;
+    private final int totalPagesCount;
+    private final float maxAbsRelevance;
+    private final boolean isPartial;
+
+    private PagesRelevance(int[] pageIds,
+                           float[] absRelevances,
+                           int totalPagesCount,
+                           float maxAbsRelevance,
+                           boolean isPartial) {
+        this.pageIds = pageIds;
+        this.absRelevances = absRelevances;
+        this.totalPagesCount = totalPagesCount;
+        this.maxAbsRelevance = maxAbsRelevance;
+        this.isPartial = isPartial;
+    }
+
+    public static PagesRelevance empty() {
+        return EMPTY;
+    }
+
+    public static PagesRelevance empty(boolean isPartial) {
+        return isPartial ? PARTIAL_EMPTY : EMPTY;
+    }
+
+    public static PagesRelevance of(Map<Integer, Float> pagesWithAbsRelevance, float maxAbsRelevance) {
+        return of(pagesWithAbsRelevance, maxAbsRelevance, false);
+    }
+
+    public static PagesRelevance of(Map<Integer, Float> pagesWithAbsRelevance,
+                                    float maxAbsRelevance,
+                                    boolean isPartial) {
+        int[] pageIds = new int[pagesWithAbsRelevance.size()];
+        float[] absRelevances = new float[pagesWithAbsRelevance.size()];
+        int position = 0;
+        for (Map.Entry<Integer, Float> pageWithAbsRelevance : pagesWithAbsRelevance.entrySet()) {
+            pageIds[position] = pageWithAbsRelevance.getKey();
+            absRelevances[position] = pageWithAbsRelevance.getValue();
+            position++;
+        }
+        return new PagesRelevance(pageIds, absRelevances, pageIds.length, maxAbsRelevance, isPartial);
+    }
+
+    public static PagesRelevance topOf(Map<Integer, Float> pagesWithAbsRelevance, int topPagesCount) {
+        if (pagesWithAbsRelevance.isEmpty()) {
+            return EMPTY;
+        }
+        TopPagesHeap topPagesHeap = new TopPagesHeap(Math.min(topPagesCount, pagesWithAbsRelevance.size()));
+        float maxAbsRelevance = 0f;
+        for (Map.Entry<Integer, Float> pageWithAbsRelevance : pagesWithAbsRelevance.entrySet()) {
+            topPagesHeap.offer(pageWithAbsRelevance.getKey(), pageWithAbsRelevance.getValue());
+            maxAbsRelevance = Math.max(maxAbsRelevance, pageWithAbsRelevance.getValue());
+        }
+        return fromHeap(topPagesHeap, pagesWithAbsRelevance.size(), maxAbsRelevance, false);
+    }
+
+    public static PagesRelevance merge(Collection<PagesRelevance> pagesRelevanceList,
+                                       int topPagesCount,
+                                       boolean isPartial) {
+        int totalPagesCount = 0;
+        int storedPagesCount = 0;
+        float maxAbsRelevance = 0f;
+        for (PagesRelevance pagesRelevance : pagesRelevanceList) {
+            totalPagesCount += pagesRelevance.totalPagesCount;
+            storedPagesCount += pagesRelevance.pageIds.length;
+            maxAbsRelevance = Math.max(maxAbsRelevance, pagesRelevance.maxAbsRelevance);
+        }
+        if (totalPagesCount == 0) {
+            return empty(isPartial);
+        }
+        TopPagesHeap topPagesHeap = new TopPagesHeap(Math.min(topPagesCount, storedPagesCount));
+        for (PagesRelevance pagesRelevance : pagesRelevanceList) {
+            for (int i = 0; i < pagesRelevance.pageIds.length; i++) {
+                topPagesHeap.offer(pagesRelevance.pageIds[i], pagesRelevance.absRelevances[i]);
+            }
+        }
+        return fromHeap(topPagesHeap, totalPagesCount, maxAbsRelevance, isPartial);
+    }
+
+    private static PagesRelevance fromHeap(TopPagesHeap topPagesHeap,
+                                           int totalPagesCount,
+                                           float maxAbsRelevance,
+                                           boolean isPartial) {
+        int[] pageIds = new int[topPagesHeap.size()];
+        float[] absRelevances = new float[topPagesHeap.size()];
+        for (int i = 0; i < pageIds.length; i++) {
+            pageIds[i] = topPagesHeap.pageIdAt(i);
+            absRelevances[i] = topPagesHeap.relevanceAt(i);
+        }
+        return new PagesRelevance(pageIds, absRelevances, totalPagesCount, maxAbsRelevance, isPartial);
+    }
+
+    public int size() {
+        return totalPagesCount;
+    }
+
+    public int getStoredPagesCount() {
+        return pageIds.length;
+    }
+
+    public boolean isEmpty() {
+        return totalPagesCount == 0;
+    }
+
+    public boolean isPartial() {
+        return isPartial;
+    }
+
+    public boolean canSelectTopPages(int offset, int limit) {
+        return pageIds.length == totalPagesCount || (long) offset + limit <= pageIds.length;
+    }
+
+    public Map<Integer, Float> getTopPagesWithRelativeRelevance(int offset, int limit) {
+        if (offset < 0 || limit <= 0 || offset >= size()) {
+            return Collections.emptyMap();
+        }
+        TopPagesHeap topPagesHeap = new TopPagesHeap((int) Math.min((long) offset + limit, pageIds.length));
+        for (int i = 0; i < pageIds.length; i++) {
+            topPagesHeap.offer(pageIds[i], absRelevances[i]);
+        }
+        topPagesHeap.sortByRelevanceDescending();
+        Map<Integer, Float> pagesWithRelativeRelevance = new LinkedHashMap<>();
+        for (int i = offset; i < topPagesHeap.size(); i++) {
+            pagesWithRelativeRelevance.put(topPagesHeap.pageIdAt(i), topPagesHeap.relevanceAt(i) / maxAbsRelevance);
+        }
+        return pagesWithRelativeRelevance;
+    }
+
+}
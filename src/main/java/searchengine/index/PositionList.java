@@ -0,0 +1,62 @@
+package searchengine.index;
+
+import java.util.Arrays;
+
+public class PositionList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] positions;
+    private int size;
+
+    public PositionList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private PositionList(int capacity) {
+        this.positions = new int[Math.max(capacity, 1)];
+    }
+
+    public void add(int position) {
+        if (size > 0 && position <= positions[size - 1]) {
+            throw new IllegalArgumentException("Position " + position + " is not greater than previous position");
+        }
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+        }
+        positions[size++] = position;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(int index) {
+        return positions[index];
+    }
+
+    public byte[] encode() {
+        VarIntWriter writer = new VarIntWriter(size + 1);
+        writer.write(size);
+        int previousPosition = 0;
+        for (int i = 0; i < size; i++) {
+            writer.write(positions[i] - previousPosition);
+            previousPosition = positions[i];
+        }
+        return writer.toByteArray();
+    }
+
+    public static PositionList decode(byte[] encodedPositions) {
+        VarIntReader reader = new VarIntReader(encodedPositions);
+        int positionsCount = reader.next();
+        PositionList positionList = new PositionList(positionsCount);
+        int previousPosition = 0;
+        for (int i = 0; i < positionsCount; i++) {
+            previousPosition += reader.next();
+            positionList.positions[i] = previousPosition;
+        }
+        positionList.size = positionsCount;
+        return positionList;
+    }
+
+}
@@ -0,0 +1,48 @@
+package searchengine.index;
+
+import java.util.Arrays;
+
+public class PostingBatch {
+
+    private static final int DEFAULT_CAPACITY = 1_024;
+
+    private String[] lemmas = new String[DEFAULT_CAPACITY];
+    private int[] pageIds = new int[DEFAULT_CAPACITY];
+    private float[] ranks = new float[DEFAULT_CAPACITY];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public String lemmaAt(int position) {
+        return lemmas[position];
+    }
+
+    public int pageIdAt(int position) {
+        return pageIds[position];
+    }
+
+    public float rankAt(int position) {
+        return ranks[position];
+    }
+
+    public void add(String lemma, int pageId, float rank) {
+        if (size == pageIds.length) {
+            int newCapacity = pageIds.length + (pageIds.length >> 1);
+            lemmas = Arrays.copyOf(lemmas, newCapacity);
+            pageIds = Arrays.copyOf(pageIds, newCapacity);
+            ranks = Arrays.copyOf(ranks, newCapacity);
+        }
+        lemmas[size] = lemma;
+        pageIds[size] = pageId;
+        ranks[size] = rank;
+        size++;
+    }
+
+    public void clear() {
+        Arrays.fill(lemmas, 0, size, null);
+        size = 0;
+    }
+
+}
@@ -0,0 +1,107 @@
+package searchengine.index;
+
+import java.util.Arrays;
+
+public class PostingList {
+
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private int[] pageIds;
+    private float[] ranks;
+    private int size;
+
+    public PostingList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PostingList(int capacity) {
+        this.pageIds = new int[Math.max(capacity, 1)];
+        this.ranks = new float[Math.max(capacity, 1)];
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int pageIdAt(int position) {
+        return pageIds[position];
+    }
+
+    public float rankAt(int position) {
+        return ranks[position];
+    }
+
+    public int indexOf(int pageId) {
+        return Arrays.binarySearch(pageIds, 0, size, pageId);
+    }
+
+    public int advanceTo(int pageId, int fromPosition) {
+        int position = fromPosition;
+        while (position < size && pageIds[position] < pageId) {
+            position++;
+        }
+        return position;
+    }
+
+    public int gallopTo(int pageId, int fromPosition) {
+        if (fromPosition >= size || pageIds[fromPosition] >= pageId) {
+            return fromPosition;
+        }
+        int lowPosition = fromPosition;
+        int step = 1;
+        while (lowPosition + step < size && pageIds[lowPosition + step] < pageId) {
+            lowPosition += step;
+            step <<= 1;
+        }
+        int highPosition = Math.min(lowPosition + step, size);
+        int position = Arrays.binarySearch(pageIds, lowPosition + 1, highPosition, pageId);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    public void add(int pageId, float rank) {
+        if (size == 0 || pageIds[size - 1] < pageId) {
+            ensureCapacity(size + 1);
+            pageIds[size] = pageId;
+            ranks[size] = rank;
+            size++;
+            return;
+        }
+        int position = indexOf(pageId);
+        if (position >= 0) {
+            ranks[position] = rank;
+            return;
+        }
+        int insertionPoint = -position - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(pageIds, insertionPoint, pageIds, insertionPoint + 1, size - insertionPoint);
+        System.arraycopy(ranks, insertionPoint, ranks, insertionPoint + 1, size - insertionPoint);
+        pageIds[insertionPoint] = pageId;
+        ranks[insertionPoint] = rank;
+        size++;
+    }
+
+    public boolean remove(int pageId) {
+        int position = indexOf(pageId);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(pageIds, position + 1, pageIds, position, size - position - 1);
+        System.arraycopy(ranks, position + 1, ranks, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    private void ensureCapacity(int requiredCapacity) {
+        if (requiredCapacity > pageIds.length) {
+            int newCapacity = Math.max(requiredCapacity, pageIds.length + (pageIds.length >> 1));
+            pageIds = Arrays.copyOf(pageIds, newCapacity);
+            ranks = Arrays.copyOf(ranks, newCapacity);
+        }
+    }
+
+}
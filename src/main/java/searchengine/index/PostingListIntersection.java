@@ -0,0 +1,75 @@
+package searchengine.index;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PostingListIntersection {
+
+    private static final int GALLOPING_SIZE_RATIO = 8;
+
+    private final int[] pageIds;
+    private final float[] absRelevances;
+    private int size;
+
+    private PostingListIntersection(PostingList rarestPostings) {
+        this.size = rarestPostings.size();
+        this.pageIds = new int[size];
+        this.absRelevances = new float[size];
+        for (int i = 0; i < size; i++) {
+            pageIds[i] = rarestPostings.pageIdAt(i);
+            absRelevances[i] = rarestPostings.rankAt(i);
+        }
+    }
+
+    public static PostingListIntersection intersect(List<PostingList> postingsSortedByFrequency) {
+        if (postingsSortedByFrequency.isEmpty()) {
+            throw new IllegalArgumentException("Posting lists for intersection are empty");
+        }
+        PostingListIntersection intersection = new PostingListIntersection(postingsSortedByFrequency.get(0));
+        for (int i = 1; i < postingsSortedByFrequency.size() && intersection.size > 0; i++) {
+            intersection.retainPagesFrom(postingsSortedByFrequency.get(i));
+        }
+        return intersection;
+    }
+
+    private void retainPagesFrom(PostingList postings) {
+        boolean isGallopingNeeded = postings.size() / GALLOPING_SIZE_RATIO > size;
+        int postingsPosition = 0;
+        int retainedCount = 0;
+        for (int i = 0; i < size && postingsPosition < postings.size(); i++) {
+            int pageId = pageIds[i];
+            postingsPosition = isGallopingNeeded
+                    ? postings.gallopTo(pageId, postingsPosition)
+                    : postings.advanceTo(pageId, postingsPosition);
+            if (postingsPosition < postings.size() && postings.pageIdAt(postingsPosition) == pageId) {
+                pageIds[retainedCount] = pageId;
+                absRelevances[retainedCount] = absRelevances[i] + postings.rankAt(postingsPosition);
+                retainedCount++;
+                postingsPosition++;
+            }
+        }
+        size = retainedCount;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int pageIdAt(int position) {
+        return pageIds[position];
+    }
+
+    public float absRelevanceAt(int position) {
+        return absRelevances[position];
+    }
+
+    public Map<Integer, Float> toPagesWithAbsRelevance() {
+        Map<Integer, Float> pagesWithAbsRelevance = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            pagesWithAbsRelevance.put(pageIds[i], absRelevances[i]);
+        }
+        return pagesWithAbsRelevance;
+    }
+
+}
@@ -0,0 +1,117 @@
+package searchengine.index;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class SiteInvertedIndex {
+
+    @Getter
+    private final int siteId;
+    private final Map<String, PostingList> postingsByLemma = new HashMap<>();
+    private final BitSet responsivePageIds = new BitSet();
+    private int responsivePagesCount;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SiteInvertedIndex(int siteId) {
+        this.siteId = siteId;
+    }
+
+    public void addPostings(Collection<Integer> pageIds, PostingBatch postingBatch) {
+        lock.writeLock().lock();
+        try {
+            pageIds.forEach(this::addResponsivePage);
+            for (int position = 0; position < postingBatch.size(); position++) {
+                postingsByLemma.computeIfAbsent(postingBatch.lemmaAt(position), key -> new PostingList())
+                        .add(postingBatch.pageIdAt(position), postingBatch.rankAt(position));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addPage(int pageId, Map<String, Float> lemmasWithRank) {
+        lock.writeLock().lock();
+        try {
+            addResponsivePage(pageId);
+            for (Map.Entry<String, Float> lemmaWithRank : lemmasWithRank.entrySet()) {
+                postingsByLemma.computeIfAbsent(lemmaWithRank.getKey(), key -> new PostingList())
+                        .add(pageId, lemmaWithRank.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removePage(int pageId, Collection<String> lemmas) {
+        lock.writeLock().lock();
+        try {
+            removeResponsivePage(pageId);
+            for (String lemma : lemmas) {
+                PostingList postingList = postingsByLemma.get(lemma);
+                if (postingList != null && postingList.remove(pageId) && postingList.isEmpty()) {
+                    postingsByLemma.remove(lemma);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int countLemmas() {
+        lock.readLock().lock();
+        try {
+            return postingsByLemma.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countResponsivePages() {
+        lock.readLock().lock();
+        try {
+            return responsivePagesCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<Integer, Float> computePagesAbsRelevance(Collection<String> queryLemmas, int frequencyLimit) {
+        lock.readLock().lock();
+        try {
+            List<PostingList> postingsReadyForSearch = getPostingsFilteredAndSortedByFrequency(queryLemmas, frequencyLimit);
+            if (postingsReadyForSearch.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            return PostingListIntersection.intersect(postingsReadyForSearch).toPagesWithAbsRelevance();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addResponsivePage(int pageId) {
+        if (!responsivePageIds.get(pageId)) {
+            responsivePageIds.set(pageId);
+            responsivePagesCount++;
+        }
+    }
+
+    private void removeResponsivePage(int pageId) {
+        if (responsivePageIds.get(pageId)) {
+            responsivePageIds.clear(pageId);
+            responsivePagesCount--;
+        }
+    }
+
+    private List<PostingList> getPostingsFilteredAndSortedByFrequency(Collection<String> queryLemmas,
+                                                                      int frequencyLimit) {
+        return queryLemmas.stream()
+                .map(postingsByLemma::get)
+                .filter(Objects::nonNull)
+                .filter(postingList -> postingList.size() <= frequencyLimit)
+                .sorted(Comparator.comparingInt(PostingList::size))
+                .toList();
+    }
+
+}
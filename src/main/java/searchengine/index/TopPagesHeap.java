@@ -0,0 +1,95 @@
+package searchengine.index;
+
+public class TopPagesHeap {
+
+    private final int[] pageIds;
+    private final float[] relevances;
+    private int size;
+
+    public TopPagesHeap(int capacity) {
+        this.pageIds = new int[Math.max(capacity, 0)];
+        this.relevances = new float[Math.max(capacity, 0)];
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void offer(int pageId, float relevance) {
+        if (size < pageIds.length) {
+            pageIds[size] = pageId;
+            relevances[size] = relevance;
+            siftUp(size++);
+        } else if (size > 0 && isRankedHigher(pageId, relevance, pageIds[0], relevances[0])) {
+            pageIds[0] = pageId;
+            relevances[0] = relevance;
+            siftDown(0, size);
+        }
+    }
+
+    public void sortByRelevanceDescending() {
+        int heapSize = size;
+        while (heapSize > 1) {
+            swap(0, --heapSize);
+            siftDown(0, heapSize);
+        }
+    }
+
+    public int pageIdAt(int position) {
+        return pageIds[position];
+    }
+
+    public float relevanceAt(int position) {
+        return relevances[position];
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!isRankedLower(position, parent)) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position, int heapSize) {
+        while (true) {
+            int lowest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < heapSize && isRankedLower(left, lowest)) {
+                lowest = left;
+            }
+            if (right < heapSize && isRankedLower(right, lowest)) {
+                lowest = right;
+            }
+            if (lowest == position) {
+                return;
+            }
+            swap(position, lowest);
+            position = lowest;
+        }
+    }
+
+    private boolean isRankedLower(int position, int otherPosition) {
+        return isRankedHigher(pageIds[otherPosition], relevances[otherPosition], pageIds[position], relevances[position]);
+    }
+
+    private static boolean isRankedHigher(int pageId, float relevance, int otherPageId, float otherRelevance) {
+        int comparison = Float.compare(relevance, otherRelevance);
+        return comparison > 0 || (comparison == 0 && pageId < otherPageId);
+    }
+
+    private void swap(int position, int otherPosition) {
+        int pageId = pageIds[position];
+        pageIds[position] = pageIds[otherPosition];
+        pageIds[otherPosition] = pageId;
+        float relevance = relevances[position];
+        relevances[position] = relevances[otherPosition];
+        relevances[otherPosition] = relevance;
+    }
+
+}
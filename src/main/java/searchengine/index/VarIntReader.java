@@ -0,0 +1,36 @@
+package searchengine.index;
+
+public class VarIntReader {
+
+    private static final int PAYLOAD_BITS = 7;
+    private static final int PAYLOAD_MASK = 0x7f;
+    private static final int CONTINUATION_BIT = 0x80;
+    private static final int MAX_SHIFT = 28;
+
+    private final byte[] bytes;
+    private int position;
+
+    public VarIntReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public boolean hasNext() {
+        return position < bytes.length;
+    }
+
+    public int next() {
+        int value = 0;
+        for (int shift = 0; shift <= MAX_SHIFT; shift += PAYLOAD_BITS) {
+            if (position >= bytes.length) {
+                throw new IllegalStateException("Varint is truncated at position " + position);
+            }
+            byte currentByte = bytes[position++];
+            value |= (currentByte & PAYLOAD_MASK) << shift;
+            if ((currentByte & CONTINUATION_BIT) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Varint is too long at position " + position);
+    }
+
+}
@@ -0,0 +1,44 @@
+package searchengine.index;
+
+import java.util.Arrays;
+
+public class VarIntWriter {
+
+    private static final int PAYLOAD_BITS = 7;
+    private static final int PAYLOAD_MASK = 0x7f;
+    private static final int CONTINUATION_BIT = 0x80;
+
+    private byte[] buffer;
+    private int size;
+
+    public VarIntWriter(int expectedBytesCount) {
+        this.buffer = new byte[Math.max(expectedBytesCount, 16)];
+    }
+
+    public void write(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value " + value + " can not be written as varint");
+        }
+        ensureCapacity(size + 5);
+        while (value > PAYLOAD_MASK) {
+            buffer[size++] = (byte) ((value & PAYLOAD_MASK) | CONTINUATION_BIT);
+            value >>>= PAYLOAD_BITS;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(int requiredCapacity) {
+        if (buffer.length < requiredCapacity) {
+            buffer = Arrays.copyOf(buffer, Math.max(requiredCapacity, buffer.length * 2));
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package searchengine.index;
+
+import java.util.Arrays;
+
+public class WordOffsets {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int AVERAGE_ENCODED_WORD_BYTES = 2;
+
+    private int[] starts;
+    private int[] ends;
+    private int size;
+
+    public WordOffsets() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private WordOffsets(int capacity) {
+        this.starts = new int[Math.max(capacity, 1)];
+        this.ends = new int[Math.max(capacity, 1)];
+    }
+
+    public void add(int start, int end) {
+        if (start < (size == 0 ? 0 : ends[size - 1]) || end < start) {
+            throw new IllegalArgumentException("Word offsets [" + start + ", " + end + ") are out of order");
+        }
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getStart(int wordNumber) {
+        return starts[wordNumber];
+    }
+
+    public int getEnd(int wordNumber) {
+        return ends[wordNumber];
+    }
+
+    public byte[] encode() {
+        VarIntWriter writer = new VarIntWriter(size * AVERAGE_ENCODED_WORD_BYTES + 1);
+        writer.write(size);
+        int previousEnd = 0;
+        for (int i = 0; i < size; i++) {
+            writer.write(starts[i] - previousEnd);
+            writer.write(ends[i] - starts[i]);
+            previousEnd = ends[i];
+        }
+        return writer.toByteArray();
+    }
+
+    public static WordOffsets decode(byte[] encodedOffsets) {
+        VarIntReader reader = new VarIntReader(encodedOffsets);
+        int wordsCount = reader.next();
+        WordOffsets wordOffsets = new WordOffsets(wordsCount);
+        int previousEnd = 0;
+        for (int i = 0; i < wordsCount; i++) {
+            int start = previousEnd + reader.next();
+            int end = start + reader.next();
+            wordOffsets.add(start, end);
+            previousEnd = end;
+        }
+        return wordOffsets;
+    }
+
+}
@@ -0,0 +1,41 @@
+package searchengine.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Objects;
+
+// Lombok
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+// Database
+@Entity
+@Table(name = "content_dictionary", indexes = @Index(name = "content_dictionary_site_idx", columnList = "site_id"))
+public class ContentDictionaryEntity {
+
+    @Id
+    @Column(nullable = false)
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "site_id", nullable = false)
+    private Integer siteId;
+
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] dictionary;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ContentDictionaryEntity contentDictionary = (ContentDictionaryEntity) o;
+        return Objects.equals(id, contentDictionary.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+}
@@ -11,7 +11,8 @@ import java.util.Objects;
 @AllArgsConstructor
 // Database
 @Entity
-@Table(name = "search_index", indexes = @Index(name = "lemma_page_idx", columnList = "lemma_id, page_id"))
+@Table(name = "search_index", indexes = @Index(name = "lemma_page_idx", columnList = "lemma_id, page_id"),
+        uniqueConstraints = @UniqueConstraint(name = "page_lemma_unique_idx", columnNames = {"page_id", "lemma_id"}))
 public class IndexEntity {
 
     @Id
@@ -29,6 +30,9 @@ public class IndexEntity {
     @Column(name = "lemma_rank", nullable = false)
     private float rank;
 
+    @Column(name = "positions", columnDefinition = "MEDIUMBLOB")
+    private byte[] positions;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,40 @@
+package searchengine.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Objects;
+
+// Lombok
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+// Database
+@Entity
+@Table(name = "page_content")
+public class PageContentEntity {
+
+    @Id
+    @Column(name = "page_id", nullable = false)
+    private Integer pageId;
+
+    @Column(name = "dictionary_id")
+    private Integer dictionaryId;
+
+    @Column(name = "compressed_content", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] compressedContent;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PageContentEntity pageContent = (PageContentEntity) o;
+        return Objects.equals(pageId, pageContent.pageId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pageId);
+    }
+
+}
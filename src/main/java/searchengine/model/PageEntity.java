@@ -12,7 +12,7 @@ import java.util.Set;
 @AllArgsConstructor
 // Database
 @Entity
-@Table(name = "page", indexes = @Index(name = "path_site_idx", columnList = "path, site_id"))
+@Table(name = "page", uniqueConstraints = @UniqueConstraint(name = "site_path_unique_idx", columnNames = {"site_id", "path"}))
 public class PageEntity {
 
     @Id
@@ -30,9 +30,18 @@ public class PageEntity {
     @Column(nullable = false)
     private Integer code;
 
-    @Column(nullable = false, columnDefinition = "MEDIUMTEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci")
+    @Transient
     private String content;
 
+    @Column(name = "etag", columnDefinition = "VARCHAR(255)")
+    private String etag;
+
+    @Column(name = "last_modified", columnDefinition = "VARCHAR(64)")
+    private String lastModified;
+
+    @Column(name = "content_hash", columnDefinition = "CHAR(64)")
+    private String contentHash;
+
     @Transient
     private Set<String> childLinks;
 
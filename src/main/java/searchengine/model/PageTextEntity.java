@@ -0,0 +1,44 @@
+package searchengine.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Objects;
+
+// Lombok
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+// Database
+@Entity
+@Table(name = "page_text")
+public class PageTextEntity {
+
+    @Id
+    @Column(name = "page_id", nullable = false)
+    private Integer pageId;
+
+    @Column(nullable = false, columnDefinition = "TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci")
+    private String title;
+
+    @Column(name = "cleaned_text", nullable = false,
+            columnDefinition = "MEDIUMTEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci")
+    private String cleanedText;
+
+    @Column(name = "word_offsets", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] wordOffsets;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PageTextEntity pageText = (PageTextEntity) o;
+        return Objects.equals(pageId, pageText.pageId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pageId);
+    }
+
+}
@@ -0,0 +1,23 @@
+package searchengine.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.model.ContentDictionaryEntity;
+
+import java.util.Optional;
+
+@Repository
+public interface ContentDictionaryRepository extends JpaRepository<ContentDictionaryEntity, Integer> {
+
+    Optional<ContentDictionaryEntity> findFirstBySiteIdOrderByIdDesc(Integer siteId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ContentDictionaryEntity d where d.siteId = :siteId")
+    int deleteBySiteId(@Param("siteId") int siteId);
+
+}
@@ -0,0 +1,65 @@
+package searchengine.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import searchengine.index.PostingBatch;
+import searchengine.model.IndexEntity;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class IndexBatchRepository {
+
+    private static final String INSERT_INDEX_SQL_PREFIX =
+            "INSERT INTO search_index (page_id, lemma_id, lemma_rank, positions) VALUES ";
+    private static final String INDEX_VALUES_PLACEHOLDER = "(?, ?, ?, ?)";
+    private static final int INDEX_COLUMNS_COUNT = 4;
+    private static final String SELECT_POSTINGS_SQL = "SELECT i.page_id, l.lemma, i.lemma_rank " +
+            "FROM search_index i JOIN lemma l ON l.id = i.lemma_id " +
+            "WHERE l.site_id = ? AND i.page_id BETWEEN ? AND ? ORDER BY i.page_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int insertAll(List<IndexEntity> indexes, int rowsPerStatement) {
+        int insertedCount = 0;
+        for (int from = 0; from < indexes.size(); from += rowsPerStatement) {
+            List<IndexEntity> indexesChunk = indexes.subList(from, Math.min(from + rowsPerStatement, indexes.size()));
+            insertedCount += jdbcTemplate.update(createInsertSql(indexesChunk.size()), createInsertArgs(indexesChunk));
+        }
+        return insertedCount;
+    }
+
+    public void readPostings(int siteId, int fromPageId, int toPageId, PostingBatch postingBatch) {
+        jdbcTemplate.query(SELECT_POSTINGS_SQL,
+                (RowCallbackHandler) row -> postingBatch.add(row.getString(2), row.getInt(1), row.getFloat(3)),
+                siteId, fromPageId, toPageId);
+    }
+
+    private String createInsertSql(int rowsCount) {
+        StringBuilder sql = new StringBuilder(
+                INSERT_INDEX_SQL_PREFIX.length() + rowsCount * (INDEX_VALUES_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_INDEX_SQL_PREFIX);
+        for (int i = 0; i < rowsCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(INDEX_VALUES_PLACEHOLDER);
+        }
+        return sql.toString();
+    }
+
+    private Object[] createInsertArgs(List<IndexEntity> indexes) {
+        Object[] args = new Object[indexes.size() * INDEX_COLUMNS_COUNT];
+        int position = 0;
+        for (IndexEntity index : indexes) {
+            args[position++] = index.getPage().getId();
+            args[position++] = index.getLemma().getId();
+            args[position++] = index.getRank();
+            args[position++] = index.getPositions();
+        }
+        return args;
+    }
+}
@@ -1,11 +1,19 @@
 package searchengine.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.dto.index.LemmaPositionsRow;
+import searchengine.dto.index.PageRelevanceRow;
 import searchengine.model.IndexEntity;
 import searchengine.model.LemmaEntity;
 import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +25,32 @@ public interface IndexRepository extends JpaRepository<IndexEntity, Integer> {
     List<IndexEntity> findByLemma(LemmaEntity lemma);
 
     Optional<IndexEntity> findByLemmaAndPage(LemmaEntity lemma, PageEntity page);
+
+    @Query("select l.lemma from IndexEntity i join i.lemma l where i.page = :page")
+    List<String> findLemmasByPage(@Param("page") PageEntity page);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IndexEntity i where i.page = :page")
+    int deleteByPage(@Param("page") PageEntity page);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE i FROM search_index i JOIN page p ON p.id = i.page_id WHERE p.site_id = :siteId",
+            nativeQuery = true)
+    int deleteBySiteId(@Param("siteId") int siteId);
+
+    @Query("select new searchengine.dto.index.LemmaPositionsRow(i.page.id, l.lemma, i.positions) " +
+            "from IndexEntity i join i.lemma l " +
+            "where i.page.id in :pageIds and l.lemma in :lemmas")
+    List<LemmaPositionsRow> findLemmaPositionsByPages(@Param("pageIds") Collection<Integer> pageIds,
+                                                      @Param("lemmas") Collection<String> lemmas);
+
+    @Query("select new searchengine.dto.index.PageRelevanceRow(i.page.id, sum(i.rank)) " +
+            "from IndexEntity i " +
+            "where i.lemma.id in :lemmaIds " +
+            "group by i.page.id " +
+            "having count(i) = :lemmasCount")
+    List<PageRelevanceRow> findPagesAbsRelevanceCoveringAllLemmas(@Param("lemmaIds") Collection<Integer> lemmaIds,
+                                                                  @Param("lemmasCount") Long lemmasCount);
 }
@@ -0,0 +1,73 @@
+package searchengine.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import searchengine.dto.indexing.LegacyPageContent;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class LegacyPageContentRepository {
+
+    private static final String PAGE_TABLE = "page";
+    private static final String LEGACY_CONTENT_COLUMN = "content";
+    private static final String SELECT_CONTENTS_SQL =
+            "SELECT id, content FROM page WHERE id > ? AND content IS NOT NULL ORDER BY id LIMIT ?";
+    private static final String SELECT_CONTENT_BY_PAGE_ID_SQL = "SELECT content FROM page WHERE id = ?";
+    private static final String COUNT_NOT_COPIED_CONTENTS_SQL = "SELECT COUNT(*) FROM page p " +
+            "LEFT JOIN page_content c ON c.page_id = p.id WHERE p.content IS NOT NULL AND c.page_id IS NULL";
+    private static final String MAKE_CONTENT_COLUMN_NULLABLE_SQL = "ALTER TABLE page MODIFY COLUMN content " +
+            "MEDIUMTEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci NULL";
+    private static final String DROP_CONTENT_COLUMN_SQL = "ALTER TABLE page DROP COLUMN content";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean hasContentColumn() {
+        Boolean hasColumn = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet columns = connection.getMetaData()
+                    .getColumns(connection.getCatalog(), null, PAGE_TABLE, LEGACY_CONTENT_COLUMN)) {
+                return columns.next();
+            }
+        });
+        return Boolean.TRUE.equals(hasColumn);
+    }
+
+    public boolean isContentColumnNullable() {
+        Boolean isNullable = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet columns = connection.getMetaData()
+                    .getColumns(connection.getCatalog(), null, PAGE_TABLE, LEGACY_CONTENT_COLUMN)) {
+                return columns.next() && columns.getInt("NULLABLE") == DatabaseMetaData.columnNullable;
+            }
+        });
+        return Boolean.TRUE.equals(isNullable);
+    }
+
+    public List<LegacyPageContent> findContentsAfterPageId(int pageId, int limit) {
+        return jdbcTemplate.query(SELECT_CONTENTS_SQL,
+                (row, rowNumber) -> new LegacyPageContent(row.getInt("id"), row.getString("content")),
+                pageId, limit);
+    }
+
+    public String findContentByPageId(int pageId) {
+        List<String> contents = jdbcTemplate.queryForList(SELECT_CONTENT_BY_PAGE_ID_SQL, String.class, pageId);
+        return contents.isEmpty() ? null : contents.get(0);
+    }
+
+    public long countNotCopiedContents() {
+        Long notCopiedCount = jdbcTemplate.queryForObject(COUNT_NOT_COPIED_CONTENTS_SQL, Long.class);
+        return notCopiedCount == null ? 0 : notCopiedCount;
+    }
+
+    public void makeContentColumnNullable() {
+        jdbcTemplate.execute(MAKE_CONTENT_COLUMN_NULLABLE_SQL);
+    }
+
+    public void dropContentColumn() {
+        jdbcTemplate.execute(DROP_CONTENT_COLUMN_SQL);
+    }
+}
@@ -0,0 +1,40 @@
+package searchengine.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class LemmaBatchRepository {
+
+    private static final String INSERT_IGNORE_LEMMA_SQL =
+            "INSERT IGNORE INTO lemma (site_id, lemma, frequency) VALUES (?, ?, 0)";
+    private static final String INCREASE_LEMMA_FREQUENCY_SQL =
+            "INSERT INTO lemma (site_id, lemma, frequency) VALUES (?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE frequency = frequency + ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertIgnore(int siteId, Collection<String> lemmas, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_IGNORE_LEMMA_SQL, lemmas, batchSize, (statement, lemma) -> {
+            statement.setInt(1, siteId);
+            statement.setString(2, lemma);
+        });
+    }
+
+    public void increaseFrequencies(int siteId, Map<String, Long> frequencyIncrements, int batchSize) {
+        List<Map.Entry<String, Long>> increments = new ArrayList<>(frequencyIncrements.entrySet());
+        jdbcTemplate.batchUpdate(INCREASE_LEMMA_FREQUENCY_SQL, increments, batchSize, (statement, increment) -> {
+            statement.setInt(1, siteId);
+            statement.setString(2, increment.getKey());
+            statement.setLong(3, increment.getValue());
+            statement.setLong(4, increment.getValue());
+        });
+    }
+}
@@ -1,10 +1,16 @@
 package searchengine.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import searchengine.model.LemmaEntity;
 import searchengine.model.SiteEntity;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,5 +18,25 @@ public interface LemmaRepository extends JpaRepository<LemmaEntity, Integer> {
 
     Optional<LemmaEntity> findBySiteAndLemma(SiteEntity site, String lemma);
 
+    List<LemmaEntity> findBySiteInAndLemmaIn(Collection<SiteEntity> sites, Collection<String> lemmas);
+
     Integer countBySite(SiteEntity siteEntity);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE lemma l SET l.frequency = " +
+            "(SELECT COUNT(DISTINCT i.page_id) FROM search_index i WHERE i.lemma_id = l.id) " +
+            "WHERE l.site_id = :siteId",
+            nativeQuery = true)
+    int recountFrequenciesBySiteId(@Param("siteId") int siteId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from LemmaEntity l where l.site = :site and l.frequency = 0")
+    int deleteUnusedBySite(@Param("site") SiteEntity site);
+
+    @Modifying
+    @Transactional
+    @Query("delete from LemmaEntity l where l.site = :site")
+    int deleteBySite(@Param("site") SiteEntity site);
 }
@@ -0,0 +1,45 @@
+package searchengine.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.model.PageContentEntity;
+
+@Repository
+public interface PageContentRepository extends JpaRepository<PageContentEntity, Integer> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO page_content (page_id, dictionary_id, compressed_content) " +
+            "VALUES (:pageId, :dictionaryId, :compressedContent) " +
+            "ON DUPLICATE KEY UPDATE dictionary_id = VALUES(dictionary_id), " +
+            "compressed_content = VALUES(compressed_content)",
+            nativeQuery = true)
+    int upsert(@Param("pageId") int pageId,
+               @Param("dictionaryId") Integer dictionaryId,
+               @Param("compressedContent") byte[] compressedContent);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO page_content (page_id, dictionary_id, compressed_content) " +
+            "VALUES (:pageId, :dictionaryId, :compressedContent)",
+            nativeQuery = true)
+    int insertIgnore(@Param("pageId") int pageId,
+                     @Param("dictionaryId") Integer dictionaryId,
+                     @Param("compressedContent") byte[] compressedContent);
+
+    @Modifying
+    @Transactional
+    @Query("delete from PageContentEntity c where c.pageId = :pageId")
+    int deleteByPageId(@Param("pageId") int pageId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE c FROM page_content c JOIN page p ON p.id = c.page_id WHERE p.site_id = :siteId",
+            nativeQuery = true)
+    int deleteBySiteId(@Param("siteId") int siteId);
+
+}
@@ -1,10 +1,17 @@
 package searchengine.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.dto.indexing.PageValidators;
 import searchengine.model.PageEntity;
 import searchengine.model.SiteEntity;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +23,45 @@ public interface PageRepository extends JpaRepository<PageEntity, Integer> {
 
     Integer countBySiteAndCode(SiteEntity siteEntity, Integer code);
 
+    @Query("select p.id from PageEntity p where p.site = :site and p.code = :code and p.id > :pageId order by p.id")
+    List<Integer> findIdsBySiteAndCodeAfterId(@Param("site") SiteEntity site,
+                                              @Param("code") Integer code,
+                                              @Param("pageId") int pageId,
+                                              Limit limit);
+
+    @Query("select p.relativePath from PageEntity p where p.site = :site")
+    List<String> findRelativePathsBySite(@Param("site") SiteEntity site);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO page (site_id, path, code, etag, last_modified, content_hash) " +
+            "VALUES (:siteId, :path, :code, :etag, :lastModified, :contentHash)",
+            nativeQuery = true)
+    int insertIgnore(@Param("siteId") int siteId,
+                     @Param("path") String relativePath,
+                     @Param("code") int code,
+                     @Param("etag") String etag,
+                     @Param("lastModified") String lastModified,
+                     @Param("contentHash") String contentHash);
+
+    @Modifying
+    @Transactional
+    @Query("update PageEntity p set p.code = :code, p.etag = :etag, " +
+            "p.lastModified = :lastModified, p.contentHash = :contentHash where p.id = :id")
+    int updateParseResult(@Param("id") int id,
+                          @Param("code") int code,
+                          @Param("etag") String etag,
+                          @Param("lastModified") String lastModified,
+                          @Param("contentHash") String contentHash);
+
+    @Modifying
+    @Transactional
+    @Query("delete from PageEntity p where p.site = :site")
+    int deleteBySite(@Param("site") SiteEntity site);
+
+    @Query("select new searchengine.dto.indexing.PageValidators(" +
+            "p.id, p.relativePath, p.code, p.etag, p.lastModified, p.contentHash) " +
+            "from PageEntity p where p.site = :site")
+    List<PageValidators> findValidatorsBySite(@Param("site") SiteEntity site);
+
 }
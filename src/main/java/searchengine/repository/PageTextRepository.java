@@ -0,0 +1,37 @@
+package searchengine.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.model.PageTextEntity;
+
+@Repository
+public interface PageTextRepository extends JpaRepository<PageTextEntity, Integer> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO page_text (page_id, title, cleaned_text, word_offsets) " +
+            "VALUES (:pageId, :title, :cleanedText, :wordOffsets) " +
+            "ON DUPLICATE KEY UPDATE title = VALUES(title), cleaned_text = VALUES(cleaned_text), " +
+            "word_offsets = VALUES(word_offsets)",
+            nativeQuery = true)
+    int upsert(@Param("pageId") int pageId,
+               @Param("title") String title,
+               @Param("cleanedText") String cleanedText,
+               @Param("wordOffsets") byte[] wordOffsets);
+
+    @Modifying
+    @Transactional
+    @Query("delete from PageTextEntity t where t.pageId = :pageId")
+    int deleteByPageId(@Param("pageId") int pageId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE t FROM page_text t JOIN page p ON p.id = t.page_id WHERE p.site_id = :siteId",
+            nativeQuery = true)
+    int deleteBySiteId(@Param("siteId") int siteId);
+
+}
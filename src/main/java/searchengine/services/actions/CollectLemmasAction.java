@@ -1,24 +1,29 @@
 package searchengine.services.actions;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.lucene.morphology.LuceneMorphology;
 import org.apache.lucene.morphology.russian.RussianLuceneMorphology;
 import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
 import org.springframework.stereotype.Service;
+import searchengine.index.PageWords;
+import searchengine.util.RussianWordTokenizer;
+import searchengine.util.SegmentedLruCache;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Log4j2
 @Service
 public class CollectLemmasAction {
 
     private static final String[] PARTICLES_NAMES = new String[]{"МЕЖД", "ПРЕДЛ", "СОЮЗ", "МС"};
-    private static final String NOT_LOWCASE_RUSSIAN_LETTERS_OR_SPACE = "([^а-яъ\\p{Z}])";
-    private static final String TWO_OR_MORE_LOWCASE_RUSSIAN_LETTERS = "[а-яъ]{2,}";
-    private static final String ONE_OR_MORE_SPACE_SYMBOLS = "\\p{Z}+";
-    private static final String DOUBLE_STANDALONE_CONSONANTS = "([б-джзк-н-п-т-х-ь])\\1+[\\p{Z}\\p{Punct}]";
+    private static final int MAX_CACHED_WORD_FORMS = 200_000;
+
+    private static final SegmentedLruCache<String, WordFormInfo> wordFormsCache =
+            new SegmentedLruCache<>(MAX_CACHED_WORD_FORMS);
 
     private static LuceneMorphology luceneMorph;
 
@@ -31,35 +36,63 @@ public class CollectLemmasAction {
     }
 
     public String cleanText (String text) {
-        return Jsoup.parse(text).text().replaceAll("ё", "е");
+        return cleanDocumentText(Jsoup.parse(text));
+    }
+
+    public String cleanDocumentText(Document document) {
+        return document.text().replace("ё", "е");
     }
 
     public Map<String, Integer> collectLemmasFromCleanedTextWithCount(String text) {
-        String[] words = getRussianWordsFromCleanedText(text);
-        return Arrays.stream(words)
-                .filter(this::isWord)
-                .collect(Collectors.toMap(
-                        word -> getNormalFormOfWord(word),
-                        count -> 1,
-                        Integer::sum));
+        return collectLemmasFromCleanedTextWithCount(text, null);
     }
 
-    public String[] getRussianWordsFromCleanedText(String text) {
-        return text.toLowerCase(Locale.ROOT)
-                .replaceAll(NOT_LOWCASE_RUSSIAN_LETTERS_OR_SPACE, " ")
-                .replaceAll(DOUBLE_STANDALONE_CONSONANTS, " ")
-                .split(ONE_OR_MORE_SPACE_SYMBOLS);
+    public Map<String, Integer> collectLemmasFromCleanedTextWithCount(String text, PageWords pageWords) {
+        Map<String, Integer> lemmasWithCount = new HashMap<>();
+        RussianWordTokenizer tokenizer = new RussianWordTokenizer(text);
+        while (tokenizer.next()) {
+            WordFormInfo wordFormInfo = getWordFormInfo(tokenizer.getWord());
+            if (!wordFormInfo.isParticle()) {
+                lemmasWithCount.merge(wordFormInfo.getNormalForm(), 1, Integer::sum);
+                if (pageWords != null) {
+                    pageWords.addWord(wordFormInfo.getNormalForm(), tokenizer.getWordStart(), tokenizer.getWordEnd());
+                }
+            }
+        }
+        return lemmasWithCount;
     }
 
     public boolean isWord(String word) {
-        if (!word.isEmpty() && word.matches(TWO_OR_MORE_LOWCASE_RUSSIAN_LETTERS)) {
-            return !isAnyWordBaseParticle(word);
+        if (RussianWordTokenizer.isRussianWord(word)) {
+            return !getWordFormInfo(word).isParticle();
         }
         return false;
     }
 
     public String getNormalFormOfWord(String word) {
-        return luceneMorph.getNormalForms(word).get(0);
+        return getWordFormInfo(word).getNormalForm();
+    }
+
+    public long getWordFormsCacheHits() {
+        return wordFormsCache.getHits();
+    }
+
+    public long getWordFormsCacheMisses() {
+        return wordFormsCache.getMisses();
+    }
+
+    public int getWordFormsCacheSize() {
+        return wordFormsCache.size();
+    }
+
+    private WordFormInfo getWordFormInfo(String word) {
+        WordFormInfo wordFormInfo = wordFormsCache.get(word);
+        if (wordFormInfo != null) {
+            return wordFormInfo;
+        }
+        wordFormInfo = new WordFormInfo(isAnyWordBaseParticle(word), luceneMorph.getNormalForms(word).get(0));
+        wordFormsCache.put(word, wordFormInfo);
+        return wordFormInfo;
     }
 
     private boolean isAnyWordBaseParticle(String word) {
@@ -75,4 +108,12 @@ public class CollectLemmasAction {
         return false;
     }
 
+    @Getter
+    @RequiredArgsConstructor
+    private static class WordFormInfo {
+
+        private final boolean isParticle;
+        private final String normalForm;
+    }
+
 }
@@ -2,17 +2,24 @@ package searchengine.services.actions;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.jsoup.nodes.Document;
 import org.springframework.stereotype.Service;
 import searchengine.dto.indexing.PageIndexingData;
+import searchengine.index.PageWords;
 import searchengine.model.IndexEntity;
 import searchengine.model.LemmaEntity;
 import searchengine.model.PageEntity;
 import searchengine.services.entity.IndexService;
-import searchengine.services.entity.LemmaService;
+import searchengine.services.index.LemmaFrequencyAccumulator;
+import searchengine.util.LemmaKeyGenerator;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,18 +29,17 @@ import java.util.Map;
 public class ComputeIndexingInfoAction {
 
     private final CollectLemmasAction collectLemmasAction;
+    private final LemmaFrequencyAccumulator lemmaFrequencyAccumulator;
 
-    public PageIndexingData computeIndexingInfoForPage(LemmaService lemmaService,
-                                                       IndexService indexService,
-                                                       PageEntity page) {
+    public PageIndexingData computeIndexingInfoForPage(IndexService indexService, PageEntity page) {
         log.info("Computing indexing info for page {} started",
                 page.getSite().getUrl() + page.getRelativePath());
         Instant start = Instant.now();
         String cleanedPageContent = collectLemmasAction.cleanText(page.getContent());
         Map<String, Integer> lemmasFromTextWithCount =
                 collectLemmasAction.collectLemmasFromCleanedTextWithCount(cleanedPageContent);
-        PageIndexingData pageIndexingData = computePageIndexingData(
-                lemmaService, indexService, lemmasFromTextWithCount, page);
+        PageIndexingData pageIndexingData =
+                computePageIndexingData(indexService, page, Collections.emptySet(), lemmasFromTextWithCount);
         Instant end = Instant.now();
         Duration duration = Duration.between(start, end);
         log.info("Computing indexing info for page {} completed in {} min {} sec {} ms",
@@ -42,16 +48,46 @@ public class ComputeIndexingInfoAction {
         return pageIndexingData;
     }
 
-    private PageIndexingData computePageIndexingData(LemmaService lemmaService,
-                                                     IndexService indexService,
-                                                     Map<String, Integer> lemmasFromTextWithCount,
-                                                     PageEntity page) {
+    public String cleanPageText(Document pageDocument) {
+        return collectLemmasAction.cleanDocumentText(pageDocument);
+    }
+
+    public Map<String, Integer> collectLemmasFromCleanedText(String cleanedPageText, PageWords pageWords) {
+        return collectLemmasAction.collectLemmasFromCleanedTextWithCount(cleanedPageText, pageWords);
+    }
+
+    public void attachLemmaPositions(PageIndexingData pageIndexingData, PageWords pageWords) {
+        for (IndexEntity index : pageIndexingData.getIndexesByPage()) {
+            index.setPositions(pageWords.encodePositions(index.getLemma().getLemma()));
+        }
+    }
+
+    public PageIndexingData computeIndexingInfoForPage(IndexService indexService,
+                                                       PageEntity page,
+                                                       Map<String, Integer> lemmasFromTextWithCount) {
+        return computePageIndexingData(indexService, page, Collections.emptySet(), lemmasFromTextWithCount);
+    }
+
+    public PageIndexingData recomputeIndexingInfoForPage(IndexService indexService,
+                                                         PageEntity page,
+                                                         Collection<String> previousLemmas,
+                                                         Map<String, Integer> lemmasFromTextWithCount) {
+        return computePageIndexingData(indexService, page, previousLemmas, lemmasFromTextWithCount);
+    }
+
+    private PageIndexingData computePageIndexingData(IndexService indexService,
+                                                     PageEntity page,
+                                                     Collection<String> previousLemmas,
+                                                     Map<String, Integer> lemmasFromTextWithCount) {
         List<LemmaEntity> lemmasByPage = new ArrayList<>();
         List<IndexEntity> indexesByPage = new ArrayList<>();
         PageIndexingData pageIndexingData = new PageIndexingData(page, lemmasByPage, indexesByPage);
-        for (String lemma : lemmasFromTextWithCount.keySet()) {
-            LemmaEntity lemmaEntity = lemmaService.increaseLemmaFrequencyBySite(lemma, page.getSite());
-            Float rank = Float.valueOf(lemmasFromTextWithCount.get(lemma));
+        Map<String, Integer> pageLemmasWithCount = mergeLemmasByKey(lemmasFromTextWithCount);
+        Map<String, LemmaEntity> lemmaEntities = lemmaFrequencyAccumulator.replacePageLemmas(
+                page.getSite(), previousLemmas, pageLemmasWithCount.keySet());
+        for (Map.Entry<String, LemmaEntity> lemmaWithEntity : lemmaEntities.entrySet()) {
+            LemmaEntity lemmaEntity = lemmaWithEntity.getValue();
+            Float rank = Float.valueOf(pageLemmasWithCount.get(lemmaWithEntity.getKey()));
             IndexEntity indexEntity = indexService.createIndexForPage(lemmaEntity, rank, page);
             lemmasByPage.add(lemmaEntity);
             indexesByPage.add(indexEntity);
@@ -59,4 +95,14 @@ public class ComputeIndexingInfoAction {
         return pageIndexingData;
     }
 
+    private Map<String, Integer> mergeLemmasByKey(Map<String, Integer> lemmasFromTextWithCount) {
+        Map<String, String> lemmasByKey = new HashMap<>();
+        Map<String, Integer> mergedLemmasWithCount = new LinkedHashMap<>();
+        lemmasFromTextWithCount.forEach((lemma, count) -> {
+            String mergedLemma = lemmasByKey.computeIfAbsent(LemmaKeyGenerator.getLemmaKey(lemma), key -> lemma);
+            mergedLemmasWithCount.merge(mergedLemma, count, Integer::sum);
+        });
+        return mergedLemmasWithCount;
+    }
+
 }
@@ -4,173 +4,224 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
-import searchengine.dto.search.Snippet;
-import searchengine.dto.search.UnalteredWord;
+import searchengine.index.PositionList;
+import searchengine.index.WordOffsets;
 import searchengine.model.PageEntity;
+import searchengine.model.PageTextEntity;
+import searchengine.util.RussianWordTokenizer;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
 
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class GenerateSnippetAction {
 
-    private static final Integer MAX_SNIPPET_LENGTH_IN_SYMBOLS = 250;
+    private static final int MAX_SNIPPET_LENGTH_IN_SYMBOLS = 250;
+    private static final int WORDS_BEFORE_OR_AFTER_QUERY_WORD = 2;
+    private static final int MAX_QUERY_WORDS_DISTANCE_IN_WINDOW = 2 * WORDS_BEFORE_OR_AFTER_QUERY_WORD + 1;
+    private static final String SNIPPET_DELIMITER = "...";
+    private static final String WINDOWS_SEPARATOR = SNIPPET_DELIMITER + " ";
+    private static final String BOLD_START_TAG = "<b>";
+    private static final String BOLD_END_TAG = "</b>";
+    private static final int INTERRUPTION_CHECK_WORDS_MASK = 0xFF;
 
     private final CollectLemmasAction collectLemmasAction;
 
     public String createSnippet(PageEntity page, Set<String> queryLemmas) {
         String cleanedPageContent = collectLemmasAction.cleanText(page.getContent());
-        List<String> wordsFromText = getMeaningfulWordsFromCleanedText(cleanedPageContent);
-        List<UnalteredWord> unalteredWordList = cutUnalteredWordsFromText(page, wordsFromText, cleanedPageContent);
-        List<UnalteredWord> wordsContainingQuery =
-                getQueryWordsSortedByOrdinalNumberInText(queryLemmas, unalteredWordList);
-        Map<Integer, String> snippetsWithQueryWordsCount =
-                getSnippetsByQueryWordsCountDownward(wordsContainingQuery, cleanedPageContent, unalteredWordList);
-        String finalSnippet = constructFinalSnippet(snippetsWithQueryWordsCount);
-        return getSnippetWithQueryWordsInBold(finalSnippet, wordsContainingQuery);
-    }
-
-    private List<String> getMeaningfulWordsFromCleanedText(String cleanedPageContent) {
-        String[] wordsFromText = collectLemmasAction.getRussianWordsFromCleanedText(cleanedPageContent);
-        return Arrays.stream(wordsFromText).filter(collectLemmasAction::isWord).toList();
-    }
-
-    private List<UnalteredWord> cutUnalteredWordsFromText(PageEntity page,
-                                                          List<String> wordsFromText,
-                                                          String cleanedPageContent) {
-        List<UnalteredWord> unalteredWordList = new LinkedList<>();
-        int currentPosition = 0;
-        int positionForWordEnd;
-        for (int i = 0; i < wordsFromText.size(); i++) {
-            String initialWordInLowerCase = wordsFromText.get(i);
-            int indexInText = StringUtils.indexOfIgnoreCase(cleanedPageContent, initialWordInLowerCase, currentPosition);
-            try {
-                positionForWordEnd = indexInText + initialWordInLowerCase.length();
-                String initialWord = cleanedPageContent.substring(indexInText, positionForWordEnd);
-                UnalteredWord word = UnalteredWord.builder()
-                        .initialWord(initialWord)
-                        .lemma(getLemmaFromWord(initialWordInLowerCase))
-                        .firstLetterIndexInText(indexInText)
-                        .ordinalNumberInText(i)
-                        .build();
-                currentPosition = positionForWordEnd;
-                unalteredWordList.add(word);
-            } catch (StringIndexOutOfBoundsException e) {
-                log.error("Unable to cut word '{}' on page {} after cleaning while creating snippet",
-                        initialWordInLowerCase, page.getSite().getUrl() + page.getRelativePath());
+        WordOffsets wordOffsets = new WordOffsets();
+        PositionList queryWordNumbers = new PositionList();
+        RussianWordTokenizer tokenizer = new RussianWordTokenizer(cleanedPageContent);
+        while (tokenizer.next()) {
+            checkInterruption(wordOffsets.size());
+            String wordInLowerCase = tokenizer.getWord();
+            if (!collectLemmasAction.isWord(wordInLowerCase)) {
+                continue;
             }
+            if (queryLemmas.contains(collectLemmasAction.getNormalFormOfWord(wordInLowerCase))) {
+                queryWordNumbers.add(wordOffsets.size());
+            }
+            wordOffsets.add(tokenizer.getWordStart(), tokenizer.getWordEnd());
         }
-        return unalteredWordList;
+        return createSnippet(cleanedPageContent, wordOffsets, queryWordNumbers);
     }
 
-    private List<UnalteredWord> getQueryWordsSortedByOrdinalNumberInText(Set<String> queryLemmas,
-                                                                         List<UnalteredWord> unalteredWordList) {
-        List<UnalteredWord> wordsContainingQuery = new LinkedList<>();
-        for (String lemma : queryLemmas) {
-            for (UnalteredWord wordFromText : unalteredWordList) {
-                if (StringUtils.equalsIgnoreCase(lemma, wordFromText.getLemma())) {
-                    wordsContainingQuery.add(wordFromText);
-                }
+    public String createSnippet(PageTextEntity pageText, Set<String> queryLemmas) {
+        String cleanedPageContent = pageText.getCleanedText();
+        WordOffsets wordOffsets = WordOffsets.decode(pageText.getWordOffsets());
+        PositionList queryWordNumbers = new PositionList();
+        for (int i = 0; i < wordOffsets.size(); i++) {
+            checkInterruption(i);
+            String wordInLowerCase = cleanedPageContent
+                    .substring(wordOffsets.getStart(i), wordOffsets.getEnd(i))
+                    .toLowerCase(Locale.ROOT);
+            if (queryLemmas.contains(collectLemmasAction.getNormalFormOfWord(wordInLowerCase))) {
+                queryWordNumbers.add(i);
             }
         }
-        wordsContainingQuery.sort(Comparator.comparingInt(UnalteredWord::getOrdinalNumberInText));
-        return wordsContainingQuery;
+        return createSnippet(cleanedPageContent, wordOffsets, queryWordNumbers);
     }
 
-    private Map<Integer, String> getSnippetsByQueryWordsCountDownward(List<UnalteredWord> wordsContainingQuery,
-                                                                      String cleanedPageContent,
-                                                                      List<UnalteredWord> unalteredWordList) {
-        Map<Integer, String> snippetsWithQueryWordsCount = new TreeMap<>(Comparator.reverseOrder());
-        Snippet snippet = new Snippet();
-        for (UnalteredWord word : wordsContainingQuery) {
-            snippet.updateSnippetInfo(cleanedPageContent, word, unalteredWordList);
-            if (snippet.isCompleted()) {
-                addSnippetTextToMap(snippet, snippetsWithQueryWordsCount);
-                snippet = new Snippet();
-                snippet.updateSnippetInfo(cleanedPageContent, word, unalteredWordList);
-            }
-        }
-        if (!snippet.isCompleted()) {
-            snippet.completeSnippet(unalteredWordList, cleanedPageContent);
-            addSnippetTextToMap(snippet, snippetsWithQueryWordsCount);
-        }
-        return snippetsWithQueryWordsCount;
+    public String createSnippet(PageTextEntity pageText, Collection<byte[]> encodedQueryLemmaPositions) {
+        WordOffsets wordOffsets = WordOffsets.decode(pageText.getWordOffsets());
+        List<PositionList> queryLemmaPositions = encodedQueryLemmaPositions.stream()
+                .map(PositionList::decode)
+                .toList();
+        return createSnippet(pageText.getCleanedText(), wordOffsets,
+                mergeQueryWordNumbers(queryLemmaPositions, wordOffsets.size()));
     }
 
-    private String constructFinalSnippet(Map<Integer, String> snippetsWithQueryWordsCount) {
-        StringBuilder finalSnippet = new StringBuilder();
-        for (Integer queryWordsCount : snippetsWithQueryWordsCount.keySet()) {
-            String snippetToAppend = snippetsWithQueryWordsCount.get(queryWordsCount);
-            finalSnippet.append(snippetToAppend);
-            if (finalSnippet.length() > MAX_SNIPPET_LENGTH_IN_SYMBOLS) {
-                int pointToCutSnippet = getPointToCutSnippetNearMaxLength(finalSnippet.toString());
-                cutFinalSnippetToReasonableLength(finalSnippet, pointToCutSnippet);
-                break;
-            }
+    public String createPlainSnippet(String cleanedPageContent) {
+        if (cleanedPageContent.length() <= MAX_SNIPPET_LENGTH_IN_SYMBOLS) {
+            return cleanedPageContent;
         }
-        return finalSnippet.toString();
+        int pointToCutSnippet =
+                cleanedPageContent.lastIndexOf(' ', MAX_SNIPPET_LENGTH_IN_SYMBOLS - SNIPPET_DELIMITER.length());
+        if (pointToCutSnippet <= 0) {
+            pointToCutSnippet = MAX_SNIPPET_LENGTH_IN_SYMBOLS - SNIPPET_DELIMITER.length();
+        }
+        return cleanedPageContent.substring(0, pointToCutSnippet) + SNIPPET_DELIMITER;
     }
 
-    private int getPointToCutSnippetNearMaxLength(String snippet) {
-        int lastDelimiterIndex = snippet
-                .substring(0, MAX_SNIPPET_LENGTH_IN_SYMBOLS)
-                .lastIndexOf(Snippet.SNIPPET_DELIMITER);
-        if (lastDelimiterIndex == -1) {
-            return getLastSpaceBeforeMaxSnippetLength(snippet);
+    private void checkInterruption(int wordNumber) {
+        if ((wordNumber & INTERRUPTION_CHECK_WORDS_MASK) == 0 && Thread.interrupted()) {
+            throw new CancellationException("Snippet generation is interrupted");
         }
-        return lastDelimiterIndex;
     }
 
-    private int getLastSpaceBeforeMaxSnippetLength(String bigSnippet) {
-        String cutSnippet = bigSnippet.substring(0, MAX_SNIPPET_LENGTH_IN_SYMBOLS);
-        return Math.max(0, cutSnippet.lastIndexOf(" "));
+    private PositionList mergeQueryWordNumbers(List<PositionList> queryLemmaPositions, int wordsCount) {
+        PositionList queryWordNumbers = new PositionList();
+        int[] nextIndexes = new int[queryLemmaPositions.size()];
+        while (true) {
+            int nextList = -1;
+            int nextWordNumber = wordsCount;
+            for (int i = 0; i < nextIndexes.length; i++) {
+                PositionList positions = queryLemmaPositions.get(i);
+                if (nextIndexes[i] < positions.size() && positions.get(nextIndexes[i]) < nextWordNumber) {
+                    nextList = i;
+                    nextWordNumber = positions.get(nextIndexes[i]);
+                }
+            }
+            if (nextList == -1) {
+                return queryWordNumbers;
+            }
+            nextIndexes[nextList]++;
+            if (queryWordNumbers.size() == 0
+                    || queryWordNumbers.get(queryWordNumbers.size() - 1) < nextWordNumber) {
+                queryWordNumbers.add(nextWordNumber);
+            }
+        }
     }
 
-    private void cutFinalSnippetToReasonableLength(StringBuilder finalSnippet, int pointToCutSnippet) {
-        cutSnippetToCutPointWithDelimiterLengthAddition(finalSnippet, pointToCutSnippet);
-        makeSureDelimiterIsLast(finalSnippet);
+    private String createSnippet(String cleanedPageContent, WordOffsets wordOffsets, PositionList queryWordNumbers) {
+        if (queryWordNumbers.size() == 0) {
+            return StringUtils.EMPTY;
+        }
+        int[] windowFirstQueryWords = selectSnippetWindows(queryWordNumbers);
+        int[] windowQueryWordsCounts = countWindowsQueryWords(windowFirstQueryWords, queryWordNumbers.size());
+        int[] windowsOrder = orderWindowsByQueryWordsCountDownward(windowQueryWordsCounts);
+        StringBuilder plainSnippet = new StringBuilder();
+        int[] highlightStarts = new int[queryWordNumbers.size()];
+        int[] highlightEnds = new int[queryWordNumbers.size()];
+        int highlightsCount = 0;
+        for (int i = 0; i < windowsOrder.length; i++) {
+            int window = windowsOrder[i];
+            int firstQueryWord = windowFirstQueryWords[window];
+            int lastQueryWord = firstQueryWord + windowQueryWordsCounts[window] - 1;
+            int firstWordNumber = Math.max(0, queryWordNumbers.get(firstQueryWord) - WORDS_BEFORE_OR_AFTER_QUERY_WORD);
+            int lastWordNumber = Math.min(wordOffsets.size() - 1,
+                    queryWordNumbers.get(lastQueryWord) + WORDS_BEFORE_OR_AFTER_QUERY_WORD);
+            int shiftFromTextToSnippet = plainSnippet.length() - wordOffsets.getStart(firstWordNumber);
+            for (int queryWord = firstQueryWord; queryWord <= lastQueryWord; queryWord++) {
+                int wordNumber = queryWordNumbers.get(queryWord);
+                highlightStarts[highlightsCount] = wordOffsets.getStart(wordNumber) + shiftFromTextToSnippet;
+                highlightEnds[highlightsCount] = wordOffsets.getEnd(wordNumber) + shiftFromTextToSnippet;
+                highlightsCount++;
+            }
+            plainSnippet.append(cleanedPageContent, wordOffsets.getStart(firstWordNumber),
+                    wordOffsets.getEnd(lastWordNumber));
+            plainSnippet.append(WINDOWS_SEPARATOR);
+            boolean isLastWindowWithSameCount = i == windowsOrder.length - 1
+                    || windowQueryWordsCounts[windowsOrder[i + 1]] != windowQueryWordsCounts[window];
+            if (plainSnippet.length() > MAX_SNIPPET_LENGTH_IN_SYMBOLS + SNIPPET_DELIMITER.length()
+                    || isLastWindowWithSameCount && plainSnippet.length() > MAX_SNIPPET_LENGTH_IN_SYMBOLS) {
+                cutSnippetNearMaxLength(plainSnippet);
+                break;
+            }
+        }
+        return getSnippetWithQueryWordsInBold(plainSnippet, highlightStarts, highlightEnds, highlightsCount);
     }
 
-    private void cutSnippetToCutPointWithDelimiterLengthAddition(StringBuilder finalSnippet, int pointToCutSnippet) {
-        finalSnippet.replace(
-                Math.min(pointToCutSnippet + Snippet.SNIPPET_DELIMITER.length(), finalSnippet.length()),
-                finalSnippet.length(),
-                "");
+    private int[] selectSnippetWindows(PositionList queryWordNumbers) {
+        int[] windowFirstQueryWords = new int[queryWordNumbers.size()];
+        int windowsCount = 0;
+        for (int i = 0; i < queryWordNumbers.size(); i++) {
+            if (i == 0 || queryWordNumbers.get(i) - queryWordNumbers.get(i - 1) > MAX_QUERY_WORDS_DISTANCE_IN_WINDOW) {
+                windowFirstQueryWords[windowsCount++] = i;
+            }
+        }
+        return Arrays.copyOf(windowFirstQueryWords, windowsCount);
     }
 
-    private void makeSureDelimiterIsLast(StringBuilder finalSnippet) {
-        if (!StringUtils.endsWith(finalSnippet, Snippet.SNIPPET_DELIMITER)) {
-            finalSnippet.replace(
-                    finalSnippet.length() - Snippet.SNIPPET_DELIMITER.length(),
-                    finalSnippet.length(),
-                    Snippet.SNIPPET_DELIMITER);
+    private int[] countWindowsQueryWords(int[] windowFirstQueryWords, int queryWordsCount) {
+        int[] windowQueryWordsCounts = new int[windowFirstQueryWords.length];
+        for (int window = 0; window < windowFirstQueryWords.length; window++) {
+            int nextWindowFirstQueryWord = window + 1 < windowFirstQueryWords.length
+                    ? windowFirstQueryWords[window + 1]
+                    : queryWordsCount;
+            windowQueryWordsCounts[window] = nextWindowFirstQueryWord - windowFirstQueryWords[window];
         }
+        return windowQueryWordsCounts;
     }
 
-    private String getSnippetWithQueryWordsInBold(String snippetText, List<UnalteredWord> wordsContainingQuery) {
-        Set<String> initialWordsContainingQuery = wordsContainingQuery.stream()
-                .map(UnalteredWord::getInitialWord)
-                .collect(Collectors.toSet());
-        for (String word : initialWordsContainingQuery) {
-            String wordInBold = "<b>" + word + "</b>";
-            snippetText = snippetText.replaceAll("(?<!<b>)(" + word + ")(?!\\p{L})", wordInBold);
+    private int[] orderWindowsByQueryWordsCountDownward(int[] windowQueryWordsCounts) {
+        int maxQueryWordsCount = Arrays.stream(windowQueryWordsCounts).max().orElse(0);
+        int[] bucketStarts = new int[maxQueryWordsCount + 1];
+        for (int queryWordsCount : windowQueryWordsCounts) {
+            bucketStarts[maxQueryWordsCount - queryWordsCount]++;
+        }
+        for (int bucket = 0, windowsBefore = 0; bucket < bucketStarts.length; bucket++) {
+            int bucketSize = bucketStarts[bucket];
+            bucketStarts[bucket] = windowsBefore;
+            windowsBefore += bucketSize;
         }
-        return snippetText;
+        int[] windowsOrder = new int[windowQueryWordsCounts.length];
+        for (int window = 0; window < windowQueryWordsCounts.length; window++) {
+            windowsOrder[bucketStarts[maxQueryWordsCount - windowQueryWordsCounts[window]]++] = window;
+        }
+        return windowsOrder;
     }
 
-    private String getLemmaFromWord(String word) {
-        if (collectLemmasAction.isWord(word)) {
-            return collectLemmasAction.getNormalFormOfWord(word);
+    private void cutSnippetNearMaxLength(StringBuilder snippet) {
+        int pointToCutSnippet =
+                snippet.lastIndexOf(SNIPPET_DELIMITER, MAX_SNIPPET_LENGTH_IN_SYMBOLS - SNIPPET_DELIMITER.length());
+        if (pointToCutSnippet == -1) {
+            pointToCutSnippet = Math.max(0, snippet.lastIndexOf(" ", MAX_SNIPPET_LENGTH_IN_SYMBOLS - 1));
+        }
+        snippet.setLength(Math.min(pointToCutSnippet + SNIPPET_DELIMITER.length(), snippet.length()));
+        if (!StringUtils.endsWith(snippet, SNIPPET_DELIMITER)) {
+            snippet.replace(snippet.length() - SNIPPET_DELIMITER.length(), snippet.length(), SNIPPET_DELIMITER);
         }
-        return word;
     }
 
-    private void addSnippetTextToMap(Snippet snippet, Map<Integer, String> snippetsWithQueryWordsCount) {
-        String newSnippetText = snippet.getSnippet();
-        Integer queryWordsInSnippetCount = snippet.getQueryWordsInSnippetCount();
-        snippetsWithQueryWordsCount.merge(queryWordsInSnippetCount, newSnippetText, String::concat);
+    private String getSnippetWithQueryWordsInBold(StringBuilder plainSnippet,
+                                                  int[] highlightStarts,
+                                                  int[] highlightEnds,
+                                                  int highlightsCount) {
+        int lastHighlightEnd = plainSnippet.length() - SNIPPET_DELIMITER.length();
+        StringBuilder snippet = new StringBuilder(plainSnippet.length()
+                + highlightsCount * (BOLD_START_TAG.length() + BOLD_END_TAG.length()));
+        int copiedLength = 0;
+        for (int i = 0; i < highlightsCount && highlightEnds[i] <= lastHighlightEnd; i++) {
+            snippet.append(plainSnippet, copiedLength, highlightStarts[i])
+                    .append(BOLD_START_TAG)
+                    .append(plainSnippet, highlightStarts[i], highlightEnds[i])
+                    .append(BOLD_END_TAG);
+            copiedLength = highlightEnds[i];
+        }
+        return snippet.append(plainSnippet, copiedLength, plainSnippet.length()).toString();
     }
 
-}
\ No newline at end of file
+}
@@ -5,48 +5,81 @@ import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import searchengine.config.JsoupConfig;
+import searchengine.config.CrawlConfig;
+import searchengine.config.IndexingConfig;
+import searchengine.config.IndexingMode;
 import searchengine.config.Site;
 import searchengine.dto.indexing.IndexingResponse;
+import searchengine.dto.indexing.PageValidators;
 import searchengine.exceptions.IndexingStoppedByUserException;
+import searchengine.crawler.CrawlCheckpoint;
+import searchengine.crawler.CrawlFrontier;
+import searchengine.crawler.CrawledPage;
+import searchengine.crawler.FrontierUrl;
+import searchengine.crawler.PipelineStage;
 import searchengine.model.PageEntity;
 import searchengine.model.SiteEntity;
 import searchengine.model.SiteIndexingStatus;
+import searchengine.services.crawl.CrawlCheckpointService;
+import searchengine.services.crawl.CrawlThreads;
+import searchengine.services.crawl.HostPolitenessScheduler;
+import searchengine.services.crawl.PageFetcher;
 import searchengine.services.entity.IndexService;
-import searchengine.services.entity.LemmaService;
 import searchengine.services.entity.PageService;
+import searchengine.services.entity.PageContentService;
+import searchengine.services.entity.PageTextService;
 import searchengine.services.entity.SiteService;
+import searchengine.services.index.InvertedIndexService;
+import searchengine.services.index.LemmaFrequencyAccumulator;
+import searchengine.services.index.SearchResultCache;
 import searchengine.util.ExceptionsHandler;
 import searchengine.util.IndexingResponseGenerator;
 import searchengine.util.LockGenerator;
+import searchengine.util.UrlFormatter;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class IndexingThreadAction {
 
+    private static final int SAVED_PAGE_DEPTH = 1;
+
     @Setter
     public static volatile boolean isCancelledStopIndexing = false;
 
-    private final JsoupConfig jsoupConfig;
+    private final CrawlConfig crawlConfig;
+    private final IndexingConfig indexingConfig;
     private final SiteService siteService;
     private final PageService pageService;
-    private final LemmaService lemmaService;
+    private final PageTextService pageTextService;
+    private final PageContentService pageContentService;
+    private final LemmaFrequencyAccumulator lemmaFrequencyAccumulator;
     private final IndexService indexService;
     private final ComputeIndexingInfoAction computeIndexingInfoAction;
     private final PrepareDatabaseBeforeIndexingAction prepareDatabaseAction;
+    private final InvertedIndexService invertedIndexService;
+    private final SearchResultCache searchResultCache;
+    private final HostPolitenessScheduler politenessScheduler;
+    private final PageFetcher pageFetcher;
+    private final CrawlThreads crawlThreads;
+    private final CrawlCheckpointService crawlCheckpointService;
 
     public IndexingResponse indexingOneSite(String url,
                                             String name,
                                             CountDownLatch countDownLatch) {
         log.info("Indexing site {} started", url);
         Instant start = Instant.now();
-        SiteEntity site = siteService.createSiteByNameAndUrl(name, url);
+        SiteEntity site = getSiteForIndexing(name, url);
         siteService.save(site);
         if (isCancelledStopIndexing) {
             handleStopByUser(site);
@@ -62,6 +95,23 @@ public class IndexingThreadAction {
         return indexingOneSiteResponse;
     }
 
+    private SiteEntity getSiteForIndexing(String name, String url) {
+        SiteEntity savedSite = siteService.getByUrl(url);
+        if (savedSite != null && (isIncrementalIndexing() || crawlCheckpointService.hasCheckpoint(savedSite))) {
+            siteService.updateSiteStatusInfo(SiteIndexingStatus.INDEXING, "", savedSite);
+            savedSite.setLastError("");
+            log.info(isIncrementalIndexing()
+                    ? "Site {} is reindexed incrementally"
+                    : "Site {} indexing is resumed from crawl checkpoint", url);
+            return savedSite;
+        }
+        return siteService.createSiteByNameAndUrl(name, url);
+    }
+
+    private boolean isIncrementalIndexing() {
+        return indexingConfig.getMode() == IndexingMode.INCREMENTAL;
+    }
+
     private void handleStopByUser(SiteEntity site) {
         try {
             LockGenerator.lockSiteParseWriteLock();
@@ -82,28 +132,197 @@ public class IndexingThreadAction {
     public IndexingResponse gatherSiteIndexingInfo(SiteEntity site) {
         IndexingResponse indexingResponse = null;
         try {
-            parseSite(site);
+            boolean isCrawlCompleted = parseSite(site);
             indexingResponse = getResponseAccordingToSiteStatus(site);
+            if (isCrawlCompleted) {
+                crawlCheckpointService.delete(site);
+            }
         } catch (IndexingStoppedByUserException ex) {
             handleStopByUser(site);
             indexingResponse = IndexingResponseGenerator.getIndexingStoppedByUserResponse();
         } catch (Exception ex) {
             ExceptionsHandler.handleUnexpectedIndexingException(siteService, site, ex);
         } finally {
+            searchResultCache.invalidateSite(site.getId());
             log.info("Indexing for site {} is completed with status {}", site.getUrl(), site.getStatus());
         }
         return indexingResponse;
     }
 
-    private void parseSite(SiteEntity site) {
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
-        ParseAction parser = new ParseAction(site.getUrl(), site,
-                jsoupConfig, siteService, pageService, lemmaService, indexService, computeIndexingInfoAction);
-        forkJoinPool.invoke(parser);
+    private boolean parseSite(SiteEntity site) {
+        CrawlFrontier frontier = new CrawlFrontier(
+                crawlConfig.getMaxDepth(), crawlConfig.getMaxPagesPerSite(), politenessScheduler);
+        Map<String, PageValidators> previousPagesByPath = prepareFrontier(site, frontier);
+        PipelineStage<CrawledPage> persistStage = createStage(site, "persist", crawlConfig.getPersistThreads(),
+                crawledPage -> persistCrawledPage(site, frontier, crawledPage));
+        PipelineStage<CrawledPage> lemmatizationStage = createStage(site, "lemmatization",
+                crawlConfig.getLemmatizationThreads(), crawledPage -> lemmatizeCrawledPage(crawledPage, persistStage));
+        PipelineStage<CrawledPage> parseStage = createStage(site, "parse", crawlConfig.getParseThreads(),
+                crawledPage -> parseCrawledPage(site, frontier, crawledPage, lemmatizationStage));
+        List<PipelineStage<CrawledPage>> stages = List.of(parseStage, lemmatizationStage, persistStage);
+        stages.forEach(PipelineStage::start);
+        ExecutorService crawlWorkers = crawlThreads.newSiteWorkersExecutor();
+        try {
+            for (int i = 0; i < crawlThreads.getWorkersPerSite(); i++) {
+                crawlWorkers.submit(() -> fetchSitePages(site, frontier, parseStage, previousPagesByPath));
+            }
+            crawlWorkers.shutdown();
+            while (!crawlWorkers.awaitTermination(
+                    crawlConfig.getCheckpointInterval().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.debug("Crawling site {} is in progress, pages accepted : {}, pages pending : {}, " +
+                                "requests in flight : {}", site.getUrl(), frontier.countAcceptedUrls(),
+                        frontier.countPendingUrls(), pageFetcher.countInFlightRequests());
+                log.debug("Site {} lemma frequency increments waiting for flush : {}",
+                        site.getUrl(), lemmaFrequencyAccumulator.countPendingIncrements(site));
+                stages.forEach(stage -> log.debug("Site {} {}", site.getUrl(), stage.describeMetrics()));
+                crawlCheckpointService.save(site, frontier);
+            }
+            for (PipelineStage<CrawledPage> stage : stages) {
+                stage.finish();
+            }
+        } catch (InterruptedException ex) {
+            log.warn("Crawling site {} was interrupted", site.getUrl());
+            frontier.cancel();
+            stages.forEach(PipelineStage::abort);
+        } finally {
+            crawlWorkers.shutdownNow();
+            politenessScheduler.releaseHost(site.getUrl());
+        }
+        flushLemmaFrequencies(site);
+        log.info("Crawling site {} is finished, pages accepted : {}", site.getUrl(), frontier.countAcceptedUrls());
+        stages.forEach(stage -> log.info("Site {} {}", site.getUrl(), stage.describeMetrics()));
+        if (frontier.isCancelled()) {
+            crawlCheckpointService.save(site, frontier);
+            log.info("Crawling site {} was cancelled, urls left for resume : {}",
+                    site.getUrl(), frontier.countUnsavedUrls());
+        }
         if (isCancelledStopIndexing) {
-            forkJoinPool.shutdownNow();
             throw new IndexingStoppedByUserException();
         }
+        return !frontier.isCancelled();
+    }
+
+    private Map<String, PageValidators> prepareFrontier(SiteEntity site, CrawlFrontier frontier) {
+        if (isIncrementalIndexing()) {
+            frontier.offer(site.getUrl(), 0);
+            seedSavedPages(site, frontier);
+            return loadPreviousPages(site);
+        }
+        CrawlCheckpoint checkpoint = crawlCheckpointService.load(site);
+        if (checkpoint != null) {
+            frontier.restore(checkpoint);
+            log.info("Crawl frontier for site {} is restored from checkpoint of {}, urls to crawl : {}, " +
+                            "visited urls : {}", site.getUrl(), checkpoint.getCreatedAt(),
+                    frontier.countPendingUrls(), frontier.countVisitedUrls());
+            seedSavedPages(site, frontier);
+            return Collections.emptyMap();
+        }
+        frontier.offer(site.getUrl(), 0);
+        return Collections.emptyMap();
+    }
+
+    private Map<String, PageValidators> loadPreviousPages(SiteEntity site) {
+        Map<String, PageValidators> previousPagesByPath = pageService.getValidatorsBySite(site);
+        log.info("Site {} has {} saved pages to recrawl conditionally", site.getUrl(), previousPagesByPath.size());
+        return previousPagesByPath;
+    }
+
+    private void seedSavedPages(SiteEntity site, CrawlFrontier frontier) {
+        String siteUrl = UrlFormatter.removeEscapeEnd(site.getUrl());
+        List<String> savedRelativePaths = pageService.getRelativePathsBySite(site);
+        long seededPagesCount = savedRelativePaths.stream()
+                .filter(relativePath -> frontier.offer(siteUrl + relativePath, SAVED_PAGE_DEPTH))
+                .count();
+        log.info("Crawl frontier for site {} is seeded with {} of {} saved pages",
+                site.getUrl(), seededPagesCount, savedRelativePaths.size());
+    }
+
+    private void flushLemmaFrequencies(SiteEntity site) {
+        try {
+            lemmaFrequencyAccumulator.flush(site);
+        } catch (Exception ex) {
+            log.error("Exception while flushing lemma frequencies for site {}", site.getUrl(), ex);
+        }
+    }
+
+    private PipelineStage<CrawledPage> createStage(SiteEntity site, String stageName, int workersCount,
+                                                   PipelineStage.StageHandler<CrawledPage> handler) {
+        return new PipelineStage<>("site-" + site.getId() + "-" + stageName,
+                crawlConfig.getStageQueueCapacity(), workersCount, handler);
+    }
+
+    private void fetchSitePages(SiteEntity site, CrawlFrontier frontier, PipelineStage<CrawledPage> parseStage,
+                                Map<String, PageValidators> previousPagesByPath) {
+        try {
+            while (!frontier.isFinished()) {
+                if (ParseAction.isCancelled()) {
+                    frontier.cancel();
+                    return;
+                }
+                FrontierUrl frontierUrl = frontier.poll(crawlConfig.getFrontierPollTimeout());
+                if (frontierUrl != null) {
+                    fetchFrontierUrl(site, frontier, frontierUrl, parseStage, previousPagesByPath);
+                }
+            }
+        } catch (InterruptedException ex) {
+            frontier.cancel();
+        }
+    }
+
+    private void fetchFrontierUrl(SiteEntity site, CrawlFrontier frontier, FrontierUrl frontierUrl,
+                                  PipelineStage<CrawledPage> parseStage,
+                                  Map<String, PageValidators> previousPagesByPath) throws InterruptedException {
+        CrawledPage crawledPage = null;
+        try {
+            crawledPage = createParseAction(frontierUrl.getUrl(), site).fetchPage(frontierUrl, previousPagesByPath);
+        } catch (Exception ex) {
+            log.error("Unexpected exception while fetching page {}", frontierUrl.getUrl(), ex);
+        }
+        if (crawledPage == null) {
+            frontier.complete(frontierUrl);
+            frontier.markSaved(frontierUrl);
+            return;
+        }
+        parseStage.submit(crawledPage);
+    }
+
+    private void parseCrawledPage(SiteEntity site, CrawlFrontier frontier, CrawledPage crawledPage,
+                                  PipelineStage<CrawledPage> lemmatizationStage) throws InterruptedException {
+        FrontierUrl frontierUrl = crawledPage.getFrontierUrl();
+        try {
+            if (ParseAction.isCancelled()) {
+                return;
+            }
+            Set<String> childLinks = createParseAction(crawledPage.getUrl(), site).extractPageContent(crawledPage);
+            childLinks.forEach(childLink -> frontier.offer(childLink, frontierUrl.getDepth() + 1));
+        } finally {
+            frontier.complete(frontierUrl);
+        }
+        lemmatizationStage.submit(crawledPage);
+    }
+
+    private void lemmatizeCrawledPage(CrawledPage crawledPage,
+                                      PipelineStage<CrawledPage> persistStage) throws InterruptedException {
+        if (ParseAction.isCancelled()) {
+            return;
+        }
+        crawledPage.setLemmasWithCount(
+                computeIndexingInfoAction.collectLemmasFromCleanedText(
+                        crawledPage.getCleanedText(), crawledPage.getPageWords()));
+        persistStage.submit(crawledPage);
+    }
+
+    private void persistCrawledPage(SiteEntity site, CrawlFrontier frontier, CrawledPage crawledPage) {
+        if (ParseAction.isCancelled()) {
+            return;
+        }
+        createParseAction(crawledPage.getUrl(), site).persistPage(crawledPage);
+        frontier.markSaved(crawledPage.getFrontierUrl());
+    }
+
+    private ParseAction createParseAction(String url, SiteEntity site) {
+        return new ParseAction(url, site, pageFetcher, siteService, pageService, pageTextService,
+                pageContentService, indexService, computeIndexingInfoAction, invertedIndexService);
     }
 
     private IndexingResponse getResponseAccordingToSiteStatus(SiteEntity site) {
@@ -137,13 +356,13 @@ public class IndexingThreadAction {
         }
         parseAddedPage(url, site);
         getResponseAccordingToSiteStatus(site);
+        searchResultCache.invalidateSite(site.getId());
         log.info("Indexing page is finished, url - {}", url);
     }
 
     private void parseAddedPage(String url, SiteEntity site) {
-        ParseAction parser = new ParseAction(url, site,
-                jsoupConfig, siteService, pageService, lemmaService, indexService, computeIndexingInfoAction);
-        parser.invoke();
+        createParseAction(url, site).parsePage();
+        flushLemmaFrequencies(site);
     }
 
 }
@@ -1,95 +1,118 @@
 package searchengine.services.actions;
 
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.jsoup.Connection;
 import org.jsoup.HttpStatusException;
-import searchengine.config.JsoupConfig;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import searchengine.crawler.CrawledPage;
+import searchengine.crawler.FrontierUrl;
 import searchengine.dto.indexing.PageIndexingData;
+import searchengine.dto.indexing.PageValidators;
 import searchengine.exceptions.PageAlreadyPresentException;
 import searchengine.model.PageEntity;
 import searchengine.model.SiteEntity;
 import searchengine.model.SiteIndexingStatus;
+import searchengine.services.crawl.PageFetcher;
 import searchengine.services.entity.IndexService;
-import searchengine.services.entity.LemmaService;
 import searchengine.services.entity.PageService;
+import searchengine.services.entity.PageContentService;
+import searchengine.services.entity.PageTextService;
 import searchengine.services.entity.SiteService;
+import searchengine.services.index.InvertedIndexService;
 import searchengine.util.ConnectionInfoExtractor;
+import searchengine.util.ContentHashCalculator;
 import searchengine.util.ExceptionsHandler;
 import searchengine.util.LockGenerator;
+import searchengine.util.UrlFormatter;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.RecursiveAction;
 
 @Log4j2
-public class ParseAction extends RecursiveAction {
+public class ParseAction {
 
-    private final JsoupConfig jsoupConfig;
+    private final PageFetcher pageFetcher;
 
+    @Getter
     @Setter(AccessLevel.PRIVATE)
-    private static boolean isCancelled;
+    private static volatile boolean isCancelled;
     @Setter(AccessLevel.PRIVATE)
-    private static boolean isLimited;
+    private static volatile boolean isLimited;
 
     private final SiteService siteService;
     private final PageService pageService;
-    private final LemmaService lemmaService;
+    private final PageTextService pageTextService;
+    private final PageContentService pageContentService;
     private final IndexService indexService;
     private final ComputeIndexingInfoAction computeIndexingInfoAction;
+    private final InvertedIndexService invertedIndexService;
 
     private final SiteEntity site;
     private final String pageUrl;
 
     public ParseAction(String pageUrl,
                        SiteEntity site,
-                       JsoupConfig jsoupConfig,
+                       PageFetcher pageFetcher,
                        SiteService siteService,
                        PageService pageService,
-                       LemmaService lemmaService,
+                       PageTextService pageTextService,
+                       PageContentService pageContentService,
                        IndexService indexService,
-                       ComputeIndexingInfoAction computeIndexingInfoAction) {
+                       ComputeIndexingInfoAction computeIndexingInfoAction,
+                       InvertedIndexService invertedIndexService) {
         this.pageUrl = pageUrl;
         this.site = site;
-        this.jsoupConfig = jsoupConfig;
+        this.pageFetcher = pageFetcher;
         this.siteService = siteService;
         this.pageService = pageService;
-        this.lemmaService = lemmaService;
+        this.pageTextService = pageTextService;
+        this.pageContentService = pageContentService;
         this.indexService = indexService;
         this.computeIndexingInfoAction = computeIndexingInfoAction;
+        this.invertedIndexService = invertedIndexService;
     }
 
-    @Override
-    protected void compute() {
+    public Set<String> parsePage() {
         if (isCancelled) {
-            return;
+            return Collections.emptySet();
         }
-        log.info("Starting parsing for page {}", pageUrl);
-        PageEntity page = extractPageFromUrl();
-        if (isPageValidToProcess(page)) {
-            processExtractedPage(page);
-            Set<String> childLinks = page.getChildLinks();
-            if (!isCancelled && !isLimited && childLinksAreValidToProcess(childLinks)) {
-                forkAndJoinParseTasks(childLinks);
-            }
+        CrawledPage crawledPage = fetchPage(new FrontierUrl(pageUrl, 0));
+        if (crawledPage == null) {
+            return Collections.emptySet();
         }
+        Set<String> childLinks = extractPageContent(crawledPage);
+        crawledPage.setLemmasWithCount(
+                computeIndexingInfoAction.collectLemmasFromCleanedText(
+                        crawledPage.getCleanedText(), crawledPage.getPageWords()));
+        persistPage(crawledPage);
+        return childLinks;
     }
 
-    private PageEntity extractPageFromUrl() {
-        if (isUrlPresentInDatabase()) {
-            ExceptionsHandler.handlePageAlreadyPresentExceptions(pageUrl, site);
-            return null;
-        }
+    public CrawledPage fetchPage(FrontierUrl frontierUrl) {
+        return fetchPage(frontierUrl, Collections.emptyMap());
+    }
+
+    public CrawledPage fetchPage(FrontierUrl frontierUrl, Map<String, PageValidators> previousPagesByPath) {
+        log.info("Starting parsing for page {}", pageUrl);
         PageEntity page = pageService.createPageByAbsPathAndSitePath(pageUrl, site);
+        CrawledPage crawledPage = new CrawledPage(frontierUrl, page);
+        String normalizedRelativePath = UrlFormatter.normalizeRelativePath(page.getRelativePath());
+        crawledPage.setPreviousPage(previousPagesByPath.get(normalizedRelativePath));
         SiteIndexingStatus status = SiteIndexingStatus.INDEXING;
         String siteLastError = "";
         try {
-            extractPageParseInfoFromResponse(page);
+            extractPageParseInfoFromResponse(crawledPage);
         } catch (HttpStatusException ex) {
             log.warn("HttpStatusException for page {}", pageUrl);
             pageService.updateParseInfo(ex.getStatusCode(), "", null, page);
+            crawledPage.setUnchanged(isSameAsPreviousPage(page, crawledPage.getPreviousPage()));
         } catch (Exception ex) {
             log.error("Exception while parsing page {} -> {}", pageUrl, ex.getMessage(), ex);
             status = SiteIndexingStatus.FAILED;
@@ -97,48 +120,106 @@ public class ParseAction extends RecursiveAction {
         } finally {
             updateSiteStatusInfoAfterParsingPage(status, siteLastError, page);
         }
-        return page;
+        return isPageValidToProcess(page) ? crawledPage : null;
+    }
+
+    public Set<String> extractPageContent(CrawledPage crawledPage) {
+        PageEntity page = crawledPage.getPage();
+        if (!ConnectionInfoExtractor.isPageCodeSuccessful(page.getCode())) {
+            return Collections.emptySet();
+        }
+        Document pageDocument = Jsoup.parse(page.getContent(), pageUrl);
+        if (!crawledPage.isUnchanged()) {
+            crawledPage.setTitle(pageDocument.title());
+            crawledPage.setCleanedText(computeIndexingInfoAction.cleanPageText(pageDocument));
+        }
+        if (!crawledPage.isParseable() || isCancelled || isLimited) {
+            return Collections.emptySet();
+        }
+        return ConnectionInfoExtractor.getChildLinksFromDocument(pageDocument, pageUrl);
+    }
+
+    public void persistPage(CrawledPage crawledPage) {
+        if (crawledPage.getPreviousPage() == null) {
+            processExtractedPage(crawledPage);
+        } else {
+            processRecrawledPage(crawledPage);
+        }
     }
 
     private boolean isPageValidToProcess(PageEntity page) {
         return page != null && page.getCode() != null;
     }
 
-    private void processExtractedPage(PageEntity page) {
-        debugCheckLock();
+    private void processExtractedPage(CrawledPage crawledPage) {
         try {
-            LockGenerator.lockPageParseWriteLock();
-            computeAndSaveExtractedPageInfoToDatabase(page);
+            computeAndSaveExtractedPageInfoToDatabase(crawledPage);
         } catch (PageAlreadyPresentException ex) {
             ExceptionsHandler.handlePageAlreadyPresentExceptions(pageUrl, site);
         } catch (Exception ex) {
             log.error("Exception while saving to database page with indexing info, url - {}", pageUrl, ex);
-        } finally {
-            LockGenerator.unlockPageParseWriteLock();
         }
     }
 
-    private void debugCheckLock() {
-        if (LockGenerator.PAGE_PARSE_LOCK.isWriteLocked()) {
-            log.debug("Page write lock is NOT free for page {} \n\t {}", pageUrl, LockGenerator.PAGE_PARSE_LOCK);
-            if (LockGenerator.PAGE_PARSE_LOCK.isWriteLockedByCurrentThread()) {
-                log.debug("Page write lock is being held by this thread while parsing page {} \n\t {}",
-                        pageUrl,
-                        LockGenerator.PAGE_PARSE_LOCK);
+    private void processRecrawledPage(CrawledPage crawledPage) {
+        PageEntity page = crawledPage.getPage();
+        page.setId(crawledPage.getPreviousPage().getPageId());
+        try {
+            if (crawledPage.isUnchanged()) {
+                updateUnchangedPageValidators(crawledPage);
+                return;
             }
+            pageService.updateParseResult(page);
+            pageContentService.save(page);
+            reindexChangedPage(crawledPage);
+        } catch (Exception ex) {
+            log.error("Exception while updating recrawled page in database, url - {}", pageUrl, ex);
         }
     }
 
-    private void computeAndSaveExtractedPageInfoToDatabase(PageEntity page) {
+    private void updateUnchangedPageValidators(CrawledPage crawledPage) {
+        PageEntity page = crawledPage.getPage();
+        PageValidators previousPage = crawledPage.getPreviousPage();
+        if (!Objects.equals(previousPage.getEtag(), page.getEtag()) ||
+                !Objects.equals(previousPage.getLastModified(), page.getLastModified())) {
+            pageService.updateParseResult(page);
+        }
+        log.debug("Page {} is not changed since last crawl, reindexing is skipped", pageUrl);
+    }
+
+    private void reindexChangedPage(CrawledPage crawledPage) {
+        PageEntity page = crawledPage.getPage();
+        List<String> previousLemmas = indexService.getLemmasByPage(page);
+        indexService.deleteByPage(page);
+        invertedIndexService.removePage(page, previousLemmas);
+        Map<String, Integer> lemmasWithCount = ConnectionInfoExtractor.isPageCodeSuccessful(page.getCode())
+                ? crawledPage.getLemmasWithCount()
+                : Collections.emptyMap();
+        PageIndexingData pageIndexingData = computeIndexingInfoAction.recomputeIndexingInfoForPage(
+                indexService, page, previousLemmas, lemmasWithCount);
+        computeIndexingInfoAction.attachLemmaPositions(pageIndexingData, crawledPage.getPageWords());
+        if (!pageIndexingData.getIndexesByPage().isEmpty()) {
+            indexService.insertAll(pageIndexingData.getIndexesByPage());
+            invertedIndexService.addPage(pageIndexingData);
+        }
+        if (ConnectionInfoExtractor.isPageCodeSuccessful(page.getCode())) {
+            savePageText(crawledPage);
+        } else {
+            pageTextService.delete(page);
+        }
+        log.info("Page {} was changed since last crawl and is reindexed\n\tLemmas count was {} now {}",
+                pageUrl, previousLemmas.size(), pageIndexingData.getIndexesByPage().size());
+    }
+
+    private void computeAndSaveExtractedPageInfoToDatabase(CrawledPage crawledPage) {
+        PageEntity page = crawledPage.getPage();
         boolean isPageSaved;
         isPageSaved = saveExtractedPageToDatabase(page);
         if (!isPageSaved) {
             throw new PageAlreadyPresentException();
         }
         if (ConnectionInfoExtractor.isPageCodeSuccessful(page.getCode())) {
-            PageIndexingData pageIndexingData =
-                    computeIndexingInfoAction.computeIndexingInfoForPage(lemmaService, indexService, page);
-            saveExtractedPageIndexingDataToDatabase(pageIndexingData);
+            computeAndSavePageIndexingData(crawledPage);
         } else {
             log.warn("Page {} was parsed with code {} - computing indexing info is not possible",
                     page.getSite().getUrl() + page.getRelativePath(), page.getCode());
@@ -146,14 +227,27 @@ public class ParseAction extends RecursiveAction {
     }
 
     private boolean saveExtractedPageToDatabase(PageEntity page) {
-        if (!isVisitedPage()) {
-            pageService.save(page);
+        if (pageService.saveIfAbsent(page)) {
+            pageContentService.save(page);
             log.info("Page {} is saved to database", pageUrl);
             return true;
         }
         return false;
     }
 
+    private void computeAndSavePageIndexingData(CrawledPage crawledPage) {
+        PageIndexingData pageIndexingData = computeIndexingInfoAction.computeIndexingInfoForPage(
+                indexService, crawledPage.getPage(), crawledPage.getLemmasWithCount());
+        computeIndexingInfoAction.attachLemmaPositions(pageIndexingData, crawledPage.getPageWords());
+        saveExtractedPageIndexingDataToDatabase(pageIndexingData);
+        savePageText(crawledPage);
+    }
+
+    private void savePageText(CrawledPage crawledPage) {
+        pageTextService.save(crawledPage.getPage(), crawledPage.getTitle(),
+                crawledPage.getCleanedText(), crawledPage.getPageWords().getWordOffsets());
+    }
+
     private void saveExtractedPageIndexingDataToDatabase(PageIndexingData pageIndexingData) {
         if (pageIndexingData == null) {
             throw new IllegalArgumentException("Indexing data is null");
@@ -162,55 +256,56 @@ public class ParseAction extends RecursiveAction {
                 pageIndexingData.getIndexesByPage() == null || pageIndexingData.getIndexesByPage().isEmpty()) {
             throw new IllegalArgumentException("Indexing data lemmas list and/or indexes list is empty");
         }
-        lemmaService.saveAll(pageIndexingData.getLemmasByPage());
-        indexService.saveAll(pageIndexingData.getIndexesByPage());
+        indexService.insertAll(pageIndexingData.getIndexesByPage());
+        invertedIndexService.addPage(pageIndexingData);
         log.info("Indexing info for page {} is saved to database\n\tLemmas count : {}, indexes count : {} ",
                 pageIndexingData.getPage().getSite().getUrl() + pageIndexingData.getPage().getRelativePath(),
                 pageIndexingData.getLemmasByPage().size(), pageIndexingData.getIndexesByPage().size());
     }
 
-    private boolean childLinksAreValidToProcess(Set<String> childLinks) {
-        return childLinks != null && !childLinks.isEmpty();
-    }
-
-    private void forkAndJoinParseTasks(Set<String> childLinks) {
-        List<ParseAction> parsers = new ArrayList<>();
-        for (String childLink : childLinks) {
-            if (isCancelled) {
-                return;
-            }
-            ParseAction parser = new ParseAction(childLink, site,
-                    jsoupConfig, siteService, pageService, lemmaService, indexService, computeIndexingInfoAction);
-            parser.fork();
-            parsers.add(parser);
-        }
-        for (ParseAction parser : parsers) {
-            parser.join();
+    private void extractPageParseInfoFromResponse(CrawledPage crawledPage) throws Exception {
+        log.info("Extracting page {}, site -> {}", pageUrl, site.getUrl());
+        PageValidators previousPage = crawledPage.getPreviousPage();
+        Connection.Response response = previousPage == null
+                ? pageFetcher.fetch(pageUrl)
+                : pageFetcher.fetchIfModified(pageUrl, previousPage);
+        log.debug("Response for {} -> response.statusCode() {}, response.body() {}",
+                pageUrl,
+                response.statusCode(),
+                (response.body() == null || response.body().isEmpty()) ? "null or empty" : "OK");
+        if (ConnectionInfoExtractor.isPageNotModified(response)) {
+            restoreNotModifiedPage(crawledPage);
+            return;
         }
+        PageEntity page = crawledPage.getPage();
+        crawledPage.setParseable(ConnectionInfoExtractor.isResponseParseable(response));
+        pageService.updateParseInfo(response.statusCode(), response.body(), null, page);
+        page.setEtag(ConnectionInfoExtractor.getEtag(response));
+        page.setLastModified(ConnectionInfoExtractor.getLastModified(response));
+        page.setContentHash(ContentHashCalculator.computeHash(response.body()));
+        crawledPage.setUnchanged(isSameAsPreviousPage(page, previousPage));
     }
 
-    private boolean isUrlPresentInDatabase() {
-        boolean isVisitedPage = false;
-        try {
-            LockGenerator.lockPageParseReadLock();
-            isVisitedPage = isVisitedPage();
-        } catch (Exception ex) {
-            log.error("Exception while trying to determine if page {} is already present in database", pageUrl, ex);
-        } finally {
-            LockGenerator.unlockPageParseReadLock();
+    private void restoreNotModifiedPage(CrawledPage crawledPage) {
+        PageValidators previousPage = crawledPage.getPreviousPage();
+        PageEntity savedPage = pageService.getById(previousPage.getPageId());
+        if (savedPage == null) {
+            throw new IllegalStateException("Page " + pageUrl + " is not modified but is absent in database");
         }
-        return isVisitedPage;
+        PageEntity page = crawledPage.getPage();
+        pageService.updateParseInfo(savedPage.getCode(), pageContentService.getContent(savedPage), null, page);
+        page.setEtag(previousPage.getEtag());
+        page.setLastModified(previousPage.getLastModified());
+        page.setContentHash(previousPage.getContentHash());
+        crawledPage.setParseable(ConnectionInfoExtractor.isPageCodeSuccessful(savedPage.getCode()));
+        crawledPage.setUnchanged(true);
+        log.debug("Page {} is not modified since last crawl", pageUrl);
     }
 
-    private void extractPageParseInfoFromResponse(PageEntity page) throws Exception {
-        log.info("Extracting page {}, site -> {}", pageUrl, site.getUrl());
-        Connection.Response response = ConnectionInfoExtractor.getResponseFromUrl(pageUrl, jsoupConfig);
-        log.debug("Response for {} -> response.statusCode() {}, response.body() {}",
-                pageUrl,
-                response.statusCode(),
-                (response.body() == null || response.body().isEmpty()) ? "null or empty" : "OK");
-        Set<String> pageChildLinks = ConnectionInfoExtractor.getChildLinksFromResponse(response, pageUrl);
-        pageService.updateParseInfo(response.statusCode(), response.body(), pageChildLinks, page);
+    private boolean isSameAsPreviousPage(PageEntity page, PageValidators previousPage) {
+        return previousPage != null &&
+                Objects.equals(previousPage.getCode(), page.getCode()) &&
+                Objects.equals(previousPage.getContentHash(), page.getContentHash());
     }
 
     private void updateSiteStatusInfoAfterParsingPage(SiteIndexingStatus status, String siteLastError, PageEntity page) {
@@ -222,10 +317,6 @@ public class ParseAction extends RecursiveAction {
         }
     }
 
-    private boolean isVisitedPage() {
-        return pageService.getByAbsPathAndSite(pageUrl, site) != null;
-    }
-
     private void updateSiteStatusInfo(SiteIndexingStatus status, String siteLastError) {
         try {
             LockGenerator.lockSiteParseWriteLock();
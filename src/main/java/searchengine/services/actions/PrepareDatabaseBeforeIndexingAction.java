@@ -3,14 +3,25 @@ package searchengine.services.actions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import searchengine.config.Site;
 import searchengine.model.IndexEntity;
 import searchengine.model.LemmaEntity;
 import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
+import searchengine.model.SiteIndexingStatus;
+import searchengine.services.crawl.CrawlCheckpointService;
 import searchengine.services.entity.IndexService;
 import searchengine.services.entity.LemmaService;
 import searchengine.services.entity.PageService;
+import searchengine.services.entity.PageContentService;
+import searchengine.services.entity.PageTextService;
 import searchengine.services.entity.SiteService;
+import searchengine.services.index.InvertedIndexService;
+import searchengine.services.index.LemmaFrequencyAccumulator;
+import searchengine.services.index.SearchResultCache;
+import searchengine.util.LockGenerator;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Log4j2
@@ -20,8 +31,14 @@ public class PrepareDatabaseBeforeIndexingAction {
 
     private final SiteService siteService;
     private final PageService pageService;
+    private final PageTextService pageTextService;
+    private final PageContentService pageContentService;
     private final LemmaService lemmaService;
     private final IndexService indexService;
+    private final InvertedIndexService invertedIndexService;
+    private final SearchResultCache searchResultCache;
+    private final LemmaFrequencyAccumulator lemmaFrequencyAccumulator;
+    private final CrawlCheckpointService crawlCheckpointService;
 
     public void prepareDatabaseBeforeFullIndexingStart() {
         log.info("Deleting all info from database started");
@@ -29,18 +46,88 @@ public class PrepareDatabaseBeforeIndexingAction {
         indexService.deleteAll();
         log.info("Deleting lemma table...");
         lemmaService.deleteAll();
+        log.info("Deleting page text table...");
+        pageTextService.deleteAll();
+        log.info("Deleting page content table...");
+        pageContentService.deleteAll();
         log.info("Deleting page table...");
         pageService.deleteAll();
         log.info("Deleting site table...");
         siteService.deleteAll();
+        invertedIndexService.clear();
+        lemmaFrequencyAccumulator.clear();
+        crawlCheckpointService.deleteAll();
+        searchResultCache.invalidateAll();
         log.info("Deleting all info from database completed");
     }
 
+    public void prepareDatabaseBeforeIncrementalIndexingStart() {
+        log.info("Database is kept for incremental indexing, only changed pages will be reindexed");
+        crawlCheckpointService.deleteAll();
+        searchResultCache.invalidateAll();
+    }
+
+    public List<Site> prepareDatabaseBeforeResumedIndexingStart(List<Site> siteList) {
+        log.info("Preparing database for indexing resumed from crawl checkpoints");
+        List<Site> sitesToIndex = new ArrayList<>();
+        List<SiteEntity> resumedSites = new ArrayList<>();
+        for (Site siteInConfig : siteList) {
+            SiteEntity savedSite = siteService.getByUrl(siteInConfig.getUrl());
+            if (savedSite != null && crawlCheckpointService.hasCheckpoint(savedSite)) {
+                lemmaService.recountFrequenciesBySite(savedSite);
+                lemmaFrequencyAccumulator.forgetSite(savedSite);
+                resumedSites.add(savedSite);
+                sitesToIndex.add(siteInConfig);
+            } else if (savedSite != null && savedSite.getStatus() == SiteIndexingStatus.INDEXED) {
+                log.info("Site {} was indexed before interruption and is skipped", savedSite.getUrl());
+            } else {
+                if (savedSite != null) {
+                    deleteIndexingInfoBySite(savedSite);
+                }
+                sitesToIndex.add(siteInConfig);
+            }
+        }
+        crawlCheckpointService.deleteAllExcept(resumedSites);
+        searchResultCache.invalidateAll();
+        log.info("Indexing is resumed for {} sites, started from scratch for {} sites",
+                resumedSites.size(), sitesToIndex.size() - resumedSites.size());
+        return sitesToIndex;
+    }
+
+    private void deleteIndexingInfoBySite(SiteEntity site) {
+        log.info("Deleting info related to site {} from database started", site.getUrl());
+        int siteId = site.getId();
+        LockGenerator.lockSiteIndexWriteLock(siteId);
+        try {
+            indexService.deleteBySite(site);
+            lemmaService.deleteBySite(site);
+            pageTextService.deleteBySite(site);
+            pageContentService.deleteBySite(site);
+            pageService.deleteBySite(site);
+            siteService.delete(site);
+            lemmaFrequencyAccumulator.forgetSite(site);
+            invertedIndexService.removeSite(site);
+        } finally {
+            LockGenerator.unlockSiteIndexWriteLock(siteId);
+        }
+        log.info("Deleting info related to site {} from database completed", site.getUrl());
+    }
+
     public void prepareDatabaseBeforePartialIndexingStart(PageEntity page) {
         log.info("Deleting info related to {} from database started",
                 page.getSite().getUrl() + page.getRelativePath());
-        deleteIndexingInfoByPage(page);
-        pageService.delete(page);
+        int siteId = page.getSite().getId();
+        LockGenerator.lockSiteIndexWriteLock(siteId);
+        try {
+            lemmaFrequencyAccumulator.flush(page.getSite());
+            deleteIndexingInfoByPage(page);
+            pageTextService.delete(page);
+            pageContentService.delete(page);
+            pageService.delete(page);
+            lemmaFrequencyAccumulator.forgetSite(page.getSite());
+        } finally {
+            LockGenerator.unlockSiteIndexWriteLock(siteId);
+        }
         log.info("Deleting info related to {} from database completed",
                 page.getSite().getUrl() + page.getRelativePath());
     }
@@ -56,6 +143,7 @@ public class PrepareDatabaseBeforeIndexingAction {
                 page.getSite().getUrl() + page.getRelativePath(), indexesByPage.size(), lemmasByPage.size());
         indexService.deleteAll(indexesByPage);
         lemmasByPage.forEach(lemmaService::decreaseLemmaFrequencyInDatabase);
+        invertedIndexService.removePage(page, lemmasByPage.stream().map(LemmaEntity::getLemma).toList());
     }
 
 }
@@ -3,7 +3,7 @@ package searchengine.services.api;
 import searchengine.dto.indexing.IndexingResponse;
 
 public interface IndexingService {
-    IndexingResponse initiateFullIndexing();
+    IndexingResponse initiateFullIndexing(boolean isResumeRequested);
 
     IndexingResponse initiatePartialIndexing(String url);
 
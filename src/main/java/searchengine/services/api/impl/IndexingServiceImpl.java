@@ -6,6 +6,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import searchengine.config.IndexingConfig;
+import searchengine.config.IndexingMode;
 import searchengine.config.Site;
 import searchengine.config.SitesList;
 import searchengine.dto.indexing.IndexingResponse;
@@ -14,6 +16,8 @@ import searchengine.services.actions.IndexingThreadAction;
 import searchengine.services.actions.ParseAction;
 import searchengine.services.actions.PrepareDatabaseBeforeIndexingAction;
 import searchengine.services.api.IndexingService;
+import searchengine.services.crawl.CrawlCheckpointService;
+import searchengine.services.crawl.CrawlThreads;
 import searchengine.services.entity.SiteService;
 import searchengine.util.IndexingResponseGenerator;
 import searchengine.util.LockGenerator;
@@ -23,7 +27,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 @Log4j2
 @Service
@@ -37,35 +40,54 @@ public class IndexingServiceImpl implements IndexingService {
     private ExecutorService executorThreadPool;
 
     private final SitesList sites;
+    private final IndexingConfig indexingConfig;
     private final SiteService siteService;
     private final IndexingThreadAction indexingThreadAction;
     private final PrepareDatabaseBeforeIndexingAction prepareDatabaseAction;
+    private final CrawlThreads crawlThreads;
+    private final CrawlCheckpointService crawlCheckpointService;
 
     @Override
-    public IndexingResponse initiateFullIndexing() {
+    public IndexingResponse initiateFullIndexing(boolean isResumeRequested) {
         if (isIndexingInProcess) {
             return IndexingResponseGenerator.getIndexingAlreadyStartedResponse();
         }
-        log.info("Full indexing initiated by user");
+        log.info("Full indexing initiated by user, resume from crawl checkpoints requested : {}", isResumeRequested);
         setIndexingInProcessStatus();
         ParseAction.isReadyForFullParsing();
-        Thread indexingTask = new Thread(this::indexSiteListFromConfig, "site-indexing-thread");
+        Thread indexingTask = new Thread(() -> indexSiteListFromConfig(isResumeRequested), "site-indexing-thread");
         indexingTask.start();
         return IndexingResponseGenerator.getAllGoodResponse();
     }
 
-    private void indexSiteListFromConfig() {
-        prepareDatabaseAction.prepareDatabaseBeforeFullIndexingStart();
-        log.info("Full indexing started");
-        List<Site> siteList = sites.getSites();
-        startConcurrentFullIndexing(siteList);
+    private void indexSiteListFromConfig(boolean isResumeRequested) {
+        List<Site> siteList = prepareDatabaseBeforeIndexing(sites.getSites(), isResumeRequested);
+        log.info("Full indexing started in {} mode", indexingConfig.getMode());
+        if (!siteList.isEmpty()) {
+            startConcurrentFullIndexing(siteList);
+        }
         finishIndexing();
         log.info("Full indexing is finished");
     }
 
+    private List<Site> prepareDatabaseBeforeIndexing(List<Site> siteList, boolean isResumeRequested) {
+        if (isResumeRequested) {
+            if (crawlCheckpointService.hasCheckpoints()) {
+                return prepareDatabaseAction.prepareDatabaseBeforeResumedIndexingStart(siteList);
+            }
+            log.info("Resume is requested but there are no crawl checkpoints, indexing starts as usual");
+        }
+        if (indexingConfig.getMode() == IndexingMode.INCREMENTAL) {
+            prepareDatabaseAction.prepareDatabaseBeforeIncrementalIndexingStart();
+            return siteList;
+        }
+        prepareDatabaseAction.prepareDatabaseBeforeFullIndexingStart();
+        return siteList;
+    }
+
     private void startConcurrentFullIndexing(List<Site> siteList) {
         CountDownLatch countDownLatch = new CountDownLatch(siteList.size());
-        executorThreadPool = Executors.newFixedThreadPool(siteList.size());
+        executorThreadPool = crawlThreads.newSiteIndexingExecutor(siteList.size());
         try {
             for (Site site : siteList) {
                 executorThreadPool.submit(() ->
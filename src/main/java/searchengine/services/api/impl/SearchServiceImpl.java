@@ -1,12 +1,18 @@
 package searchengine.services.api.impl;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
+import searchengine.config.SearchConfig;
+import searchengine.dto.index.LemmaPositionsRow;
+import searchengine.dto.index.PageRelevanceRow;
 import searchengine.dto.search.SearchData;
 import searchengine.dto.search.SearchResponse;
-import searchengine.exceptions.InvalidSearchQueryException;
+import searchengine.index.PagesRelevance;
 import searchengine.model.*;
 import searchengine.services.actions.CollectLemmasAction;
 import searchengine.services.actions.GenerateSnippetAction;
@@ -14,13 +20,17 @@ import searchengine.services.api.SearchService;
 import searchengine.services.entity.IndexService;
 import searchengine.services.entity.LemmaService;
 import searchengine.services.entity.PageService;
+import searchengine.services.entity.PageContentService;
+import searchengine.services.entity.PageTextService;
 import searchengine.services.entity.SiteService;
-import searchengine.util.ExceptionsHandler;
+import searchengine.services.index.InvertedIndexService;
+import searchengine.services.index.SearchResultCache;
 import searchengine.util.SearchResponseGenerator;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -30,19 +40,33 @@ import java.util.stream.Collectors;
 public class SearchServiceImpl implements SearchService {
 
     private static final Double LEMMA_FREQUENCY_PERCENT = 0.9;
-    public static final Float DEFAULT_MAX_PAGE_RELEVANCE = 1f;
 
     private final SiteService siteService;
     private final PageService pageService;
+    private final PageTextService pageTextService;
+    private final PageContentService pageContentService;
     private final LemmaService lemmaService;
     private final IndexService indexService;
     private final GenerateSnippetAction snippetAction;
     private final CollectLemmasAction collectLemmasAction;
+    private final InvertedIndexService invertedIndexService;
+    private final SearchResultCache searchResultCache;
+    private final SearchConfig searchConfig;
 
-    private String currentQuery = "";
-    private List<SiteEntity> currentSiteListForSearch = new ArrayList<>();
-    private Map<PageEntity, Float> sortedPagesWithRelativeRelevance = new HashMap<>();
-    private Integer totalPagesCoveringQueryCount = 0;
+    private ExecutorService siteSearchExecutor;
+    private ExecutorService resultRenderingExecutor;
+
+    @PostConstruct
+    public void initSearchExecutors() {
+        siteSearchExecutor = Executors.newFixedThreadPool(searchConfig.getSiteSearchThreads());
+        resultRenderingExecutor = Executors.newFixedThreadPool(searchConfig.getResultRenderingThreads());
+    }
+
+    @PreDestroy
+    public void shutdownSearchExecutors() {
+        siteSearchExecutor.shutdownNow();
+        resultRenderingExecutor.shutdownNow();
+    }
 
     @Override
     public SearchResponse getSearchResults(String query, String siteUrl, Integer offset, Integer limit) {
@@ -54,53 +78,53 @@ public class SearchServiceImpl implements SearchService {
         if (siteList.stream().anyMatch(site -> !site.getStatus().equals(SiteIndexingStatus.INDEXED))) {
             return SearchResponseGenerator.getSiteIsNotIndexedResponse(siteUrl);
         }
-        List<SearchData> searchData = computeSearchDataForQuery(query, siteList, offset, limit);
+        query = query.trim();
+        Instant start = Instant.now();
+        Set<String> queryLemmas = getQueryLemmas(query);
+        PagesRelevance pagesRelevanceCoveringQuery =
+                getPagesRelevanceCoveringQuery(query, queryLemmas, siteList, offset, limit);
+        List<SearchData> searchData = computeSearchDataForQuery(pagesRelevanceCoveringQuery, queryLemmas, offset, limit);
+        Duration duration = Duration.between(start, Instant.now());
+        log.info("Searching for query '{}' with offset {} complete in {} min {} sec {} ms",
+                query, offset, duration.toMinutes(), duration.toSecondsPart(), duration.toMillisPart());
+        int totalPagesCoveringQueryCount = pagesRelevanceCoveringQuery.size();
         log.info("Total results count for query '{}' in {} : {}",
                 query, siteUrl != null ? "site " + siteUrl : "all sites", totalPagesCoveringQueryCount);
-        return SearchResponseGenerator.getAllGoodResponse(searchData, totalPagesCoveringQueryCount, query);
+        return SearchResponseGenerator.getAllGoodResponse(
+                searchData, totalPagesCoveringQueryCount, query, pagesRelevanceCoveringQuery.isPartial());
     }
 
-    private List<SearchData> computeSearchDataForQuery(String query,
-                                                       List<SiteEntity> siteList,
-                                                       Integer offset,
-                                                       Integer limit) {
-        Instant start = Instant.now();
-        query = query.trim();
+    private Set<String> getQueryLemmas(String query) {
         String cleanQueryText = collectLemmasAction.cleanText(query);
-        Set<String> queryLemmas = collectLemmasAction.collectLemmasFromCleanedTextWithCount(cleanQueryText).keySet();
-        if (!isSameQuery(query, siteList)) {
-            setCurrentValues(query, siteList);
-            sortedPagesWithRelativeRelevance = getPagesSortedByRelativeRelevanceCoveringQuery(queryLemmas);
-            totalPagesCoveringQueryCount = sortedPagesWithRelativeRelevance.size();
-        }
-        Map<PageEntity, Float> pagesForShow = getPagesToShowInResponse(offset, limit);
-        List<SearchData> searchData = getSearchDataForQuery(pagesForShow, queryLemmas);
-        Instant end = Instant.now();
-        Duration duration = Duration.between(start, end);
-        log.info("Searching for query '{}' with offset {} complete in {} min {} sec {} ms",
-                query, offset, duration.toMinutes(), duration.toSecondsPart(), duration.toMillisPart());
-        return searchData;
+        return collectLemmasAction.collectLemmasFromCleanedTextWithCount(cleanQueryText).keySet();
     }
 
-    private boolean isSameQuery(String query, List<SiteEntity> siteList) {
-        return StringUtils.equalsIgnoreCase(query, currentQuery) && isSiteListsEqual(siteList, currentSiteListForSearch);
+    private List<SearchData> computeSearchDataForQuery(PagesRelevance pagesRelevanceCoveringQuery,
+                                                       Set<String> queryLemmas,
+                                                       Integer offset,
+                                                       Integer limit) {
+        Map<Integer, Float> pagesForShow = pagesRelevanceCoveringQuery.getTopPagesWithRelativeRelevance(offset, limit);
+        return getSearchDataForQuery(pagesForShow, queryLemmas);
     }
 
-    private boolean isSiteListsEqual(List<SiteEntity> siteList, List<SiteEntity> currentSiteListForSearch) {
-        if (siteList.size() != currentSiteListForSearch.size()) {
-            return false;
+    private PagesRelevance getPagesRelevanceCoveringQuery(String query,
+                                                          Set<String> queryLemmas,
+                                                          List<SiteEntity> siteList,
+                                                          int offset,
+                                                          int limit) {
+        SearchResultCache.Key cacheKey = SearchResultCache.createKey(queryLemmas, siteList);
+        PagesRelevance cachedPagesRelevance = searchResultCache.get(cacheKey);
+        if (cachedPagesRelevance != null && cachedPagesRelevance.canSelectTopPages(offset, limit)) {
+            log.info("Search results for query '{}' are taken from cache", query);
+            return cachedPagesRelevance;
         }
-        for (SiteEntity siteEntity : currentSiteListForSearch) {
-            if (siteList.stream().noneMatch(site -> Objects.equals(site.getId(), siteEntity.getId()))) {
-                return false;
-            }
+        long cacheVersion = searchResultCache.getVersion();
+        int topPagesCount = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        PagesRelevance pagesRelevance = computePagesRelevanceCoveringQuery(query, queryLemmas, siteList, topPagesCount);
+        if (!pagesRelevance.isPartial()) {
+            searchResultCache.put(cacheKey, pagesRelevance, cacheVersion);
         }
-        return true;
-    }
-
-    private void setCurrentValues(String query, List<SiteEntity> siteList) {
-        currentQuery = query;
-        currentSiteListForSearch = siteList;
+        return pagesRelevance;
     }
 
     private List<SiteEntity> getSitesForSearch(String siteUrl) {
@@ -109,47 +133,91 @@ public class SearchServiceImpl implements SearchService {
                 : siteService.getAll();
     }
 
-    private Map<PageEntity, Float> getPagesSortedByRelativeRelevanceCoveringQuery(Set<String> queryLemmas) {
-        try {
-            Map<PageEntity, Float> pagesRelevantToQueryWithAbsRelevance =
-                    getPagesRelevantToQueryWithAbsRelevance(currentSiteListForSearch, queryLemmas);
-            if (pagesRelevantToQueryWithAbsRelevance.isEmpty()) {
-                return Collections.emptyMap();
+    private PagesRelevance computePagesRelevanceCoveringQuery(String query,
+                                                              Set<String> queryLemmas,
+                                                              List<SiteEntity> siteList,
+                                                              int topPagesCount) {
+        boolean isInvertedIndexReady = invertedIndexService.isReady();
+        if (!isInvertedIndexReady) {
+            log.warn("Inverted index is not loaded yet, search for query '{}' will use database", query);
+        }
+        Map<Integer, List<LemmaEntity>> queryLemmaEntitiesBySite = isInvertedIndexReady
+                ? Collections.emptyMap()
+                : lemmaService.getBySitesAndLemmas(siteList, queryLemmas);
+        Map<SiteEntity, Future<PagesRelevance>> siteSearchTasks = new LinkedHashMap<>();
+        for (SiteEntity site : siteList) {
+            List<LemmaEntity> siteQueryLemmaEntities =
+                    queryLemmaEntitiesBySite.getOrDefault(site.getId(), Collections.emptyList());
+            siteSearchTasks.put(site, siteSearchExecutor.submit(() -> PagesRelevance.topOf(
+                    getPagesRelevantToQueryWithAbsRelevanceBySite(
+                            site, queryLemmas, siteQueryLemmaEntities, isInvertedIndexReady),
+                    topPagesCount)));
+        }
+        List<PagesRelevance> sitesPagesRelevance = new ArrayList<>();
+        boolean isPartial = false;
+        long deadline = System.nanoTime() + searchConfig.getSiteSearchTimeout().toNanos();
+        for (Map.Entry<SiteEntity, Future<PagesRelevance>> siteSearchTask : siteSearchTasks.entrySet()) {
+            PagesRelevance sitePagesRelevance =
+                    getSiteSearchTaskResult(query, siteSearchTask.getKey(), siteSearchTask.getValue(), deadline);
+            if (sitePagesRelevance == null) {
+                isPartial = true;
+                continue;
             }
-            Float maxAbsRelevance = findMaxPageRelevance(pagesRelevantToQueryWithAbsRelevance);
-            return getSortedPagesWithRelativeRelevance(pagesRelevantToQueryWithAbsRelevance, maxAbsRelevance);
-        } catch (InvalidSearchQueryException e) {
-            ExceptionsHandler.handleInvalidSearchQueryExceptions(currentQuery);
-            return Collections.emptyMap();
+            sitesPagesRelevance.add(sitePagesRelevance);
         }
+        return PagesRelevance.merge(sitesPagesRelevance, topPagesCount, isPartial);
     }
 
-    private Map<PageEntity, Float> getPagesRelevantToQueryWithAbsRelevance(List<SiteEntity> siteList, Set<String> queryLemmas) {
-        Map<PageEntity, Float> pagesRelevantToQueryWithAbsRelevance = new HashMap<>();
-        for (SiteEntity site : siteList) {
-            List<LemmaEntity> siteQueryLemmaEntities = getQueryLemmaEntitiesPresentInSite(queryLemmas, site);
-            Integer frequencyLimit = getLemmaFrequencyLimit(site);
-            List<LemmaEntity> lemmaEntitiesReadyForSearch =
-                    getLemmaEntitiesFilteredAndSortedByFrequency(siteQueryLemmaEntities, frequencyLimit);
-            List<PageEntity> pagesRelevantToQueryBySite =
-                    getPagesRelevantToSearchQuery(lemmaEntitiesReadyForSearch, site);
-            Map<PageEntity, Float> pagesWithAbsRelevanceBySite =
-                    computePagesAbsRelevance(pagesRelevantToQueryBySite, lemmaEntitiesReadyForSearch);
-            pagesRelevantToQueryWithAbsRelevance.putAll(pagesWithAbsRelevanceBySite);
+    private PagesRelevance getSiteSearchTaskResult(String query,
+                                                   SiteEntity site,
+                                                   Future<PagesRelevance> siteSearchTask,
+                                                   long deadline) {
+        try {
+            return siteSearchTask.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            siteSearchTask.cancel(true);
+            log.warn("Search for query '{}' on site {} exceeded deadline of {} ms, results are partial",
+                    query, site.getUrl(), searchConfig.getSiteSearchTimeout().toMillis());
+        } catch (ExecutionException ex) {
+            log.error("Exception while searching for query '{}' on site {}", query, site.getUrl(), ex.getCause());
+        } catch (InterruptedException ex) {
+            siteSearchTask.cancel(true);
+            Thread.currentThread().interrupt();
+            log.error("Search for query '{}' on site {} was interrupted", query, site.getUrl());
         }
-        return pagesRelevantToQueryWithAbsRelevance;
+        return null;
     }
 
-    private List<LemmaEntity> getQueryLemmaEntitiesPresentInSite(Set<String> queryLemmas,
-                                                                 SiteEntity site) {
-        return queryLemmas.stream()
-                .map(lemma -> lemmaService.getBySiteAndLemma(site, lemma))
-                .filter(Objects::nonNull)
-                .toList();
+    private Map<Integer, Float> getPagesRelevantToQueryWithAbsRelevanceBySite(SiteEntity site,
+                                                                              Set<String> queryLemmas,
+                                                                              List<LemmaEntity> siteQueryLemmaEntities,
+                                                                              boolean isInvertedIndexReady) {
+        int frequencyLimit = getLemmaFrequencyLimit(site, isInvertedIndexReady);
+        return isInvertedIndexReady
+                ? invertedIndexService.getPagesWithAbsRelevance(site, queryLemmas, frequencyLimit)
+                : getPagesRelevantToQueryWithAbsRelevanceFromDatabase(site, siteQueryLemmaEntities, frequencyLimit);
     }
 
-    private int getLemmaFrequencyLimit(SiteEntity site) {
-        Integer responsivePagesCount = pageService.countResponsivePagesBySite(site);
+    private Map<Integer, Float> getPagesRelevantToQueryWithAbsRelevanceFromDatabase(SiteEntity site,
+                                                                                    List<LemmaEntity> siteQueryLemmaEntities,
+                                                                                    int frequencyLimit) {
+        List<LemmaEntity> lemmaEntitiesReadyForSearch =
+                getLemmaEntitiesFilteredAndSortedByFrequency(siteQueryLemmaEntities, frequencyLimit);
+        if (lemmaEntitiesReadyForSearch.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        log.info("Rarest lemma on site {} for current search query is '{}'",
+                site.getUrl(), lemmaEntitiesReadyForSearch.get(0).getLemma());
+        return indexService.getPagesAbsRelevanceCoveringAllLemmas(lemmaEntitiesReadyForSearch).stream()
+                .collect(Collectors.toMap(
+                        PageRelevanceRow::getPageId,
+                        row -> row.getAbsRelevance().floatValue()));
+    }
+
+    private int getLemmaFrequencyLimit(SiteEntity site, boolean isInvertedIndexReady) {
+        int responsivePagesCount = isInvertedIndexReady
+                ? invertedIndexService.countResponsivePages(site)
+                : pageService.countResponsivePagesBySite(site);
         return (int) (responsivePagesCount * LEMMA_FREQUENCY_PERCENT);
     }
 
@@ -161,124 +229,142 @@ public class SearchServiceImpl implements SearchService {
                 .toList();
     }
 
-    private List<PageEntity> getPagesRelevantToSearchQuery(List<LemmaEntity> lemmaEntitiesReadyForSearch,
-                                                           SiteEntity site) {
-        if (lemmaEntitiesReadyForSearch.isEmpty()) {
+    private List<SearchData> getSearchDataForQuery(Map<Integer, Float> pagesForShow, Set<String> queryLemmas) {
+        if (pagesForShow == null || pagesForShow.isEmpty()) {
             return Collections.emptyList();
         }
-        List<PageEntity> pagesWithRarestLemma = getPageWithRarestLemma(lemmaEntitiesReadyForSearch, site);
-        List<LemmaEntity> searchLemmasWithoutRarestLemma = lemmaEntitiesReadyForSearch.stream().skip(1).toList();
-        List<PageEntity> searchRelevantPages = new ArrayList<>(pagesWithRarestLemma);
-        for (LemmaEntity queryLemmaEntity : searchLemmasWithoutRarestLemma) {
-            List<PageEntity> searchIterationPages =
-                    getRemainingSearchRelevantPages(queryLemmaEntity, searchRelevantPages);
-            searchRelevantPages.retainAll(searchIterationPages);
-        }
-        return searchRelevantPages;
-    }
-
-    private List<PageEntity> getPageWithRarestLemma(List<LemmaEntity> lemmaEntitiesReadyForSearch, SiteEntity site) {
-        LemmaEntity rarestLemmaEntity = lemmaEntitiesReadyForSearch.stream()
-                .findFirst()
-                .orElseThrow(InvalidSearchQueryException::new);
-        log.info("Rarest lemma on site {} for current search query is '{}'",
-                site.getUrl(), rarestLemmaEntity.getLemma());
-        List<IndexEntity> indexesForRarestLemma = indexService.getByLemma(rarestLemmaEntity);
-        return indexesForRarestLemma.stream()
-                .filter(Objects::nonNull)
-                .map(IndexEntity::getPage)
-                .toList();
-    }
-
-    private List<PageEntity> getRemainingSearchRelevantPages(LemmaEntity queryLemmaEntity,
-                                                             List<PageEntity> searchRelevantPages) {
-        List<IndexEntity> indexesByLemma = indexService.getByLemma(queryLemmaEntity);
-        return searchRelevantPages.stream()
-                .filter(page -> indexesByLemma.stream()
-                        .anyMatch(index -> Objects.equals(index.getPage().getId(), page.getId())))
-                .toList();
-    }
-
-    private Map<PageEntity, Float> computePagesAbsRelevance(List<PageEntity> pagesRelevantToQuery,
-                                                            List<LemmaEntity> lemmaEntitiesReadyForSearch) {
-        return pagesRelevantToQuery.stream()
-                .collect(Collectors.toMap(
-                        Function.identity(),
-                        pageEntity -> computeSinglePageAbsRelevance(lemmaEntitiesReadyForSearch, pageEntity)));
+        return getSearchDataFromRelevantPages(pagesForShow, queryLemmas);
     }
 
-    private Float computeSinglePageAbsRelevance(List<LemmaEntity> lemmaEntitiesReadyForSearch,
-                                                PageEntity pageEntity) {
-        float pageAbsRelevance = (float) 0;
-        for (LemmaEntity lemmaEntity : lemmaEntitiesReadyForSearch) {
-            IndexEntity index = indexService.getByLemmaAndPage(lemmaEntity, pageEntity);
-            if (index != null) {
-                pageAbsRelevance += index.getRank();
+    private List<SearchData> getSearchDataFromRelevantPages(Map<Integer, Float> pagesWithRelativeRelevance,
+                                                            Set<String> queryLemmas) {
+        Map<Integer, PageEntity> pagesById = pageService.getAllByIds(pagesWithRelativeRelevance.keySet()).stream()
+                .collect(Collectors.toMap(PageEntity::getId, Function.identity()));
+        Map<Integer, PageTextEntity> pageTextsById = pageTextService.getByPageIds(pagesWithRelativeRelevance.keySet());
+        Map<Integer, List<LemmaPositionsRow>> lemmaPositionsByPageId =
+                indexService.getLemmaPositionsByPages(pagesWithRelativeRelevance.keySet(), queryLemmas).stream()
+                        .collect(Collectors.groupingBy(LemmaPositionsRow::getPageId));
+        List<RenderingTask> renderingTasks = new ArrayList<>();
+        for (Integer pageId : pagesWithRelativeRelevance.keySet()) {
+            PageEntity pageEntity = pagesById.get(pageId);
+            if (pageEntity == null) {
+                log.warn("Page with id {} from search results is not present in database", pageId);
+                continue;
             }
+            Hibernate.initialize(pageEntity.getSite());
+            PageTextEntity pageText = pageTextsById.get(pageId);
+            List<LemmaPositionsRow> queryLemmaPositions = lemmaPositionsByPageId.getOrDefault(pageId, List.of());
+            Float relevance = pagesWithRelativeRelevance.get(pageId);
+            RenderingTask renderingTask = new RenderingTask(pageId);
+            renderingTask.future = resultRenderingExecutor.submit(() -> {
+                renderingTask.startNanos = System.nanoTime();
+                return getSearchDataForPage(pageEntity, pageText, queryLemmaPositions, relevance, queryLemmas);
+            });
+            renderingTasks.add(renderingTask);
         }
-        return pageAbsRelevance;
-    }
-
-    private Float findMaxPageRelevance(Map<PageEntity, Float> pagesWithAbsRelevance) {
-        Optional<Float> maxAbsRelevance = pagesWithAbsRelevance.values().stream().max(Float::compare);
-        if (maxAbsRelevance.isEmpty()) {
-            log.error("Unable to calculate max page relevance for query {}", currentQuery);
-            return DEFAULT_MAX_PAGE_RELEVANCE;
+        long pageDeadlineNanos = System.nanoTime() + searchConfig.getResultPageRenderingTimeout().toNanos();
+        List<SearchData> data = new ArrayList<>();
+        for (RenderingTask renderingTask : renderingTasks) {
+            Integer pageId = renderingTask.pageId;
+            data.add(getRenderingTaskResult(pagesById.get(pageId), pageTextsById.get(pageId),
+                    pagesWithRelativeRelevance.get(pageId), renderingTask, pageDeadlineNanos));
         }
-        return maxAbsRelevance.get();
+        return data;
     }
 
-    private Map<PageEntity, Float> getSortedPagesWithRelativeRelevance(Map<PageEntity, Float> pagesWithAbsRelevance,
-                                                                       Float maxAbsRelevance) {
-        Map<PageEntity, Float> pagesWithRelativeRelevance = pagesWithAbsRelevance.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue() / maxAbsRelevance,
-                        (oldValue, newValue) -> oldValue));
-        return pagesWithRelativeRelevance.entrySet().stream()
-                .sorted(Map.Entry.<PageEntity, Float>comparingByValue().reversed())
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (oldValue, newValue) -> oldValue,
-                        LinkedHashMap::new));
+    private SearchData getRenderingTaskResult(PageEntity page,
+                                              PageTextEntity pageText,
+                                              Float relevance,
+                                              RenderingTask renderingTask,
+                                              long pageDeadlineNanos) {
+        String pageUrl = page.getSite().getUrl() + page.getRelativePath();
+        long renderingTimeoutNanos = searchConfig.getResultRenderingTimeout().toNanos();
+        try {
+            while (true) {
+                long startNanos = renderingTask.startNanos;
+                long deadlineNanos = startNanos == 0
+                        ? pageDeadlineNanos
+                        : Math.min(startNanos + renderingTimeoutNanos, pageDeadlineNanos);
+                try {
+                    return renderingTask.future.get(
+                            Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException ex) {
+                    long nowNanos = System.nanoTime();
+                    if (nowNanos - pageDeadlineNanos >= 0 || (renderingTask.startNanos != 0
+                            && nowNanos - renderingTask.startNanos >= renderingTimeoutNanos)) {
+                        throw ex;
+                    }
+                }
+            }
+        } catch (TimeoutException ex) {
+            renderingTask.future.cancel(true);
+            if (renderingTask.startNanos == 0) {
+                log.warn("Rendering of search result {} did not start within {} ms for the whole page, " +
+                        "plain text snippet is used instead", pageUrl,
+                        searchConfig.getResultPageRenderingTimeout().toMillis());
+            } else {
+                log.warn("Rendering of search result {} exceeded {} ms, plain text snippet is used instead",
+                        pageUrl, searchConfig.getResultRenderingTimeout().toMillis());
+            }
+        } catch (ExecutionException ex) {
+            log.error("Exception while rendering search result {}", pageUrl, ex.getCause());
+        } catch (CancellationException ex) {
+            log.warn("Rendering of search result {} was cancelled", pageUrl);
+        } catch (InterruptedException ex) {
+            renderingTask.future.cancel(true);
+            Thread.currentThread().interrupt();
+            log.error("Rendering of search result {} was interrupted", pageUrl);
+        }
+        return getPlainSearchDataForPage(page, pageText, relevance);
     }
 
-    private Map<PageEntity, Float> getPagesToShowInResponse(Integer offset, Integer limit) {
-        if (sortedPagesWithRelativeRelevance.size() <= limit) {
-            return sortedPagesWithRelativeRelevance;
-        }
-        return sortedPagesWithRelativeRelevance.entrySet().stream()
-                .skip(offset)
-                .limit(limit)
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (oldValue, newValue) -> oldValue,
-                        LinkedHashMap::new));
+    private SearchData getPlainSearchDataForPage(PageEntity page, PageTextEntity pageText, Float relevance) {
+        return SearchData.builder()
+                .site(page.getSite().getUrl())
+                .siteName(page.getSite().getName())
+                .uri(page.getRelativePath())
+                .title(pageText != null ? pageText.getTitle() : page.getRelativePath())
+                .snippet(pageText != null
+                        ? snippetAction.createPlainSnippet(pageText.getCleanedText())
+                        : StringUtils.EMPTY)
+                .relevance(relevance)
+                .build();
     }
 
-    private List<SearchData> getSearchDataForQuery(Map<PageEntity, Float> pagesForShow, Set<String> queryLemmas) {
-        if (pagesForShow == null || pagesForShow.isEmpty()) {
-            return Collections.emptyList();
+    public SearchData getSearchDataForPage(PageEntity page,
+                                           PageTextEntity pageText,
+                                           List<LemmaPositionsRow> queryLemmaPositions,
+                                           Float relevance,
+                                           Set<String> queryLemmas) {
+        if (pageText == null) {
+            log.debug("Page {} has no saved cleaned text, it is parsed for search result",
+                    page.getSite().getUrl() + page.getRelativePath());
+            return getSearchDataForPage(page, relevance, queryLemmas);
         }
-        return getSearchDataFromRelevantPages(pagesForShow, queryLemmas);
+        return SearchData.builder()
+                .site(page.getSite().getUrl())
+                .siteName(page.getSite().getName())
+                .uri(page.getRelativePath())
+                .title(pageText.getTitle())
+                .snippet(createSnippet(pageText, queryLemmaPositions, queryLemmas))
+                .relevance(relevance)
+                .build();
     }
 
-    private List<SearchData> getSearchDataFromRelevantPages(Map<PageEntity, Float> pagesWithRelativeRelevance,
-                                                            Set<String> queryLemmas) {
-        List<SearchData> data = new ArrayList<>();
-        for (PageEntity pageEntity : pagesWithRelativeRelevance.keySet()) {
-            SearchData pageSearchData = getSearchDataForPage(
-                    pageEntity,
-                    pagesWithRelativeRelevance.get(pageEntity),
-                    queryLemmas);
-            data.add(pageSearchData);
+    private String createSnippet(PageTextEntity pageText,
+                                 List<LemmaPositionsRow> queryLemmaPositions,
+                                 Set<String> queryLemmas) {
+        if (queryLemmaPositions.isEmpty()
+                || queryLemmaPositions.stream().anyMatch(row -> row.getPositions() == null)) {
+            return snippetAction.createSnippet(pageText, queryLemmas);
         }
-        return data;
+        return snippetAction.createSnippet(pageText, queryLemmaPositions.stream()
+                .map(LemmaPositionsRow::getPositions)
+                .toList());
     }
 
     public SearchData getSearchDataForPage(PageEntity page, Float relevance, Set<String> queryLemmas) {
+        page.setContent(pageContentService.getContent(page));
         return SearchData.builder()
                 .site(page.getSite().getUrl())
                 .siteName(page.getSite().getName())
@@ -289,4 +375,15 @@ public class SearchServiceImpl implements SearchService {
                 .build();
     }
 
+    private static class RenderingTask {
+
+        private final Integer pageId;
+        private volatile Future<SearchData> future;
+        private volatile long startNanos;
+
+        private RenderingTask(Integer pageId) {
+            this.pageId = pageId;
+        }
+    }
+
 }
@@ -7,8 +7,10 @@ import searchengine.dto.statistics.DetailedStatisticsItem;
 import searchengine.dto.statistics.StatisticsData;
 import searchengine.dto.statistics.StatisticsResponse;
 import searchengine.dto.statistics.TotalStatistics;
+import searchengine.dto.statistics.WordFormsCacheStatistics;
 import searchengine.model.SiteEntity;
 import searchengine.model.SiteIndexingStatus;
+import searchengine.services.actions.CollectLemmasAction;
 import searchengine.services.api.StatisticsService;
 import searchengine.services.entity.LemmaService;
 import searchengine.services.entity.PageService;
@@ -26,6 +28,7 @@ public class StatisticsServiceImpl implements StatisticsService {
     private final SiteService siteService;
     private final PageService pageService;
     private final LemmaService lemmaService;
+    private final CollectLemmasAction collectLemmasAction;
 
     @Override
     public StatisticsResponse getStatistics() {
@@ -47,9 +50,18 @@ public class StatisticsServiceImpl implements StatisticsService {
         List<SiteEntity> sites = siteService.getAll();
         statisticsData.setTotal(getStatisticsTotalInfo(sites));
         statisticsData.setDetailed(getStatisticsDetailedInfo(sites));
+        statisticsData.setWordFormsCache(getWordFormsCacheStatistics());
         return statisticsData;
     }
 
+    private WordFormsCacheStatistics getWordFormsCacheStatistics() {
+        WordFormsCacheStatistics cacheStatistics = new WordFormsCacheStatistics();
+        cacheStatistics.setSize(collectLemmasAction.getWordFormsCacheSize());
+        cacheStatistics.setHits(collectLemmasAction.getWordFormsCacheHits());
+        cacheStatistics.setMisses(collectLemmasAction.getWordFormsCacheMisses());
+        return cacheStatistics;
+    }
+
     private TotalStatistics getStatisticsTotalInfo(List<SiteEntity> sites) {
         TotalStatistics totalInfo = new TotalStatistics();
         totalInfo.setSites(sites.size());
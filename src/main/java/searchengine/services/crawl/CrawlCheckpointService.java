@@ -0,0 +1,145 @@
+package searchengine.services.crawl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import searchengine.config.CrawlConfig;
+import searchengine.crawler.CrawlCheckpoint;
+import searchengine.crawler.CrawlFrontier;
+import searchengine.model.SiteEntity;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class CrawlCheckpointService {
+
+    private static final String CHECKPOINT_FILE_PREFIX = "site-";
+    private static final String CHECKPOINT_FILE_EXTENSION = ".checkpoint";
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+    private final CrawlConfig crawlConfig;
+
+    public boolean isEnabled() {
+        return crawlConfig.isCheckpointEnabled();
+    }
+
+    public boolean hasCheckpoints() {
+        if (!isEnabled() || !Files.isDirectory(getCheckpointDirectory())) {
+            return false;
+        }
+        try (DirectoryStream<Path> checkpointFiles =
+                     Files.newDirectoryStream(getCheckpointDirectory(), "*" + CHECKPOINT_FILE_EXTENSION)) {
+            return checkpointFiles.iterator().hasNext();
+        } catch (IOException ex) {
+            log.error("Exception while looking for crawl checkpoints in {}", getCheckpointDirectory(), ex);
+            return false;
+        }
+    }
+
+    public boolean hasCheckpoint(SiteEntity site) {
+        return isEnabled() && Files.isRegularFile(getCheckpointFile(site));
+    }
+
+    public CrawlCheckpoint load(SiteEntity site) {
+        if (!hasCheckpoint(site)) {
+            return null;
+        }
+        Path checkpointFile = getCheckpointFile(site);
+        try (InputStream inputStream = new GZIPInputStream(
+                new BufferedInputStream(Files.newInputStream(checkpointFile)))) {
+            CrawlCheckpoint checkpoint = CrawlCheckpoint.readFrom(inputStream);
+            if (!site.getUrl().equals(checkpoint.getSiteUrl())) {
+                log.warn("Crawl checkpoint {} belongs to site {}, not to {}",
+                        checkpointFile, checkpoint.getSiteUrl(), site.getUrl());
+                return null;
+            }
+            return checkpoint;
+        } catch (IOException ex) {
+            log.error("Exception while reading crawl checkpoint {}", checkpointFile, ex);
+            return null;
+        }
+    }
+
+    public void save(SiteEntity site, CrawlFrontier frontier) {
+        if (!isEnabled()) {
+            return;
+        }
+        CrawlCheckpoint checkpoint = frontier.createCheckpoint(site.getId(), site.getUrl());
+        Path checkpointFile = getCheckpointFile(site);
+        Path temporaryFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + TEMPORARY_FILE_EXTENSION);
+        try {
+            Files.createDirectories(getCheckpointDirectory());
+            try (OutputStream outputStream = new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                checkpoint.writeTo(outputStream);
+            }
+            Files.move(temporaryFile, checkpointFile,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Crawl checkpoint for site {} is saved, unsaved urls : {}, visited urls : {}",
+                    site.getUrl(), checkpoint.getUnsavedUrlDepths().size(), checkpoint.getVisitedUrlHashes().length);
+        } catch (IOException ex) {
+            log.error("Exception while saving crawl checkpoint for site {}", site.getUrl(), ex);
+        }
+    }
+
+    public void delete(SiteEntity site) {
+        try {
+            if (Files.deleteIfExists(getCheckpointFile(site))) {
+                log.info("Crawl checkpoint for site {} is deleted", site.getUrl());
+            }
+        } catch (IOException ex) {
+            log.error("Exception while deleting crawl checkpoint for site {}", site.getUrl(), ex);
+        }
+    }
+
+    public void deleteAll() {
+        deleteAllExcept(Set.of());
+    }
+
+    public void deleteAllExcept(Collection<SiteEntity> keptSites) {
+        if (!Files.isDirectory(getCheckpointDirectory())) {
+            return;
+        }
+        Set<Path> keptCheckpointFiles = keptSites.stream()
+                .map(this::getCheckpointFile)
+                .collect(Collectors.toSet());
+        try (DirectoryStream<Path> checkpointFiles = Files.newDirectoryStream(getCheckpointDirectory(),
+                "*{" + CHECKPOINT_FILE_EXTENSION + "," + CHECKPOINT_FILE_EXTENSION + TEMPORARY_FILE_EXTENSION + "}")) {
+            for (Path checkpointFile : checkpointFiles) {
+                if (checkpointFile.getFileName().toString().endsWith(TEMPORARY_FILE_EXTENSION)) {
+                    Files.deleteIfExists(checkpointFile);
+                    log.info("Unfinished crawl checkpoint {} is deleted", checkpointFile);
+                } else if (!keptCheckpointFiles.contains(checkpointFile)) {
+                    Files.deleteIfExists(checkpointFile);
+                    log.info("Crawl checkpoint {} is deleted", checkpointFile);
+                }
+            }
+        } catch (IOException ex) {
+            log.error("Exception while deleting crawl checkpoints in {}", getCheckpointDirectory(), ex);
+        }
+    }
+
+    private Path getCheckpointDirectory() {
+        return Path.of(crawlConfig.getCheckpointDirectory());
+    }
+
+    private Path getCheckpointFile(SiteEntity site) {
+        return getCheckpointDirectory().resolve(CHECKPOINT_FILE_PREFIX + site.getId() + CHECKPOINT_FILE_EXTENSION);
+    }
+
+}
@@ -0,0 +1,39 @@
+package searchengine.services.crawl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import searchengine.config.CrawlConfig;
+import searchengine.config.FetchMode;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@RequiredArgsConstructor
+public class CrawlThreads {
+
+    private final CrawlConfig crawlConfig;
+
+    public boolean isVirtualFetchMode() {
+        return crawlConfig.getFetchMode() == FetchMode.VIRTUAL;
+    }
+
+    public int getWorkersPerSite() {
+        return isVirtualFetchMode() ? crawlConfig.getVirtualWorkersPerSite() : crawlConfig.getWorkersPerSite();
+    }
+
+    public ExecutorService newSiteIndexingExecutor(int sitesCount) {
+        return newExecutor(sitesCount);
+    }
+
+    public ExecutorService newSiteWorkersExecutor() {
+        return newExecutor(getWorkersPerSite());
+    }
+
+    private ExecutorService newExecutor(int platformThreadsCount) {
+        return isVirtualFetchMode()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(platformThreadsCount);
+    }
+
+}
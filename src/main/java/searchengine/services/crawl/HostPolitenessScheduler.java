@@ -0,0 +1,58 @@
+package searchengine.services.crawl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import searchengine.config.JsoupConfig;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class HostPolitenessScheduler {
+
+    private static final String SCHEME_DELIMITER = "://";
+
+    private final JsoupConfig jsoupConfig;
+    private final Map<String, Long> lastDispatchNanosByHost = new ConcurrentHashMap<>();
+
+    public long reserveDispatchNanos(String url) {
+        String host = getHost(url);
+        long now = System.nanoTime();
+        long hostDelayNanos = getHostDelayNanos();
+        long dispatchNanos = lastDispatchNanosByHost.compute(host, (key, lastDispatchNanos) ->
+                lastDispatchNanos == null ? now : Math.max(now, lastDispatchNanos + hostDelayNanos));
+        log.debug("Dispatch of {} is scheduled in {} ms", url, (dispatchNanos - now) / 1_000_000);
+        return dispatchNanos;
+    }
+
+    public void releaseHost(String url) {
+        String host = getHost(url);
+        if (lastDispatchNanosByHost.remove(host) != null) {
+            log.debug("Dispatch reservations for host {} are released", host);
+        }
+    }
+
+    private long getHostDelayNanos() {
+        long minDelayNanos = jsoupConfig.getHostMinDelay().toNanos();
+        long maxJitterNanos = jsoupConfig.getHostMaxJitter().toNanos();
+        return maxJitterNanos > 0
+                ? minDelayNanos + ThreadLocalRandom.current().nextLong(maxJitterNanos + 1)
+                : minDelayNanos;
+    }
+
+    static String getHost(String url) {
+        int hostStart = url.indexOf(SCHEME_DELIMITER);
+        hostStart = hostStart < 0 ? 0 : hostStart + SCHEME_DELIMITER.length();
+        int hostEnd = hostStart;
+        while (hostEnd < url.length() && "/?#:".indexOf(url.charAt(hostEnd)) < 0) {
+            hostEnd++;
+        }
+        return url.substring(hostStart, hostEnd).toLowerCase(Locale.ROOT);
+    }
+
+}
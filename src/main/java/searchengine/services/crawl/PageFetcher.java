@@ -0,0 +1,51 @@
+package searchengine.services.crawl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.jsoup.Connection;
+import org.springframework.stereotype.Service;
+import searchengine.config.CrawlConfig;
+import searchengine.config.JsoupConfig;
+import searchengine.dto.indexing.PageValidators;
+import searchengine.util.ConnectionInfoExtractor;
+
+import java.util.concurrent.Semaphore;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class PageFetcher {
+
+    private final JsoupConfig jsoupConfig;
+    private final CrawlConfig crawlConfig;
+    private Semaphore inFlightRequestsPermits;
+
+    @PostConstruct
+    public void initInFlightRequestsPermits() {
+        inFlightRequestsPermits = new Semaphore(crawlConfig.getMaxInFlightRequests(), true);
+    }
+
+    public Connection.Response fetch(String pageUrl) throws Exception {
+        inFlightRequestsPermits.acquire();
+        try {
+            return ConnectionInfoExtractor.getResponseFromUrl(pageUrl, jsoupConfig);
+        } finally {
+            inFlightRequestsPermits.release();
+        }
+    }
+
+    public Connection.Response fetchIfModified(String pageUrl, PageValidators previousPage) throws Exception {
+        inFlightRequestsPermits.acquire();
+        try {
+            return ConnectionInfoExtractor.getResponseFromUrlIfModified(pageUrl, jsoupConfig, previousPage);
+        } finally {
+            inFlightRequestsPermits.release();
+        }
+    }
+
+    public int countInFlightRequests() {
+        return crawlConfig.getMaxInFlightRequests() - inFlightRequestsPermits.availablePermits();
+    }
+
+}
@@ -1,8 +1,12 @@
 package searchengine.services.entity;
 
+import searchengine.dto.index.LemmaPositionsRow;
+import searchengine.dto.index.PageRelevanceRow;
+import searchengine.index.PostingBatch;
 import searchengine.model.IndexEntity;
 import searchengine.model.LemmaEntity;
 import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
 
 import java.util.Collection;
 import java.util.List;
@@ -12,15 +16,29 @@ public interface IndexService {
 
     List<IndexEntity> getByLemma(LemmaEntity lemma);
 
+    List<String> getLemmasByPage(PageEntity page);
+
     IndexEntity getByLemmaAndPage(LemmaEntity lemma, PageEntity page);
 
+    void readPostingsBySite(SiteEntity site, int fromPageId, int toPageId, PostingBatch postingBatch);
+
+    List<PageRelevanceRow> getPagesAbsRelevanceCoveringAllLemmas(Collection<LemmaEntity> lemmas);
+
+    List<LemmaPositionsRow> getLemmaPositionsByPages(Collection<Integer> pageIds, Collection<String> lemmas);
+
     IndexEntity save(IndexEntity index);
 
     List<IndexEntity> saveAll(Collection<IndexEntity> indexes);
 
+    int insertAll(List<IndexEntity> indexes);
+
     void deleteAll(Iterable<IndexEntity> indexes);
 
     void deleteAll();
 
+    int deleteByPage(PageEntity page);
+
+    int deleteBySite(SiteEntity site);
+
     IndexEntity createIndexForPage(LemmaEntity lemmaEntity, Float rank, PageEntity page);
 }
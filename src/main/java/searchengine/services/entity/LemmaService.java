@@ -5,6 +5,7 @@ import searchengine.model.SiteEntity;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface LemmaService {
 
@@ -14,6 +15,8 @@ public interface LemmaService {
 
     LemmaEntity getBySiteAndLemma(SiteEntity site, String lemma);
 
+    Map<Integer, List<LemmaEntity>> getBySitesAndLemmas(Collection<SiteEntity> sites, Collection<String> lemmas);
+
     LemmaEntity save(LemmaEntity lemma);
 
     List<LemmaEntity> saveAll(Collection<LemmaEntity> lemmas);
@@ -22,6 +25,10 @@ public interface LemmaService {
 
     void deleteAll();
 
+    int deleteBySite(SiteEntity site);
+
+    int recountFrequenciesBySite(SiteEntity site);
+
     LemmaEntity increaseLemmaFrequencyBySite(String lemma, SiteEntity site);
 
     void decreaseLemmaFrequencyInDatabase(LemmaEntity lemmaEntity);
@@ -0,0 +1,17 @@
+package searchengine.services.entity;
+
+import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
+
+public interface PageContentService {
+
+    String getContent(PageEntity page);
+
+    void save(PageEntity page);
+
+    void delete(PageEntity page);
+
+    int deleteBySite(SiteEntity site);
+
+    void deleteAll();
+}
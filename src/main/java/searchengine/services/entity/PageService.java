@@ -1,9 +1,13 @@
 package searchengine.services.entity;
 
 import jakarta.annotation.Nullable;
+import searchengine.dto.indexing.PageValidators;
 import searchengine.model.PageEntity;
 import searchengine.model.SiteEntity;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public interface PageService {
@@ -12,18 +16,34 @@ public interface PageService {
 
     PageEntity getByAbsPathAndSite(String absPath, SiteEntity site);
 
+    PageEntity getById(Integer id);
+
+    Map<String, PageValidators> getValidatorsBySite(SiteEntity site);
+
+    List<PageEntity> getAllByIds(Collection<Integer> ids);
+
     Integer countBySite(SiteEntity siteEntity);
 
+    List<String> getRelativePathsBySite(SiteEntity site);
+
     Integer countResponsivePagesBySite(SiteEntity site);
 
+    List<Integer> getResponsivePageIdsBySite(SiteEntity site, int afterPageId, int limit);
+
     Long countAll();
 
     PageEntity save(PageEntity page);
 
+    boolean saveIfAbsent(PageEntity page);
+
+    void updateParseResult(PageEntity page);
+
     void delete(PageEntity page);
 
     void deleteAll();
 
+    int deleteBySite(SiteEntity site);
+
     PageEntity createPageByAbsPathAndSitePath(String path, SiteEntity site);
 
     void updateParseInfo(@Nullable Integer statusCode,
@@ -0,0 +1,22 @@
+package searchengine.services.entity;
+
+import searchengine.index.WordOffsets;
+import searchengine.model.PageEntity;
+import searchengine.model.PageTextEntity;
+import searchengine.model.SiteEntity;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface PageTextService {
+
+    Map<Integer, PageTextEntity> getByPageIds(Collection<Integer> pageIds);
+
+    void save(PageEntity page, String title, String cleanedText, WordOffsets wordOffsets);
+
+    void delete(PageEntity page);
+
+    int deleteBySite(SiteEntity site);
+
+    void deleteAll();
+}
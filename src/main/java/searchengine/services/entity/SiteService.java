@@ -14,6 +14,8 @@ public interface SiteService {
 
     SiteEntity save(SiteEntity site);
 
+    void delete(SiteEntity site);
+
     void deleteAll();
 
     SiteEntity createSiteByNameAndUrl(String name, String url);
@@ -3,13 +3,20 @@ package searchengine.services.entity.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import searchengine.config.IndexingConfig;
+import searchengine.dto.index.LemmaPositionsRow;
+import searchengine.dto.index.PageRelevanceRow;
+import searchengine.index.PostingBatch;
 import searchengine.model.IndexEntity;
 import searchengine.model.LemmaEntity;
 import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
+import searchengine.repository.IndexBatchRepository;
 import searchengine.repository.IndexRepository;
 import searchengine.services.entity.IndexService;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 @Log4j2
@@ -18,6 +25,8 @@ import java.util.List;
 public class IndexServiceImpl implements IndexService {
 
     private final IndexRepository indexRepository;
+    private final IndexBatchRepository indexBatchRepository;
+    private final IndexingConfig indexingConfig;
 
     @Override
     public List<IndexEntity> getByPage(PageEntity page) {
@@ -29,11 +38,38 @@ public class IndexServiceImpl implements IndexService {
         return indexRepository.findByLemma(lemma);
     }
 
+    @Override
+    public List<String> getLemmasByPage(PageEntity page) {
+        return indexRepository.findLemmasByPage(page);
+    }
+
     @Override
     public IndexEntity getByLemmaAndPage(LemmaEntity lemma, PageEntity page) {
         return indexRepository.findByLemmaAndPage(lemma, page).orElse(null);
     }
 
+    @Override
+    public void readPostingsBySite(SiteEntity site, int fromPageId, int toPageId, PostingBatch postingBatch) {
+        indexBatchRepository.readPostings(site.getId(), fromPageId, toPageId, postingBatch);
+    }
+
+    @Override
+    public List<PageRelevanceRow> getPagesAbsRelevanceCoveringAllLemmas(Collection<LemmaEntity> lemmas) {
+        List<Integer> lemmaIds = lemmas.stream().map(LemmaEntity::getId).distinct().toList();
+        if (lemmaIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return indexRepository.findPagesAbsRelevanceCoveringAllLemmas(lemmaIds, (long) lemmaIds.size());
+    }
+
+    @Override
+    public List<LemmaPositionsRow> getLemmaPositionsByPages(Collection<Integer> pageIds, Collection<String> lemmas) {
+        if (pageIds.isEmpty() || lemmas.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return indexRepository.findLemmaPositionsByPages(pageIds, lemmas);
+    }
+
     @Override
     public IndexEntity save(IndexEntity index) {
         return indexRepository.saveAndFlush(index);
@@ -44,6 +80,14 @@ public class IndexServiceImpl implements IndexService {
         return indexRepository.saveAllAndFlush(indexes);
     }
 
+    @Override
+    public int insertAll(List<IndexEntity> indexes) {
+        if (indexes.isEmpty()) {
+            return 0;
+        }
+        return indexBatchRepository.insertAll(indexes, indexingConfig.getIndexInsertBatchSize());
+    }
+
     @Override
     public void deleteAll(Iterable<IndexEntity> indexes) {
         indexRepository.deleteAllInBatch(indexes);
@@ -54,6 +98,16 @@ public class IndexServiceImpl implements IndexService {
         indexRepository.deleteAllInBatch();
     }
 
+    @Override
+    public int deleteByPage(PageEntity page) {
+        return indexRepository.deleteByPage(page);
+    }
+
+    @Override
+    public int deleteBySite(SiteEntity site) {
+        return indexRepository.deleteBySiteId(site.getId());
+    }
+
     @Override
     public IndexEntity createIndexForPage(LemmaEntity lemmaEntity, Float rank, PageEntity page) {
         IndexEntity indexEntity = new IndexEntity();
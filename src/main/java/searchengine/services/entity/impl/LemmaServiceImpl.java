@@ -8,9 +8,8 @@ import searchengine.model.SiteEntity;
 import searchengine.repository.LemmaRepository;
 import searchengine.services.entity.LemmaService;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Log4j2
 @Service
@@ -34,6 +33,16 @@ public class LemmaServiceImpl implements LemmaService {
         return lemmaRepository.findBySiteAndLemma(site, lemma).orElse(null);
     }
 
+    @Override
+    public Map<Integer, List<LemmaEntity>> getBySitesAndLemmas(Collection<SiteEntity> sites,
+                                                              Collection<String> lemmas) {
+        if (sites.isEmpty() || lemmas.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return lemmaRepository.findBySiteInAndLemmaIn(sites, lemmas).stream()
+                .collect(Collectors.groupingBy(lemmaEntity -> lemmaEntity.getSite().getId()));
+    }
+
     @Override
     public LemmaEntity save(LemmaEntity lemma) {
         return lemmaRepository.saveAndFlush(lemma);
@@ -54,6 +63,20 @@ public class LemmaServiceImpl implements LemmaService {
         lemmaRepository.deleteAllInBatch();
     }
 
+    @Override
+    public int deleteBySite(SiteEntity site) {
+        return lemmaRepository.deleteBySite(site);
+    }
+
+    @Override
+    public int recountFrequenciesBySite(SiteEntity site) {
+        int recountedLemmasCount = lemmaRepository.recountFrequenciesBySiteId(site.getId());
+        int deletedLemmasCount = lemmaRepository.deleteUnusedBySite(site);
+        log.info("Lemma frequencies for site {} are recounted, lemmas count : {}, unused lemmas deleted : {}",
+                site.getUrl(), recountedLemmasCount, deletedLemmasCount);
+        return recountedLemmasCount;
+    }
+
     @Override
     public LemmaEntity increaseLemmaFrequencyBySite(String lemma, SiteEntity site) {
         Optional<LemmaEntity> lemmaBySiteOptional = lemmaRepository.findBySiteAndLemma(site, lemma);
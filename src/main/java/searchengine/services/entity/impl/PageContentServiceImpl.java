@@ -0,0 +1,253 @@
+package searchengine.services.entity.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import searchengine.config.IndexingConfig;
+import searchengine.config.LegacyContentMigrationMode;
+import searchengine.dto.indexing.LegacyPageContent;
+import searchengine.model.ContentDictionaryEntity;
+import searchengine.model.PageContentEntity;
+import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
+import searchengine.repository.ContentDictionaryRepository;
+import searchengine.repository.LegacyPageContentRepository;
+import searchengine.repository.PageContentRepository;
+import searchengine.services.entity.PageContentService;
+import searchengine.util.ContentCompressor;
+import searchengine.util.ContentDictionaryTrainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class PageContentServiceImpl implements PageContentService {
+
+    private static final int LEGACY_CONTENT_MIGRATION_BATCH_SIZE = 500;
+
+    private final IndexingConfig indexingConfig;
+    private final PageContentRepository pageContentRepository;
+    private final ContentDictionaryRepository contentDictionaryRepository;
+    private final LegacyPageContentRepository legacyPageContentRepository;
+
+    private final Map<Integer, ContentDictionaryEntity> siteDictionaries = new ConcurrentHashMap<>();
+    private final Map<Integer, ContentDictionaryEntity> dictionariesById = new ConcurrentHashMap<>();
+    private final Map<Integer, SiteDictionarySamples> dictionarySamplesBySite = new ConcurrentHashMap<>();
+    private volatile boolean hasLegacyContentColumn;
+
+    @PostConstruct
+    public void detectLegacyContentColumn() {
+        hasLegacyContentColumn = legacyPageContentRepository.hasContentColumn();
+        if (hasLegacyContentColumn && !legacyPageContentRepository.isContentColumnNullable()) {
+            legacyPageContentRepository.makeContentColumnNullable();
+            log.info("Legacy content column of page table is made nullable, new pages are saved without it");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initiateLegacyContentMigration() {
+        if (!hasLegacyContentColumn) {
+            return;
+        }
+        LegacyContentMigrationMode migrationMode = indexingConfig.getLegacyContentMigration();
+        if (migrationMode == LegacyContentMigrationMode.NONE) {
+            log.warn("Table page has legacy content column, page content missing in page_content table is read " +
+                    "from it. Set indexing-settings.legacyContentMigration to COPY or COPY_AND_DROP to migrate it");
+            return;
+        }
+        Thread migrationTask = new Thread(() -> migrateLegacyContent(migrationMode),
+                "legacy-page-content-migration-thread");
+        migrationTask.start();
+    }
+
+    private void migrateLegacyContent(LegacyContentMigrationMode migrationMode) {
+        log.info("Migration of legacy page content to page_content table started, mode : {}", migrationMode);
+        try {
+            int copiedCount = copyLegacyContents();
+            long notCopiedCount = legacyPageContentRepository.countNotCopiedContents();
+            if (notCopiedCount > 0) {
+                log.error("Migration of legacy page content is not complete, pages without copied content : {}. " +
+                        "Legacy content column is kept", notCopiedCount);
+                return;
+            }
+            log.info("Legacy page content is copied and checked, pages copied : {}", copiedCount);
+            if (migrationMode != LegacyContentMigrationMode.COPY_AND_DROP) {
+                log.info("Legacy content column is kept, set indexing-settings.legacyContentMigration " +
+                        "to COPY_AND_DROP to drop it");
+                return;
+            }
+            hasLegacyContentColumn = false;
+            legacyPageContentRepository.dropContentColumn();
+            log.info("Legacy content column is dropped from page table");
+        } catch (Exception ex) {
+            log.error("Exception while migrating legacy page content, legacy content column is kept " +
+                    "and migration may be restarted", ex);
+        }
+    }
+
+    private int copyLegacyContents() {
+        int copiedCount = 0;
+        int lastPageId = 0;
+        List<LegacyPageContent> legacyContents;
+        while (!(legacyContents = legacyPageContentRepository.findContentsAfterPageId(
+                lastPageId, LEGACY_CONTENT_MIGRATION_BATCH_SIZE)).isEmpty()) {
+            for (LegacyPageContent legacyContent : legacyContents) {
+                byte[] compressedContent = ContentCompressor.compress(legacyContent.getContent(), null);
+                if (!legacyContent.getContent().equals(ContentCompressor.decompress(compressedContent, null))) {
+                    throw new IllegalStateException(
+                            "Compressed content of page " + legacyContent.getPageId() + " differs from legacy content");
+                }
+                copiedCount += pageContentRepository.insertIgnore(legacyContent.getPageId(), null, compressedContent);
+                lastPageId = legacyContent.getPageId();
+            }
+            log.debug("Legacy page content is copied up to page id {}", lastPageId);
+        }
+        return copiedCount;
+    }
+
+    @Override
+    public String getContent(PageEntity page) {
+        Optional<PageContentEntity> pageContent = pageContentRepository.findById(page.getId());
+        if (pageContent.isEmpty()) {
+            return getLegacyContent(page);
+        }
+        ContentDictionaryEntity dictionary = getDictionaryById(pageContent.get().getDictionaryId());
+        try {
+            return ContentCompressor.decompress(pageContent.get().getCompressedContent(),
+                    dictionary == null ? null : dictionary.getDictionary());
+        } catch (IllegalArgumentException ex) {
+            log.error("Unable to decompress content of page id {} ({}), dictionary id {}", page.getId(),
+                    page.getSite().getUrl() + page.getRelativePath(), pageContent.get().getDictionaryId(), ex);
+            throw new IllegalStateException("Content of page id " + page.getId() + " can not be decompressed", ex);
+        }
+    }
+
+    @Override
+    public void save(PageEntity page) {
+        String content = page.getContent() == null ? "" : page.getContent();
+        ContentDictionaryEntity dictionary = getSiteDictionary(page.getSite(), content);
+        boolean isDictionaryUsed = dictionary != null && dictionary.getDictionary().length > 0;
+        byte[] compressedContent =
+                ContentCompressor.compress(content, isDictionaryUsed ? dictionary.getDictionary() : null);
+        pageContentRepository.upsert(page.getId(), isDictionaryUsed ? dictionary.getId() : null, compressedContent);
+        log.debug("Content of page {} is saved, compressed from {} to {} bytes",
+                page.getSite().getUrl() + page.getRelativePath(), content.length(), compressedContent.length);
+    }
+
+    @Override
+    public void delete(PageEntity page) {
+        pageContentRepository.deleteByPageId(page.getId());
+    }
+
+    @Override
+    public int deleteBySite(SiteEntity site) {
+        int deletedCount = pageContentRepository.deleteBySiteId(site.getId());
+        contentDictionaryRepository.deleteBySiteId(site.getId());
+        siteDictionaries.remove(site.getId());
+        dictionarySamplesBySite.remove(site.getId());
+        dictionariesById.values().removeIf(dictionary -> dictionary.getSiteId().equals(site.getId()));
+        return deletedCount;
+    }
+
+    @Override
+    public void deleteAll() {
+        pageContentRepository.deleteAllInBatch();
+        contentDictionaryRepository.deleteAllInBatch();
+        siteDictionaries.clear();
+        dictionarySamplesBySite.clear();
+        dictionariesById.clear();
+    }
+
+    private String getLegacyContent(PageEntity page) {
+        if (!hasLegacyContentColumn) {
+            return "";
+        }
+        try {
+            String legacyContent = legacyPageContentRepository.findContentByPageId(page.getId());
+            return legacyContent == null ? "" : legacyContent;
+        } catch (RuntimeException ex) {
+            log.error("Unable to read legacy content of page id {} ({})", page.getId(),
+                    page.getSite().getUrl() + page.getRelativePath(), ex);
+            throw ex;
+        }
+    }
+
+    private ContentDictionaryEntity getSiteDictionary(SiteEntity site, String content) {
+        ContentDictionaryEntity dictionary = siteDictionaries.get(site.getId());
+        if (dictionary != null) {
+            return dictionary;
+        }
+        SiteDictionarySamples dictionarySamples =
+                dictionarySamplesBySite.computeIfAbsent(site.getId(), siteId -> new SiteDictionarySamples());
+        synchronized (dictionarySamples) {
+            dictionary = siteDictionaries.get(site.getId());
+            if (dictionary != null) {
+                return dictionary;
+            }
+            if (!dictionarySamples.isSavedDictionaryChecked) {
+                dictionarySamples.isSavedDictionaryChecked = true;
+                Optional<ContentDictionaryEntity> savedDictionary =
+                        contentDictionaryRepository.findFirstBySiteIdOrderByIdDesc(site.getId());
+                if (savedDictionary.isPresent()) {
+                    cacheDictionary(savedDictionary.get());
+                    dictionarySamplesBySite.remove(site.getId(), dictionarySamples);
+                    return savedDictionary.get();
+                }
+            }
+            if (!content.isEmpty()) {
+                dictionarySamples.samples.add(content);
+            }
+            if (dictionarySamples.samples.size() < indexingConfig.getContentDictionarySamples()) {
+                return null;
+            }
+            dictionary = trainSiteDictionary(site, dictionarySamples.samples);
+            dictionarySamplesBySite.remove(site.getId(), dictionarySamples);
+            return dictionary;
+        }
+    }
+
+    private ContentDictionaryEntity trainSiteDictionary(SiteEntity site, List<String> samples) {
+        byte[] trainedDictionary =
+                ContentDictionaryTrainer.train(samples, indexingConfig.getContentDictionaryMaxSize());
+        ContentDictionaryEntity dictionary =
+                contentDictionaryRepository.save(new ContentDictionaryEntity(null, site.getId(), trainedDictionary));
+        cacheDictionary(dictionary);
+        log.info("Content dictionary for site {} is trained on {} pages, dictionary size : {} bytes",
+                site.getUrl(), samples.size(), trainedDictionary.length);
+        return dictionary;
+    }
+
+    private void cacheDictionary(ContentDictionaryEntity dictionary) {
+        siteDictionaries.put(dictionary.getSiteId(), dictionary);
+        dictionariesById.put(dictionary.getId(), dictionary);
+    }
+
+    private ContentDictionaryEntity getDictionaryById(Integer dictionaryId) {
+        if (dictionaryId == null) {
+            return null;
+        }
+        ContentDictionaryEntity dictionary = dictionariesById.get(dictionaryId);
+        if (dictionary == null) {
+            dictionary = contentDictionaryRepository.findById(dictionaryId).orElse(null);
+            if (dictionary != null) {
+                dictionariesById.put(dictionaryId, dictionary);
+            }
+        }
+        return dictionary;
+    }
+
+    private static class SiteDictionarySamples {
+
+        private final List<String> samples = new ArrayList<>();
+        private boolean isSavedDictionaryChecked;
+    }
+
+}
@@ -4,7 +4,9 @@ import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.jsoup.Jsoup;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import searchengine.dto.indexing.PageValidators;
 import searchengine.exceptions.PageNotFromSiteException;
 import searchengine.model.PageEntity;
 import searchengine.model.SiteEntity;
@@ -13,23 +15,28 @@ import searchengine.util.ConnectionInfoExtractor;
 import searchengine.util.UrlFormatter;
 import searchengine.services.entity.PageService;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class PageServiceImpl implements PageService {
 
+    private static final int MAX_RELATIVE_PATH_LENGTH = 255;
+
     private final PageRepository pageRepository;
 
     @Override
     public PageEntity getByRelativePathAndSite(String relativePath, SiteEntity site) {
-        if (!UrlFormatter.isHomePageRelativePath(relativePath)) {
-            relativePath = UrlFormatter.removeEscapeEnd(relativePath);
-        }
-        return pageRepository.findByRelativePathAndSite(relativePath, site).orElse(null);
+        return pageRepository.findByRelativePathAndSite(UrlFormatter.normalizeRelativePath(relativePath), site)
+                .orElse(null);
     }
 
     @Override
@@ -43,16 +50,44 @@ public class PageServiceImpl implements PageService {
         }
     }
 
+    @Override
+    public PageEntity getById(Integer id) {
+        return pageRepository.findById(id).orElse(null);
+    }
+
+    @Override
+    public Map<String, PageValidators> getValidatorsBySite(SiteEntity site) {
+        return pageRepository.findValidatorsBySite(site).stream()
+                .collect(Collectors.toMap(PageValidators::getRelativePath, Function.identity(),
+                        (firstValidators, secondValidators) -> firstValidators));
+    }
+
+    @Override
+    public List<PageEntity> getAllByIds(Collection<Integer> ids) {
+        return pageRepository.findAllById(ids);
+    }
+
     @Override
     public Integer countBySite(SiteEntity siteEntity) {
         return pageRepository.countBySite(siteEntity);
     }
 
+    @Override
+    public List<String> getRelativePathsBySite(SiteEntity site) {
+        return pageRepository.findRelativePathsBySite(site);
+    }
+
     @Override
     public Integer countResponsivePagesBySite(SiteEntity site) {
         return pageRepository.countBySiteAndCode(site, ConnectionInfoExtractor.PAGE_CODE_SUCCESS);
     }
 
+    @Override
+    public List<Integer> getResponsivePageIdsBySite(SiteEntity site, int afterPageId, int limit) {
+        return pageRepository.findIdsBySiteAndCodeAfterId(
+                site, ConnectionInfoExtractor.PAGE_CODE_SUCCESS, afterPageId, Limit.of(limit));
+    }
+
     @Override
     public Long countAll() {
         return pageRepository.count();
@@ -60,13 +95,39 @@ public class PageServiceImpl implements PageService {
 
     @Override
     public PageEntity save(PageEntity page) {
-        if (!UrlFormatter.isHomePageRelativePath(page.getRelativePath())) {
-            String relativePathWithoutEscapeEnd = UrlFormatter.removeEscapeEnd(page.getRelativePath());
-            page.setRelativePath(relativePathWithoutEscapeEnd);
-        }
+        removeEscapeEndFromRelativePath(page);
         return pageRepository.saveAndFlush(page);
     }
 
+    @Override
+    public boolean saveIfAbsent(PageEntity page) {
+        removeEscapeEndFromRelativePath(page);
+        if (page.getRelativePath().length() > MAX_RELATIVE_PATH_LENGTH) {
+            throw new IllegalArgumentException("Page path is longer than " + MAX_RELATIVE_PATH_LENGTH
+                    + " characters: " + page.getSite().getUrl() + page.getRelativePath());
+        }
+        int insertedCount = pageRepository.insertIgnore(page.getSite().getId(), page.getRelativePath(),
+                page.getCode(), page.getEtag(), page.getLastModified(), page.getContentHash());
+        if (insertedCount == 0) {
+            return false;
+        }
+        PageEntity savedPage = pageRepository.findByRelativePathAndSite(page.getRelativePath(), page.getSite())
+                .orElseThrow(() -> new IllegalStateException("Page " + page.getSite().getUrl()
+                        + page.getRelativePath() + " is inserted but is absent in database"));
+        page.setId(savedPage.getId());
+        return true;
+    }
+
+    @Override
+    public void updateParseResult(PageEntity page) {
+        pageRepository.updateParseResult(page.getId(), page.getCode(), page.getEtag(),
+                page.getLastModified(), page.getContentHash());
+    }
+
+    private void removeEscapeEndFromRelativePath(PageEntity page) {
+        page.setRelativePath(UrlFormatter.normalizeRelativePath(page.getRelativePath()));
+    }
+
     @Override
     public void delete(PageEntity page) {
         pageRepository.delete(page);
@@ -77,6 +138,11 @@ public class PageServiceImpl implements PageService {
         pageRepository.deleteAllInBatch();
     }
 
+    @Override
+    public int deleteBySite(SiteEntity site) {
+        return pageRepository.deleteBySite(site);
+    }
+
     @Override
     public PageEntity createPageByAbsPathAndSitePath(String path, SiteEntity site) {
         String relativePath = UrlFormatter.convertAbsPathToRelativePath(path, site);
@@ -0,0 +1,57 @@
+package searchengine.services.entity.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import searchengine.index.WordOffsets;
+import searchengine.model.PageEntity;
+import searchengine.model.PageTextEntity;
+import searchengine.model.SiteEntity;
+import searchengine.repository.PageTextRepository;
+import searchengine.services.entity.PageTextService;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class PageTextServiceImpl implements PageTextService {
+
+    private final PageTextRepository pageTextRepository;
+
+    @Override
+    public Map<Integer, PageTextEntity> getByPageIds(Collection<Integer> pageIds) {
+        if (pageIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return pageTextRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(PageTextEntity::getPageId, Function.identity()));
+    }
+
+    @Override
+    public void save(PageEntity page, String title, String cleanedText, WordOffsets wordOffsets) {
+        pageTextRepository.upsert(page.getId(), title == null ? "" : title, cleanedText, wordOffsets.encode());
+        log.debug("Cleaned text of page {} is saved, words count : {}",
+                page.getSite().getUrl() + page.getRelativePath(), wordOffsets.size());
+    }
+
+    @Override
+    public void delete(PageEntity page) {
+        pageTextRepository.deleteByPageId(page.getId());
+    }
+
+    @Override
+    public int deleteBySite(SiteEntity site) {
+        return pageTextRepository.deleteBySiteId(site.getId());
+    }
+
+    @Override
+    public void deleteAll() {
+        pageTextRepository.deleteAllInBatch();
+    }
+
+}
@@ -34,6 +34,11 @@ public class SiteServiceImpl implements SiteService {
         return siteRepository.saveAndFlush(site);
     }
 
+    @Override
+    public void delete(SiteEntity site) {
+        siteRepository.delete(site);
+    }
+
     @Override
     public void deleteAll() {
         siteRepository.deleteAllInBatch();
@@ -0,0 +1,28 @@
+package searchengine.services.index;
+
+import searchengine.dto.indexing.PageIndexingData;
+import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public interface InvertedIndexService {
+
+    boolean isReady();
+
+    void loadFromDatabase();
+
+    Map<Integer, Float> getPagesWithAbsRelevance(SiteEntity site, Set<String> queryLemmas, int frequencyLimit);
+
+    int countResponsivePages(SiteEntity site);
+
+    void addPage(PageIndexingData pageIndexingData);
+
+    void removePage(PageEntity page, Collection<String> lemmas);
+
+    void removeSite(SiteEntity site);
+
+    void clear();
+}
@@ -0,0 +1,24 @@
+package searchengine.services.index;
+
+import searchengine.model.LemmaEntity;
+import searchengine.model.SiteEntity;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface LemmaFrequencyAccumulator {
+
+    Map<String, LemmaEntity> addPageLemmas(SiteEntity site, Collection<String> lemmas);
+
+    Map<String, LemmaEntity> replacePageLemmas(SiteEntity site,
+                                               Collection<String> previousLemmas,
+                                               Collection<String> lemmas);
+
+    void flush(SiteEntity site);
+
+    void forgetSite(SiteEntity site);
+
+    void clear();
+
+    long countPendingIncrements(SiteEntity site);
+}
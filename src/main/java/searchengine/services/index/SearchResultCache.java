@@ -0,0 +1,149 @@
+package searchengine.services.index;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import searchengine.config.SearchConfig;
+import searchengine.index.PagesRelevance;
+import searchengine.model.SiteEntity;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class SearchResultCache {
+
+    private final SearchConfig searchConfig;
+    private final Map<Key, CachedResult> cachedResults = new ConcurrentHashMap<>();
+    private final AtomicLong totalWeight = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+
+    public static Key createKey(Set<String> queryLemmas, Collection<SiteEntity> siteList) {
+        Set<Integer> siteIds = siteList.stream()
+                .map(SiteEntity::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        return new Key(Set.copyOf(queryLemmas), siteIds);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public PagesRelevance get(Key key) {
+        CachedResult cachedResult = cachedResults.get(key);
+        if (cachedResult == null) {
+            log.debug("Search result cache miss for {}", key);
+            return null;
+        }
+        if (isExpired(cachedResult, System.nanoTime())) {
+            remove(key, cachedResult);
+            log.debug("Search result cache entry expired for {}", key);
+            return null;
+        }
+        cachedResult.lastAccessNanos = System.nanoTime();
+        log.debug("Search result cache hit for {}", key);
+        return cachedResult.pagesRelevance;
+    }
+
+    public void put(Key key, PagesRelevance pagesRelevance, long computedAtVersion) {
+        long weight = pagesRelevance.getStoredPagesCount() + 1L;
+        if (weight > searchConfig.getResultCacheMaxWeight()) {
+            log.debug("Search result for {} is too big to be cached, weight {}", key, weight);
+            return;
+        }
+        synchronized (this) {
+            if (computedAtVersion != version.get()) {
+                log.debug("Search result for {} was computed before cache invalidation and is not cached", key);
+                return;
+            }
+            CachedResult previousResult = cachedResults.put(key, new CachedResult(pagesRelevance, weight));
+            if (previousResult != null) {
+                totalWeight.addAndGet(-previousResult.weight);
+            }
+            totalWeight.addAndGet(weight);
+            evictUntilWithinLimits();
+        }
+    }
+
+    public synchronized void invalidateSite(int siteId) {
+        version.incrementAndGet();
+        List<Key> keysToRemove = cachedResults.keySet().stream()
+                .filter(key -> key.getSiteIds().contains(siteId))
+                .toList();
+        keysToRemove.forEach(key -> remove(key, cachedResults.get(key)));
+        log.info("Search result cache is invalidated for site with id {}, entries removed : {}",
+                siteId, keysToRemove.size());
+    }
+
+    public synchronized void invalidateAll() {
+        version.incrementAndGet();
+        cachedResults.clear();
+        totalWeight.set(0);
+        log.info("Search result cache is invalidated");
+    }
+
+    private void evictUntilWithinLimits() {
+        long now = System.nanoTime();
+        cachedResults.forEach((key, cachedResult) -> {
+            if (isExpired(cachedResult, now)) {
+                remove(key, cachedResult);
+            }
+        });
+        while (cachedResults.size() > searchConfig.getResultCacheMaxEntries()
+                || totalWeight.get() > searchConfig.getResultCacheMaxWeight()) {
+            Optional<Map.Entry<Key, CachedResult>> leastRecentlyUsed = cachedResults.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastAccessNanos));
+            if (leastRecentlyUsed.isEmpty()) {
+                return;
+            }
+            remove(leastRecentlyUsed.get().getKey(), leastRecentlyUsed.get().getValue());
+        }
+    }
+
+    private boolean isExpired(CachedResult cachedResult, long now) {
+        return now - cachedResult.createdAtNanos > searchConfig.getResultCacheTtl().toNanos();
+    }
+
+    private void remove(Key key, CachedResult cachedResult) {
+        if (cachedResult != null && cachedResults.remove(key, cachedResult)) {
+            totalWeight.addAndGet(-cachedResult.weight);
+        }
+    }
+
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    public static class Key {
+
+        private final Set<String> queryLemmas;
+        private final Set<Integer> siteIds;
+
+        private Key(Set<String> queryLemmas, Set<Integer> siteIds) {
+            this.queryLemmas = queryLemmas;
+            this.siteIds = siteIds;
+        }
+    }
+
+    private static class CachedResult {
+
+        private final PagesRelevance pagesRelevance;
+        private final long weight;
+        private final long createdAtNanos;
+        private volatile long lastAccessNanos;
+
+        private CachedResult(PagesRelevance pagesRelevance, long weight) {
+            this.pagesRelevance = pagesRelevance;
+            this.weight = weight;
+            this.createdAtNanos = System.nanoTime();
+            this.lastAccessNanos = createdAtNanos;
+        }
+    }
+
+}
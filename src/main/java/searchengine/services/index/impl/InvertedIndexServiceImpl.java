@@ -0,0 +1,194 @@
+package searchengine.services.index.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import searchengine.config.IndexingConfig;
+import searchengine.dto.indexing.PageIndexingData;
+import searchengine.index.PostingBatch;
+import searchengine.index.SiteInvertedIndex;
+import searchengine.model.IndexEntity;
+import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
+import searchengine.services.entity.IndexService;
+import searchengine.services.entity.PageService;
+import searchengine.services.entity.SiteService;
+import searchengine.services.index.InvertedIndexService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class InvertedIndexServiceImpl implements InvertedIndexService {
+
+    private final SiteService siteService;
+    private final PageService pageService;
+    private final IndexService indexService;
+    private final IndexingConfig indexingConfig;
+
+    private final Map<Integer, SiteInvertedIndex> siteIndexes = new ConcurrentHashMap<>();
+    private List<Consumer<Map<Integer, SiteInvertedIndex>>> changesDuringLoading;
+    private volatile boolean isReady = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initiateLoading() {
+        Thread loadingTask = new Thread(this::loadFromDatabase, "inverted-index-loading-thread");
+        loadingTask.start();
+    }
+
+    @Override
+    public boolean isReady() {
+        return isReady;
+    }
+
+    @Override
+    public void loadFromDatabase() {
+        if (!startRecordingChanges()) {
+            return;
+        }
+        log.info("Loading inverted index from database started");
+        Instant start = Instant.now();
+        Map<Integer, SiteInvertedIndex> loadedSiteIndexes;
+        try {
+            loadedSiteIndexes = loadSiteIndexes();
+        } catch (Exception ex) {
+            stopRecordingChanges();
+            log.error("Exception while loading inverted index from database, search will use database", ex);
+            return;
+        }
+        int appliedChangesCount = installLoadedSiteIndexes(loadedSiteIndexes);
+        Duration duration = Duration.between(start, Instant.now());
+        log.info("Loading inverted index from database complete in {} min {} sec {} ms, sites count : {}, " +
+                        "changes applied after loading : {}",
+                duration.toMinutes(), duration.toSecondsPart(), duration.toMillisPart(), siteIndexes.size(),
+                appliedChangesCount);
+    }
+
+    private synchronized boolean startRecordingChanges() {
+        if (isReady || changesDuringLoading != null) {
+            return false;
+        }
+        changesDuringLoading = new ArrayList<>();
+        return true;
+    }
+
+    private synchronized void stopRecordingChanges() {
+        changesDuringLoading = null;
+    }
+
+    private Map<Integer, SiteInvertedIndex> loadSiteIndexes() {
+        Map<Integer, SiteInvertedIndex> loadedSiteIndexes = new HashMap<>();
+        for (SiteEntity site : siteService.getAll()) {
+            SiteInvertedIndex siteIndex = loadSiteIndex(site);
+            loadedSiteIndexes.put(site.getId(), siteIndex);
+            log.info("Inverted index for site {} is loaded, lemmas count : {}, pages count : {}",
+                    site.getUrl(), siteIndex.countLemmas(), siteIndex.countResponsivePages());
+        }
+        return loadedSiteIndexes;
+    }
+
+    private SiteInvertedIndex loadSiteIndex(SiteEntity site) {
+        SiteInvertedIndex siteIndex = new SiteInvertedIndex(site.getId());
+        PostingBatch postingBatch = new PostingBatch();
+        int lastPageId = 0;
+        List<Integer> pageIds;
+        while (!(pageIds = pageService.getResponsivePageIdsBySite(
+                site, lastPageId, indexingConfig.getIndexLoadBatchPages())).isEmpty()) {
+            int batchLastPageId = pageIds.get(pageIds.size() - 1);
+            postingBatch.clear();
+            indexService.readPostingsBySite(site, lastPageId + 1, batchLastPageId, postingBatch);
+            siteIndex.addPostings(pageIds, postingBatch);
+            lastPageId = batchLastPageId;
+        }
+        return siteIndex;
+    }
+
+    private synchronized int installLoadedSiteIndexes(Map<Integer, SiteInvertedIndex> loadedSiteIndexes) {
+        if (isReady || changesDuringLoading == null) {
+            return 0;
+        }
+        int appliedChangesCount = changesDuringLoading.size();
+        changesDuringLoading.forEach(change -> change.accept(loadedSiteIndexes));
+        changesDuringLoading = null;
+        siteIndexes.putAll(loadedSiteIndexes);
+        isReady = true;
+        return appliedChangesCount;
+    }
+
+    @Override
+    public Map<Integer, Float> getPagesWithAbsRelevance(SiteEntity site, Set<String> queryLemmas, int frequencyLimit) {
+        SiteInvertedIndex siteIndex = siteIndexes.get(site.getId());
+        if (siteIndex == null) {
+            return Collections.emptyMap();
+        }
+        return siteIndex.computePagesAbsRelevance(queryLemmas, frequencyLimit);
+    }
+
+    @Override
+    public int countResponsivePages(SiteEntity site) {
+        SiteInvertedIndex siteIndex = siteIndexes.get(site.getId());
+        return siteIndex == null ? 0 : siteIndex.countResponsivePages();
+    }
+
+    @Override
+    public void addPage(PageIndexingData pageIndexingData) {
+        PageEntity page = pageIndexingData.getPage();
+        Map<String, Float> lemmasWithRank = pageIndexingData.getIndexesByPage().stream()
+                .collect(Collectors.toMap(
+                        index -> index.getLemma().getLemma(),
+                        IndexEntity::getRank,
+                        Float::sum));
+        applyChange(indexes -> indexes.computeIfAbsent(page.getSite().getId(), SiteInvertedIndex::new)
+                .addPage(page.getId(), lemmasWithRank));
+        log.debug("Page {} is added to inverted index", page.getSite().getUrl() + page.getRelativePath());
+    }
+
+    @Override
+    public void removePage(PageEntity page, Collection<String> lemmas) {
+        List<String> removedLemmas = List.copyOf(lemmas);
+        applyChange(indexes -> {
+            SiteInvertedIndex siteIndex = indexes.get(page.getSite().getId());
+            if (siteIndex != null) {
+                siteIndex.removePage(page.getId(), removedLemmas);
+            }
+        });
+        log.debug("Page {} is removed from inverted index", page.getSite().getUrl() + page.getRelativePath());
+    }
+
+    @Override
+    public void removeSite(SiteEntity site) {
+        applyChange(indexes -> indexes.remove(site.getId()));
+        log.info("Inverted index for site {} is removed", site.getUrl());
+    }
+
+    @Override
+    public synchronized void clear() {
+        changesDuringLoading = null;
+        siteIndexes.clear();
+        isReady = true;
+        log.info("Inverted index is cleared");
+    }
+
+    private void applyChange(Consumer<Map<Integer, SiteInvertedIndex>> change) {
+        if (isReady) {
+            change.accept(siteIndexes);
+            return;
+        }
+        synchronized (this) {
+            if (isReady) {
+                change.accept(siteIndexes);
+            } else if (changesDuringLoading != null) {
+                changesDuringLoading.add(change);
+            }
+        }
+    }
+
+}
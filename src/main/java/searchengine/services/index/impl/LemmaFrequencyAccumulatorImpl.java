@@ -0,0 +1,186 @@
+package searchengine.services.index.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import searchengine.config.IndexingConfig;
+import searchengine.model.LemmaEntity;
+import searchengine.model.SiteEntity;
+import searchengine.repository.LemmaBatchRepository;
+import searchengine.repository.LemmaRepository;
+import searchengine.services.index.LemmaFrequencyAccumulator;
+import searchengine.util.LemmaKeyGenerator;
+import searchengine.util.LockGenerator;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class LemmaFrequencyAccumulatorImpl implements LemmaFrequencyAccumulator {
+
+    private final IndexingConfig indexingConfig;
+    private final LemmaRepository lemmaRepository;
+    private final LemmaBatchRepository lemmaBatchRepository;
+
+    private final Map<Integer, SiteLemmaDictionary> dictionariesBySite = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, LemmaEntity> addPageLemmas(SiteEntity site, Collection<String> lemmas) {
+        return replacePageLemmas(site, Collections.emptySet(), lemmas);
+    }
+
+    @Override
+    public Map<String, LemmaEntity> replacePageLemmas(SiteEntity site,
+                                                      Collection<String> previousLemmas,
+                                                      Collection<String> lemmas) {
+        SiteLemmaDictionary dictionary =
+                dictionariesBySite.computeIfAbsent(site.getId(), siteId -> new SiteLemmaDictionary());
+        registerAbsentLemmas(site, dictionary, lemmas);
+        Map<String, String> previousLemmasByKey = new HashMap<>();
+        previousLemmas.forEach(
+                lemma -> previousLemmasByKey.putIfAbsent(LemmaKeyGenerator.getLemmaKey(lemma), lemma));
+        Set<String> countedLemmaKeys = new HashSet<>();
+        Map<String, LemmaEntity> lemmaEntities = new HashMap<>();
+        for (String lemma : lemmas) {
+            String lemmaKey = LemmaKeyGenerator.getLemmaKey(lemma);
+            LemmaCounter lemmaCounter = dictionary.countersByLemma.get(lemmaKey);
+            if (lemmaCounter == null) {
+                log.warn("Lemma '{}' is not registered for site {}", lemma, site.getUrl());
+                continue;
+            }
+            if (countedLemmaKeys.add(lemmaKey) && previousLemmasByKey.remove(lemmaKey) == null) {
+                lemmaCounter.pendingFrequency.increment();
+                dictionary.pendingIncrements.increment();
+            }
+            lemmaEntities.put(lemma, lemmaCounter.lemmaEntity);
+        }
+        decreaseRemovedLemmasFrequency(site, dictionary, previousLemmasByKey.values());
+        if (dictionary.pendingIncrements.sum() >= indexingConfig.getLemmaFlushThreshold()) {
+            flush(site);
+        }
+        return lemmaEntities;
+    }
+
+    @Override
+    public void flush(SiteEntity site) {
+        SiteLemmaDictionary dictionary = dictionariesBySite.get(site.getId());
+        if (dictionary == null) {
+            return;
+        }
+        LockGenerator.lockSiteIndexWriteLock(site.getId());
+        try {
+            flushDictionary(site, dictionary);
+        } finally {
+            LockGenerator.unlockSiteIndexWriteLock(site.getId());
+        }
+    }
+
+    @Override
+    public void forgetSite(SiteEntity site) {
+        SiteLemmaDictionary dictionary = dictionariesBySite.remove(site.getId());
+        if (dictionary != null && dictionary.pendingIncrements.sum() > 0) {
+            log.warn("Lemma dictionary for site {} is dropped with {} not flushed frequency increments",
+                    site.getUrl(), dictionary.pendingIncrements.sum());
+        }
+    }
+
+    @Override
+    public void clear() {
+        dictionariesBySite.clear();
+        log.info("Lemma dictionaries are cleared");
+    }
+
+    @Override
+    public long countPendingIncrements(SiteEntity site) {
+        SiteLemmaDictionary dictionary = dictionariesBySite.get(site.getId());
+        return dictionary == null ? 0 : dictionary.pendingIncrements.sum();
+    }
+
+    private void registerAbsentLemmas(SiteEntity site, SiteLemmaDictionary dictionary, Collection<String> lemmas) {
+        if (lemmas.stream().allMatch(
+                lemma -> dictionary.countersByLemma.containsKey(LemmaKeyGenerator.getLemmaKey(lemma)))) {
+            return;
+        }
+        synchronized (dictionary) {
+            Map<String, String> absentLemmasByKey = new LinkedHashMap<>();
+            for (String lemma : lemmas) {
+                String lemmaKey = LemmaKeyGenerator.getLemmaKey(lemma);
+                if (!dictionary.countersByLemma.containsKey(lemmaKey)) {
+                    absentLemmasByKey.putIfAbsent(lemmaKey, lemma);
+                }
+            }
+            if (absentLemmasByKey.isEmpty()) {
+                return;
+            }
+            List<String> absentLemmas = List.copyOf(absentLemmasByKey.values());
+            lemmaBatchRepository.insertIgnore(site.getId(), absentLemmas, indexingConfig.getLemmaFlushBatchSize());
+            lemmaRepository.findBySiteInAndLemmaIn(List.of(site), absentLemmas)
+                    .forEach(lemmaEntity -> dictionary.countersByLemma.putIfAbsent(
+                            LemmaKeyGenerator.getLemmaKey(lemmaEntity.getLemma()), new LemmaCounter(lemmaEntity)));
+            log.debug("{} new lemmas are registered for site {}", absentLemmas.size(), site.getUrl());
+        }
+    }
+
+    private void decreaseRemovedLemmasFrequency(SiteEntity site,
+                                                SiteLemmaDictionary dictionary,
+                                                Collection<String> removedLemmas) {
+        if (removedLemmas.isEmpty()) {
+            return;
+        }
+        registerAbsentLemmas(site, dictionary, removedLemmas);
+        for (String lemma : removedLemmas) {
+            LemmaCounter lemmaCounter = dictionary.countersByLemma.get(LemmaKeyGenerator.getLemmaKey(lemma));
+            if (lemmaCounter != null) {
+                lemmaCounter.pendingFrequency.decrement();
+                dictionary.pendingIncrements.increment();
+            }
+        }
+    }
+
+    private void flushDictionary(SiteEntity site, SiteLemmaDictionary dictionary) {
+        dictionary.pendingIncrements.reset();
+        Map<String, Long> frequencyIncrements = new HashMap<>();
+        dictionary.countersByLemma.values().forEach(lemmaCounter -> {
+            long increment = lemmaCounter.pendingFrequency.sumThenReset();
+            if (increment != 0) {
+                frequencyIncrements.put(lemmaCounter.lemmaEntity.getLemma(), increment);
+            }
+        });
+        if (frequencyIncrements.isEmpty()) {
+            return;
+        }
+        try {
+            lemmaBatchRepository.increaseFrequencies(
+                    site.getId(), frequencyIncrements, indexingConfig.getLemmaFlushBatchSize());
+        } catch (RuntimeException ex) {
+            frequencyIncrements.forEach((lemma, increment) -> {
+                dictionary.countersByLemma.get(LemmaKeyGenerator.getLemmaKey(lemma))
+                        .pendingFrequency.add(increment);
+                dictionary.pendingIncrements.add(Math.abs(increment));
+            });
+            throw ex;
+        }
+        log.info("Lemma frequencies for site {} are flushed to database, lemmas updated : {}",
+                site.getUrl(), frequencyIncrements.size());
+    }
+
+    private static class SiteLemmaDictionary {
+
+        private final Map<String, LemmaCounter> countersByLemma = new ConcurrentHashMap<>();
+        private final LongAdder pendingIncrements = new LongAdder();
+    }
+
+    private static class LemmaCounter {
+
+        private final LemmaEntity lemmaEntity;
+        private final LongAdder pendingFrequency = new LongAdder();
+
+        private LemmaCounter(LemmaEntity lemmaEntity) {
+            this.lemmaEntity = lemmaEntity;
+        }
+    }
+
+}
@@ -7,6 +7,7 @@ import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.select.Elements;
 import searchengine.config.JsoupConfig;
+import searchengine.dto.indexing.PageValidators;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -20,6 +21,11 @@ public class ConnectionInfoExtractor {
     private static final String CSS_QUERY = "a[href]";
     private static final String LINK_ELEMENT_KEY = "href";
     public static final Integer PAGE_CODE_SUCCESS = 200;
+    public static final Integer PAGE_CODE_NOT_MODIFIED = 304;
+    private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+    private static final String ETAG_HEADER = "ETag";
+    private static final String LAST_MODIFIED_HEADER = "Last-Modified";
 
     private static final List<String> ACCEPTABLE_CONTENT_TYPES = List.of(
             "text/plain",
@@ -30,15 +36,33 @@ public class ConnectionInfoExtractor {
             "application/rtf");
 
     public static Connection.Response getResponseFromUrl(String pageUrl, JsoupConfig jsoupConfig) throws Exception {
-        holdTimeoutBeforeParse(pageUrl, jsoupConfig);
         Connection connection = configureConnection(pageUrl, jsoupConfig);
         return connection.execute();
     }
 
-    private static void holdTimeoutBeforeParse(String pageUrl, JsoupConfig jsoupConfig) throws InterruptedException {
-        double pause = Math.random() * jsoupConfig.getPauseBeforeParseMultiplier() + jsoupConfig.getPauseBeforeParseSummand();
-        log.debug("Pause {} before parsing page {}", String.format("%.2f", pause), pageUrl);
-        Thread.sleep((long) pause);
+    public static Connection.Response getResponseFromUrlIfModified(String pageUrl,
+                                                                   JsoupConfig jsoupConfig,
+                                                                   PageValidators previousPage) throws Exception {
+        Connection connection = configureConnection(pageUrl, jsoupConfig);
+        if (StringUtils.isNotEmpty(previousPage.getEtag())) {
+            connection.header(IF_NONE_MATCH_HEADER, previousPage.getEtag());
+        }
+        if (StringUtils.isNotEmpty(previousPage.getLastModified())) {
+            connection.header(IF_MODIFIED_SINCE_HEADER, previousPage.getLastModified());
+        }
+        return connection.execute();
+    }
+
+    public static String getEtag(Connection.Response response) {
+        return response.header(ETAG_HEADER);
+    }
+
+    public static String getLastModified(Connection.Response response) {
+        return response.header(LAST_MODIFIED_HEADER);
+    }
+
+    public static boolean isPageNotModified(Connection.Response response) {
+        return PAGE_CODE_NOT_MODIFIED.equals(response.statusCode());
     }
 
     private static Connection configureConnection(String pageUrl, JsoupConfig jsoupConfig) {
@@ -63,16 +87,23 @@ public class ConnectionInfoExtractor {
         return pageCode != null && pageCode.equals(PAGE_CODE_SUCCESS);
     }
 
+    public static boolean isResponseParseable(Connection.Response response) {
+        return isPageCodeSuccessful(response.statusCode()) && isResponseContentTypeAcceptable(response);
+    }
+
     public static Set<String> getChildLinksFromResponse(Connection.Response response, String pageUrl)
             throws IOException {
-        if (isPageCodeSuccessful(response.statusCode()) && isResponseContentTypeAcceptable(response)) {
-            Document doc = response.parse();
-            Elements links = doc.select(CSS_QUERY);
-            return links.stream()
-                    .map(linkCode -> linkCode.absUrl(LINK_ELEMENT_KEY))
-                    .filter(link -> UrlFormatter.isGoodLink(pageUrl, link))
-                    .collect(Collectors.toSet());
+        if (isResponseParseable(response)) {
+            return getChildLinksFromDocument(response.parse(), pageUrl);
         }
         return Collections.emptySet();
     }
+
+    public static Set<String> getChildLinksFromDocument(Document doc, String pageUrl) {
+        Elements links = doc.select(CSS_QUERY);
+        return links.stream()
+                .map(linkCode -> linkCode.absUrl(LINK_ELEMENT_KEY))
+                .filter(link -> UrlFormatter.isGoodLink(pageUrl, link))
+                .collect(Collectors.toSet());
+    }
 }
@@ -0,0 +1,62 @@
+package searchengine.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class ContentCompressor {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int MIN_OUTPUT_CAPACITY = 64;
+    private static final int EXPECTED_COMPRESSION_RATIO = 4;
+
+    public static byte[] compress(String content, byte[] dictionary) {
+        byte[] input = content.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output =
+                    new ByteArrayOutputStream(Math.max(MIN_OUTPUT_CAPACITY, input.length / EXPECTED_COMPRESSION_RATIO));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decompress(byte[] compressedContent, byte[] dictionary) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressedContent);
+            ByteArrayOutputStream output =
+                    new ByteArrayOutputStream(compressedContent.length * EXPECTED_COMPRESSION_RATIO);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int inflatedCount = inflater.inflate(buffer);
+                if (inflatedCount == 0 && inflater.needsDictionary()) {
+                    if (dictionary == null) {
+                        throw new IllegalArgumentException("Compressed content requires dictionary");
+                    }
+                    inflater.setDictionary(dictionary);
+                } else if (inflatedCount == 0 && inflater.needsInput() && !inflater.finished()) {
+                    throw new IllegalArgumentException("Compressed content is truncated");
+                }
+                output.write(buffer, 0, inflatedCount);
+            }
+            return output.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException ex) {
+            throw new IllegalArgumentException("Compressed content is corrupted", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
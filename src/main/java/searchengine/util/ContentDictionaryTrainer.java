@@ -0,0 +1,75 @@
+package searchengine.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ContentDictionaryTrainer {
+
+    private static final int MIN_FRAGMENT_LENGTH = 8;
+    private static final int MIN_SAMPLES_WITH_FRAGMENT = 2;
+    private static final char FRAGMENT_END = '>';
+
+    public static byte[] train(List<String> samples, int maxDictionarySize) {
+        Map<String, FragmentStatistics> fragmentStatistics = new HashMap<>();
+        for (int sampleNumber = 0; sampleNumber < samples.size(); sampleNumber++) {
+            String sample = samples.get(sampleNumber);
+            int fragmentStart = 0;
+            while (fragmentStart < sample.length()) {
+                int fragmentEnd = sample.indexOf(FRAGMENT_END, fragmentStart);
+                fragmentEnd = fragmentEnd == -1 ? sample.length() : fragmentEnd + 1;
+                if (fragmentEnd - fragmentStart >= MIN_FRAGMENT_LENGTH) {
+                    fragmentStatistics
+                            .computeIfAbsent(sample.substring(fragmentStart, fragmentEnd), FragmentStatistics::new)
+                            .countSample(sampleNumber);
+                }
+                fragmentStart = fragmentEnd;
+            }
+        }
+        int minSamplesWithFragment = Math.min(MIN_SAMPLES_WITH_FRAGMENT, samples.size());
+        List<FragmentStatistics> usefulFragments = fragmentStatistics.values().stream()
+                .filter(fragment -> fragment.samplesCount >= minSamplesWithFragment)
+                .sorted(Comparator.comparingLong(FragmentStatistics::getScore).reversed())
+                .toList();
+        List<byte[]> selectedFragments = new ArrayList<>();
+        int dictionarySize = 0;
+        for (FragmentStatistics fragment : usefulFragments) {
+            byte[] fragmentBytes = fragment.fragment.getBytes(StandardCharsets.UTF_8);
+            if (dictionarySize + fragmentBytes.length <= maxDictionarySize) {
+                selectedFragments.add(fragmentBytes);
+                dictionarySize += fragmentBytes.length;
+            }
+        }
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream(dictionarySize);
+        for (int i = selectedFragments.size() - 1; i >= 0; i--) {
+            dictionary.writeBytes(selectedFragments.get(i));
+        }
+        return dictionary.toByteArray();
+    }
+
+    private static class FragmentStatistics {
+
+        private final String fragment;
+        private int samplesCount;
+        private int lastSampleNumber = -1;
+
+        private FragmentStatistics(String fragment) {
+            this.fragment = fragment;
+        }
+
+        private void countSample(int sampleNumber) {
+            if (lastSampleNumber != sampleNumber) {
+                samplesCount++;
+                lastSampleNumber = sampleNumber;
+            }
+        }
+
+        private long getScore() {
+            return (long) samplesCount * fragment.length();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package searchengine.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class ContentHashCalculator {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    public static String computeHash(String content) {
+        if (content == null || content.isEmpty()) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Hash algorithm " + HASH_ALGORITHM + " is not available", ex);
+        }
+    }
+}
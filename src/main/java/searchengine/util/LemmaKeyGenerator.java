@@ -0,0 +1,10 @@
+package searchengine.util;
+
+import java.util.Locale;
+
+public class LemmaKeyGenerator {
+
+    public static String getLemmaKey(String lemma) {
+        return lemma.toLowerCase(Locale.ROOT).replace('ё', 'е');
+    }
+}
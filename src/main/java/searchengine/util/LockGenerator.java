@@ -1,33 +1,20 @@
 package searchengine.util;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class LockGenerator {
-    public static final ReentrantReadWriteLock PAGE_PARSE_LOCK = new ReentrantReadWriteLock();
     public static final ReentrantReadWriteLock SITE_PARSE_LOCK = new ReentrantReadWriteLock();
+    private static final Map<Integer, ReentrantLock> SITE_INDEX_WRITE_LOCKS = new ConcurrentHashMap<>();
 
-
-    public static void lockPageParseWriteLock() {
-        PAGE_PARSE_LOCK.writeLock().lock();
-    }
-
-    public static void unlockPageParseWriteLock() {
-        PAGE_PARSE_LOCK.writeLock().unlock();
-        try {
-            while (PAGE_PARSE_LOCK.isWriteLockedByCurrentThread()) {
-                Thread.sleep((long) (Math.random() * 1000));
-            }
-        } catch (InterruptedException e) {
-            // ignore exception
-        }
-    }
-
-    public static void lockPageParseReadLock() {
-        PAGE_PARSE_LOCK.readLock().lock();
+    public static void lockSiteIndexWriteLock(int siteId) {
+        SITE_INDEX_WRITE_LOCKS.computeIfAbsent(siteId, id -> new ReentrantLock()).lock();
     }
 
-    public static void unlockPageParseReadLock() {
-        PAGE_PARSE_LOCK.readLock().unlock();
+    public static void unlockSiteIndexWriteLock(int siteId) {
+        SITE_INDEX_WRITE_LOCKS.get(siteId).unlock();
     }
 
     public static void lockSiteParseWriteLock() {
@@ -0,0 +1,103 @@
+package searchengine.util;
+
+public class RussianWordTokenizer {
+
+    private static final int MIN_WORD_LENGTH = 2;
+    private static final int MIN_STANDALONE_CONSONANTS_COUNT = 2;
+    private static final char FIRST_LOWCASE_RUSSIAN_LETTER = 'а';
+    private static final char LAST_LOWCASE_RUSSIAN_LETTER = 'я';
+    private static final String REPEATABLE_CONSONANTS = "бвгджзклмнпрстхцчшщъыь";
+    private static final boolean[] IS_REPEATABLE_CONSONANT =
+            new boolean[LAST_LOWCASE_RUSSIAN_LETTER - FIRST_LOWCASE_RUSSIAN_LETTER + 1];
+
+    static {
+        for (char consonant : REPEATABLE_CONSONANTS.toCharArray()) {
+            IS_REPEATABLE_CONSONANT[consonant - FIRST_LOWCASE_RUSSIAN_LETTER] = true;
+        }
+    }
+
+    private final String text;
+    private char[] wordBuffer = new char[32];
+    private int position;
+    private String word;
+    private int wordStart;
+    private int wordEnd;
+
+    public RussianWordTokenizer(String text) {
+        this.text = text;
+    }
+
+    public static boolean isRussianWord(String word) {
+        if (word.length() < MIN_WORD_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (!isLowcaseRussianLetter(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean next() {
+        int textLength = text.length();
+        while (position < textLength) {
+            while (position < textLength && !isLowcaseRussianLetter(Character.toLowerCase(text.charAt(position)))) {
+                position++;
+            }
+            int tokenStart = position;
+            while (position < textLength && isLowcaseRussianLetter(Character.toLowerCase(text.charAt(position)))) {
+                position++;
+            }
+            int tokenEnd = position < textLength ? cutStandaloneConsonants(tokenStart, position) : position;
+            if (tokenEnd - tokenStart >= MIN_WORD_LENGTH) {
+                setCurrentWord(tokenStart, tokenEnd);
+                return true;
+            }
+        }
+        word = null;
+        return false;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public int getWordStart() {
+        return wordStart;
+    }
+
+    public int getWordEnd() {
+        return wordEnd;
+    }
+
+    private int cutStandaloneConsonants(int tokenStart, int tokenEnd) {
+        char lastLetter = Character.toLowerCase(text.charAt(tokenEnd - 1));
+        if (!IS_REPEATABLE_CONSONANT[lastLetter - FIRST_LOWCASE_RUSSIAN_LETTER]) {
+            return tokenEnd;
+        }
+        int runStart = tokenEnd - 1;
+        while (runStart > tokenStart && Character.toLowerCase(text.charAt(runStart - 1)) == lastLetter) {
+            runStart--;
+        }
+        return tokenEnd - runStart >= MIN_STANDALONE_CONSONANTS_COUNT ? runStart : tokenEnd;
+    }
+
+    private void setCurrentWord(int tokenStart, int tokenEnd) {
+        int wordLength = tokenEnd - tokenStart;
+        if (wordBuffer.length < wordLength) {
+            wordBuffer = new char[Math.max(wordLength, wordBuffer.length * 2)];
+        }
+        for (int i = 0; i < wordLength; i++) {
+            wordBuffer[i] = Character.toLowerCase(text.charAt(tokenStart + i));
+        }
+        word = new String(wordBuffer, 0, wordLength);
+        wordStart = tokenStart;
+        wordEnd = tokenEnd;
+    }
+
+    private static boolean isLowcaseRussianLetter(char letter) {
+        return letter >= FIRST_LOWCASE_RUSSIAN_LETTER && letter <= LAST_LOWCASE_RUSSIAN_LETTER;
+    }
+
+}
@@ -27,11 +27,17 @@ public class SearchResponseGenerator {
         return SITE_IS_NOT_INDEXED_RESPONSE;
     }
 
-    public static SearchResponse getAllGoodResponse(List<SearchData> searchDataList, Integer totalDataCount, String query) {
+    public static SearchResponse getAllGoodResponse(List<SearchData> searchDataList,
+                                                    Integer totalDataCount,
+                                                    String query,
+                                                    boolean isPartial) {
+        if (isPartial) {
+            log.warn("Search results for query '{}' are partial, some sites did not respond in time", query);
+        }
         if (searchDataList == null || searchDataList.isEmpty()) {
-            return SearchResponse.buildSearchResponseWithoutData(query);
+            return SearchResponse.buildSearchResponseWithoutData(query, isPartial);
         }
-        return SearchResponse.buildSearchResponseWithData(searchDataList, totalDataCount);
+        return SearchResponse.buildSearchResponseWithData(searchDataList, totalDataCount, isPartial);
     }
 
 }
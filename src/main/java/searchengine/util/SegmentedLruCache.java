@@ -0,0 +1,63 @@
+package searchengine.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SegmentedLruCache<K, V> {
+
+    private final int segmentCapacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile Map<K, V> recentSegment = new ConcurrentHashMap<>();
+    private volatile Map<K, V> previousSegment = new ConcurrentHashMap<>();
+
+    public SegmentedLruCache(int capacity) {
+        this.segmentCapacity = Math.max(capacity / 2, 1);
+    }
+
+    public V get(K key) {
+        V value = recentSegment.get(key);
+        if (value == null) {
+            value = previousSegment.get(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        Map<K, V> segment = recentSegment;
+        segment.put(key, value);
+        if (segment.size() >= segmentCapacity) {
+            rotateSegments(segment);
+        }
+    }
+
+    public int size() {
+        return recentSegment.size() + previousSegment.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private synchronized void rotateSegments(Map<K, V> fullSegment) {
+        if (recentSegment != fullSegment) {
+            return;
+        }
+        previousSegment = fullSegment;
+        recentSegment = new ConcurrentHashMap<>();
+    }
+
+}
@@ -47,6 +47,10 @@ public class UrlFormatter {
         return URL_IS_FILE.stream().anyMatch(fileLinkPart -> StringUtils.containsIgnoreCase(link, fileLinkPart));
     }
 
+    public static String normalizeRelativePath(String relativePath) {
+        return isHomePageRelativePath(relativePath) ? relativePath : removeEscapeEnd(relativePath);
+    }
+
     public static boolean isHomePageRelativePath(String relativePath) {
         return StringUtils.equals(relativePath, SITE_HOME_PAGE_RELATIVE_PATH);
     }
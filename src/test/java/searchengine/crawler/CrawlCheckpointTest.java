@@ -0,0 +1,43 @@
+package searchengine.crawler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CrawlCheckpointTest {
+
+    @Test
+    @DisplayName("Read the same checkpoint that was written")
+    public void testWriteAndRead() throws IOException {
+        Map<String, Integer> unsavedUrlDepths = new LinkedHashMap<>();
+        unsavedUrlDepths.put("https://test-site-url/страница", 1);
+        unsavedUrlDepths.put("https://test-site-url/page/child", 2);
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint(7, "https://test-site-url",
+                Instant.ofEpochMilli(1_700_000_000_000L), 15, unsavedUrlDepths, new long[]{1L, -5L, 42L});
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        checkpoint.writeTo(outputStream);
+
+        CrawlCheckpoint readCheckpoint = CrawlCheckpoint.readFrom(new ByteArrayInputStream(outputStream.toByteArray()));
+        assertEquals(7, readCheckpoint.getSiteId());
+        assertEquals("https://test-site-url", readCheckpoint.getSiteUrl());
+        assertEquals(checkpoint.getCreatedAt(), readCheckpoint.getCreatedAt());
+        assertEquals(15, readCheckpoint.getAcceptedUrlsCount());
+        assertEquals(unsavedUrlDepths, readCheckpoint.getUnsavedUrlDepths());
+        assertArrayEquals(new long[]{1L, -5L, 42L}, readCheckpoint.getVisitedUrlHashes());
+    }
+
+    @Test
+    @DisplayName("Reject stream that does not contain checkpoint")
+    public void testReadInvalidStream() {
+        byte[] invalidBytes = {0, 1, 2, 3, 4, 5, 6, 7};
+        assertThrows(IOException.class, () -> CrawlCheckpoint.readFrom(new ByteArrayInputStream(invalidBytes)));
+    }
+}
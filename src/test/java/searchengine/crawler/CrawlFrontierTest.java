@@ -0,0 +1,126 @@
+package searchengine.crawler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import searchengine.config.JsoupConfig;
+import searchengine.services.crawl.HostPolitenessScheduler;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CrawlFrontierTest {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(10);
+
+    private final HostPolitenessScheduler politenessScheduler = createSchedulerWithoutDelay();
+
+    private static HostPolitenessScheduler createSchedulerWithoutDelay() {
+        JsoupConfig jsoupConfig = new JsoupConfig();
+        jsoupConfig.setHostMinDelay(Duration.ZERO);
+        jsoupConfig.setHostMaxJitter(Duration.ZERO);
+        return new HostPolitenessScheduler(jsoupConfig);
+    }
+
+    @Test
+    @DisplayName("Accept every url only once")
+    public void testOfferSkipsVisitedUrls() {
+        CrawlFrontier frontier = new CrawlFrontier(10, 100, politenessScheduler);
+        assertTrue(frontier.offer("https://test-site-url/page", 0));
+        assertFalse(frontier.offer("https://test-site-url/page/", 1));
+        assertFalse(frontier.offer("https://TEST-site-url/Page", 1));
+        assertEquals(1, frontier.countAcceptedUrls());
+    }
+
+    @Test
+    @DisplayName("Do not accept urls deeper than depth limit or above pages limit")
+    public void testOfferRespectsLimits() {
+        CrawlFrontier frontier = new CrawlFrontier(1, 2, politenessScheduler);
+        assertTrue(frontier.offer("https://test-site-url", 0));
+        assertFalse(frontier.offer("https://test-site-url/deep", 2));
+        assertTrue(frontier.offer("https://test-site-url/first", 1));
+        assertFalse(frontier.offer("https://test-site-url/second", 1));
+        assertEquals(2, frontier.countAcceptedUrls());
+    }
+
+    @Test
+    @DisplayName("Finish crawling when all accepted urls are completed")
+    public void testIsFinishedAfterAllUrlsCompleted() throws InterruptedException {
+        CrawlFrontier frontier = new CrawlFrontier(10, 100, politenessScheduler);
+        frontier.offer("https://test-site-url", 0);
+        FrontierUrl homePage = frontier.poll(POLL_TIMEOUT);
+        assertEquals("https://test-site-url", homePage.getUrl());
+        frontier.offer("https://test-site-url/child", homePage.getDepth() + 1);
+        frontier.complete(homePage);
+        assertFalse(frontier.isFinished());
+        FrontierUrl childPage = frontier.poll(POLL_TIMEOUT);
+        assertEquals(1, childPage.getDepth());
+        frontier.complete(childPage);
+        assertTrue(frontier.isFinished());
+        assertNull(frontier.poll(POLL_TIMEOUT));
+    }
+
+    @Test
+    @DisplayName("Do not accept urls marked as visited")
+    public void testMarkVisited() {
+        CrawlFrontier frontier = new CrawlFrontier(10, 100, politenessScheduler);
+        assertTrue(frontier.markVisited("https://test-site-url/saved-page"));
+        assertFalse(frontier.offer("https://test-site-url/saved-page/", 1));
+        assertTrue(frontier.offer("https://test-site-url/new-page", 1));
+        assertEquals(1, frontier.countAcceptedUrls());
+        assertEquals(2, frontier.countVisitedUrls());
+    }
+
+    @Test
+    @DisplayName("Resume crawling of unsaved urls from checkpoint")
+    public void testRestoreFromCheckpoint() throws InterruptedException {
+        CrawlFrontier frontier = new CrawlFrontier(10, 100, politenessScheduler);
+        frontier.offer("https://test-site-url", 0);
+        FrontierUrl homePage = frontier.poll(POLL_TIMEOUT);
+        frontier.offer("https://test-site-url/child", 1);
+        frontier.complete(homePage);
+        frontier.markSaved(homePage);
+        frontier.cancel();
+        CrawlCheckpoint checkpoint = frontier.createCheckpoint(1, "https://test-site-url");
+        assertEquals(Map.of("https://test-site-url/child", 1), checkpoint.getUnsavedUrlDepths());
+
+        CrawlFrontier restoredFrontier = new CrawlFrontier(10, 100, politenessScheduler);
+        restoredFrontier.restore(checkpoint);
+        assertEquals(2, restoredFrontier.countAcceptedUrls());
+        assertFalse(restoredFrontier.offer("https://test-site-url/", 1));
+        FrontierUrl childPage = restoredFrontier.poll(POLL_TIMEOUT);
+        assertEquals("https://test-site-url/child", childPage.getUrl());
+        assertEquals(1, childPage.getDepth());
+        restoredFrontier.complete(childPage);
+        assertTrue(restoredFrontier.isFinished());
+    }
+
+    @Test
+    @DisplayName("Reserve host dispatch slot only when url is polled")
+    public void testOfferDoesNotReserveDispatchSlots() {
+        JsoupConfig jsoupConfig = new JsoupConfig();
+        jsoupConfig.setHostMinDelay(Duration.ofSeconds(2));
+        jsoupConfig.setHostMaxJitter(Duration.ZERO);
+        HostPolitenessScheduler delayingScheduler = new HostPolitenessScheduler(jsoupConfig);
+        CrawlFrontier frontier = new CrawlFrontier(10, 100, delayingScheduler);
+        for (int i = 0; i < 50; i++) {
+            frontier.offer("https://test-site-url/page-" + i, 1);
+        }
+        long before = System.nanoTime();
+        long dispatchNanos = delayingScheduler.reserveDispatchNanos("https://test-site-url/other");
+        assertTrue(dispatchNanos - before < Duration.ofSeconds(2).toNanos());
+        assertEquals(50, frontier.countPendingUrls());
+    }
+
+    @Test
+    @DisplayName("Drop pending urls when crawling is cancelled")
+    public void testCancel() throws InterruptedException {
+        CrawlFrontier frontier = new CrawlFrontier(10, 100, politenessScheduler);
+        frontier.offer("https://test-site-url", 0);
+        frontier.cancel();
+        assertTrue(frontier.isFinished());
+        assertNull(frontier.poll(POLL_TIMEOUT));
+        assertFalse(frontier.offer("https://test-site-url/child", 1));
+    }
+}
@@ -0,0 +1,88 @@
+package searchengine.crawler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelineStageTest {
+
+    @Test
+    @DisplayName("Process every submitted item before finishing")
+    public void testFinishDrainsQueue() throws InterruptedException {
+        Set<Integer> processedItems = ConcurrentHashMap.newKeySet();
+        PipelineStage<Integer> stage = new PipelineStage<>("test", 4, 2, processedItems::add);
+        stage.start();
+        for (int i = 0; i < 100; i++) {
+            stage.submit(i);
+        }
+        stage.finish();
+        assertEquals(100, processedItems.size());
+        assertEquals(100, stage.countProcessed());
+        assertEquals(0, stage.countQueued());
+    }
+
+    @Test
+    @DisplayName("Count failed items and keep processing after handler exception")
+    public void testHandlerExceptionDoesNotStopStage() throws InterruptedException {
+        Set<Integer> processedItems = ConcurrentHashMap.newKeySet();
+        PipelineStage<Integer> stage = new PipelineStage<>("test", 4, 1, item -> {
+            if (item % 2 == 0) {
+                throw new IllegalStateException("even item " + item);
+            }
+            processedItems.add(item);
+        });
+        stage.start();
+        for (int i = 0; i < 10; i++) {
+            stage.submit(i);
+        }
+        stage.finish();
+        assertEquals(Set.of(1, 3, 5, 7, 9), processedItems);
+        assertEquals(5, stage.countProcessed());
+        assertEquals(5, stage.countFailed());
+    }
+
+    @Test
+    @DisplayName("Pass items from one stage to the next one")
+    public void testChainedStages() throws InterruptedException {
+        List<String> results = new CopyOnWriteArrayList<>();
+        PipelineStage<String> lastStage = new PipelineStage<>("last", 2, 1, results::add);
+        PipelineStage<Integer> firstStage = new PipelineStage<>("first", 2, 2,
+                item -> lastStage.submit("item-" + item));
+        lastStage.start();
+        firstStage.start();
+        for (int i = 0; i < 20; i++) {
+            firstStage.submit(i);
+        }
+        firstStage.finish();
+        lastStage.finish();
+        assertEquals(20, results.size());
+        assertTrue(results.contains("item-19"));
+    }
+
+    @Test
+    @DisplayName("Drop queued items when stage is aborted")
+    public void testAbort() throws InterruptedException {
+        CountDownLatch handlerStarted = new CountDownLatch(1);
+        CountDownLatch handlerReleased = new CountDownLatch(1);
+        PipelineStage<Integer> stage = new PipelineStage<>("test", 4, 1, item -> {
+            handlerStarted.countDown();
+            handlerReleased.await();
+        });
+        stage.start();
+        stage.submit(1);
+        assertTrue(handlerStarted.await(5, TimeUnit.SECONDS));
+        stage.submit(2);
+        stage.submit(3);
+        stage.abort();
+        assertEquals(0, stage.countQueued());
+        assertEquals(0, stage.countProcessed());
+    }
+}
@@ -0,0 +1,47 @@
+package searchengine.crawler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VisitedUrlSetTest {
+
+    @Test
+    @DisplayName("Treat urls differing only by scheme and host case or escape end as the same url")
+    public void testAddNormalizesUrl() {
+        VisitedUrlSet visitedUrls = new VisitedUrlSet(10);
+        assertTrue(visitedUrls.add("https://test-site-url/page"));
+        assertFalse(visitedUrls.add("https://test-site-url/page/"));
+        assertFalse(visitedUrls.add("HTTPS://TEST-site-url/page"));
+        assertTrue(visitedUrls.contains("https://Test-Site-Url/page/"));
+        assertFalse(visitedUrls.contains("https://test-site-url/other-page"));
+        assertEquals(1, visitedUrls.size());
+    }
+
+    @Test
+    @DisplayName("Keep urls differing by path case as different urls")
+    public void testAddKeepsPathCase() {
+        VisitedUrlSet visitedUrls = new VisitedUrlSet(10);
+        assertTrue(visitedUrls.add("https://test-site-url/page"));
+        assertTrue(visitedUrls.add("https://test-site-url/Page"));
+        assertTrue(visitedUrls.add("https://test-site-url?Query"));
+        assertFalse(visitedUrls.contains("https://test-site-url?query"));
+        assertEquals(3, visitedUrls.size());
+    }
+
+    @Test
+    @DisplayName("Keep all urls when set grows beyond expected size")
+    public void testAddBeyondExpectedSize() {
+        VisitedUrlSet visitedUrls = new VisitedUrlSet(4);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(visitedUrls.add("https://test-site-url/page-" + i));
+        }
+        assertEquals(10_000, visitedUrls.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(visitedUrls.contains("https://test-site-url/page-" + i));
+            assertFalse(visitedUrls.add("https://test-site-url/page-" + i + "/"));
+        }
+        assertFalse(visitedUrls.contains("https://test-site-url/page-10000"));
+    }
+}
@@ -0,0 +1,69 @@
+package searchengine.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PagesRelevanceTest {
+
+    private final PagesRelevance pagesRelevance = PagesRelevance.of(
+            Map.of(1, 2f, 2, 8f, 3, 4f, 4, 6f, 5, 1f, 6, 4f),
+            8f);
+
+    @Test
+    @DisplayName("Select top pages sorted by relative relevance")
+    public void testGetTopPagesWithRelativeRelevance() {
+        Map<Integer, Float> topPages = pagesRelevance.getTopPagesWithRelativeRelevance(0, 3);
+        assertEquals(List.of(2, 4, 3), new ArrayList<>(topPages.keySet()));
+        assertEquals(List.of(1f, 0.75f, 0.5f), new ArrayList<>(topPages.values()));
+        assertEquals(6, pagesRelevance.size());
+    }
+
+    @Test
+    @DisplayName("Select top pages with offset")
+    public void testGetTopPagesWithRelativeRelevanceWithOffset() {
+        Map<Integer, Float> topPages = pagesRelevance.getTopPagesWithRelativeRelevance(3, 2);
+        assertEquals(List.of(6, 1), new ArrayList<>(topPages.keySet()));
+        Map<Integer, Float> lastPages = pagesRelevance.getTopPagesWithRelativeRelevance(4, 10);
+        assertEquals(List.of(1, 5), new ArrayList<>(lastPages.keySet()));
+    }
+
+    @Test
+    @DisplayName("Select nothing when offset is out of results")
+    public void testGetTopPagesWithRelativeRelevanceWhenOffsetIsTooBig() {
+        assertTrue(pagesRelevance.getTopPagesWithRelativeRelevance(6, 10).isEmpty());
+        assertTrue(PagesRelevance.empty().getTopPagesWithRelativeRelevance(0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Merge per-site top pages into the same top pages as the whole result set")
+    public void testMergeSitesTopPages() {
+        PagesRelevance firstSite = PagesRelevance.topOf(Map.of(1, 2f, 2, 8f, 3, 4f), 3);
+        PagesRelevance secondSite = PagesRelevance.topOf(Map.of(4, 6f, 5, 1f, 6, 4f), 3);
+        PagesRelevance merged = PagesRelevance.merge(List.of(firstSite, secondSite), 3, false);
+        assertEquals(6, merged.size());
+        assertEquals(3, merged.getStoredPagesCount());
+        assertEquals(pagesRelevance.getTopPagesWithRelativeRelevance(0, 3),
+                merged.getTopPagesWithRelativeRelevance(0, 3));
+        assertEquals(pagesRelevance.getTopPagesWithRelativeRelevance(1, 2),
+                merged.getTopPagesWithRelativeRelevance(1, 2));
+    }
+
+    @Test
+    @DisplayName("Check whether stored top pages cover requested page of results")
+    public void testCanSelectTopPages() {
+        PagesRelevance topPages = PagesRelevance.topOf(Map.of(1, 2f, 2, 8f, 3, 4f, 4, 6f), 2);
+        assertTrue(topPages.canSelectTopPages(0, 2));
+        assertTrue(topPages.canSelectTopPages(1, 1));
+        assertFalse(topPages.canSelectTopPages(2, 2));
+        assertTrue(pagesRelevance.canSelectTopPages(4, 10));
+        assertTrue(PagesRelevance.merge(List.of(), 10, true).isPartial());
+    }
+}
@@ -0,0 +1,43 @@
+package searchengine.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionListTest {
+
+    @Test
+    @DisplayName("Decode the same positions that were encoded")
+    public void testEncodeAndDecode() {
+        PositionList positionList = new PositionList();
+        positionList.add(0);
+        positionList.add(3);
+        positionList.add(150);
+        positionList.add(100_000);
+        positionList.add(100_001);
+        PositionList decodedPositions = PositionList.decode(positionList.encode());
+        assertEquals(5, decodedPositions.size());
+        assertEquals(0, decodedPositions.get(0));
+        assertEquals(150, decodedPositions.get(2));
+        assertEquals(100_001, decodedPositions.get(4));
+    }
+
+    @Test
+    @DisplayName("Encode close positions in one byte each")
+    public void testEncodedSize() {
+        PositionList positionList = new PositionList();
+        for (int i = 0; i < 100; i++) {
+            positionList.add(i * 5);
+        }
+        assertEquals(1 + 100, positionList.encode().length);
+    }
+
+    @Test
+    @DisplayName("Reject positions out of ascending order")
+    public void testAddOutOfOrder() {
+        PositionList positionList = new PositionList();
+        positionList.add(10);
+        assertThrows(IllegalArgumentException.class, () -> positionList.add(10));
+    }
+}
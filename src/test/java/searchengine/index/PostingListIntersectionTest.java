@@ -0,0 +1,53 @@
+package searchengine.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PostingListIntersectionTest {
+
+    @Test
+    @DisplayName("Intersect posting lists of similar size by linear merge")
+    public void testIntersectByLinearMerge() {
+        PostingList rarestPostings = createPostingList(new int[]{2, 5, 9, 12});
+        PostingList postings = createPostingList(new int[]{1, 2, 3, 9, 12, 15});
+        PostingListIntersection intersection = PostingListIntersection.intersect(List.of(rarestPostings, postings));
+        assertEquals(Map.of(2, 2f, 9, 2f, 12, 2f), intersection.toPagesWithAbsRelevance());
+    }
+
+    @Test
+    @DisplayName("Intersect short posting list with much longer one by galloping")
+    public void testIntersectByGalloping() {
+        int[] pageIds = new int[1000];
+        for (int i = 0; i < pageIds.length; i++) {
+            pageIds[i] = i * 2;
+        }
+        PostingList rarestPostings = createPostingList(new int[]{0, 7, 500, 1998, 2001});
+        PostingList postings = createPostingList(pageIds);
+        PostingListIntersection intersection = PostingListIntersection.intersect(List.of(rarestPostings, postings));
+        assertEquals(Map.of(0, 2f, 500, 2f, 1998, 2f), intersection.toPagesWithAbsRelevance());
+    }
+
+    @Test
+    @DisplayName("Stop intersecting when no pages remain")
+    public void testIntersectWithoutCommonPages() {
+        PostingList rarestPostings = createPostingList(new int[]{1, 3});
+        PostingList postings = createPostingList(new int[]{2, 4});
+        PostingList anotherPostings = createPostingList(new int[]{1, 3, 5});
+        PostingListIntersection intersection =
+                PostingListIntersection.intersect(List.of(rarestPostings, postings, anotherPostings));
+        assertEquals(0, intersection.size());
+    }
+
+    private PostingList createPostingList(int[] pageIds) {
+        PostingList postingList = new PostingList();
+        for (int pageId : pageIds) {
+            postingList.add(pageId, 1f);
+        }
+        return postingList;
+    }
+}
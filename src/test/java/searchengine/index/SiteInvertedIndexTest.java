@@ -0,0 +1,68 @@
+package searchengine.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SiteInvertedIndexTest {
+
+    @Test
+    @DisplayName("Compute abs relevance for pages containing all query lemmas")
+    public void testComputePagesAbsRelevance() {
+        SiteInvertedIndex siteIndex = new SiteInvertedIndex(1);
+        siteIndex.addPage(3, Map.of("лошадь", 2f, "дикий", 1f));
+        siteIndex.addPage(1, Map.of("лошадь", 1f));
+        siteIndex.addPage(2, Map.of("лошадь", 4f, "дикий", 3f, "табун", 1f));
+        Map<Integer, Float> pagesWithAbsRelevance =
+                siteIndex.computePagesAbsRelevance(Set.of("лошадь", "дикий"), 10);
+        assertEquals(Map.of(2, 7f, 3, 3f), pagesWithAbsRelevance);
+    }
+
+    @Test
+    @DisplayName("Skip lemmas which are absent on site or too frequent")
+    public void testComputePagesAbsRelevanceSkipsAbsentAndFrequentLemmas() {
+        SiteInvertedIndex siteIndex = new SiteInvertedIndex(1);
+        siteIndex.addPage(1, Map.of("лошадь", 1f, "дикий", 1f));
+        siteIndex.addPage(2, Map.of("лошадь", 1f));
+        siteIndex.addPage(3, Map.of("лошадь", 1f));
+        Map<Integer, Float> pagesWithAbsRelevance =
+                siteIndex.computePagesAbsRelevance(Set.of("лошадь", "дикий", "табун"), 2);
+        assertEquals(Map.of(1, 1f), pagesWithAbsRelevance);
+    }
+
+    @Test
+    @DisplayName("Remove page from inverted index")
+    public void testRemovePage() {
+        SiteInvertedIndex siteIndex = new SiteInvertedIndex(1);
+        siteIndex.addPage(1, Map.of("лошадь", 1f, "дикий", 1f));
+        siteIndex.addPage(2, Map.of("лошадь", 1f));
+        siteIndex.removePage(1, List.of("лошадь", "дикий"));
+        assertEquals(1, siteIndex.countLemmas());
+        assertTrue(siteIndex.computePagesAbsRelevance(Set.of("дикий"), 10).isEmpty());
+        assertEquals(Map.of(2, 1f), siteIndex.computePagesAbsRelevance(Set.of("лошадь"), 10));
+    }
+
+    @Test
+    @DisplayName("Load postings batch and count responsive pages")
+    public void testAddPostings() {
+        SiteInvertedIndex siteIndex = new SiteInvertedIndex(1);
+        PostingBatch postingBatch = new PostingBatch();
+        postingBatch.add("лошадь", 1, 2f);
+        postingBatch.add("дикий", 1, 1f);
+        postingBatch.add("лошадь", 3, 1f);
+        siteIndex.addPostings(List.of(1, 2, 3), postingBatch);
+        assertEquals(3, siteIndex.countResponsivePages());
+        assertEquals(Map.of(1, 3f), siteIndex.computePagesAbsRelevance(Set.of("лошадь", "дикий"), 10));
+        siteIndex.addPage(3, Map.of("лошадь", 4f));
+        siteIndex.addPage(4, Map.of("дикий", 1f));
+        assertEquals(4, siteIndex.countResponsivePages());
+        siteIndex.removePage(1, List.of("лошадь", "дикий"));
+        assertEquals(3, siteIndex.countResponsivePages());
+        assertEquals(Map.of(3, 4f), siteIndex.computePagesAbsRelevance(Set.of("лошадь"), 10));
+    }
+}
@@ -0,0 +1,43 @@
+package searchengine.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordOffsetsTest {
+
+    @Test
+    @DisplayName("Decode the same word offsets that were encoded")
+    public void testEncodeAndDecode() {
+        WordOffsets wordOffsets = new WordOffsets();
+        wordOffsets.add(0, 8);
+        wordOffsets.add(9, 15);
+        wordOffsets.add(1_000, 1_200);
+        wordOffsets.add(70_000, 70_005);
+        WordOffsets decodedOffsets = WordOffsets.decode(wordOffsets.encode());
+        assertEquals(4, decodedOffsets.size());
+        assertEquals(9, decodedOffsets.getStart(1));
+        assertEquals(15, decodedOffsets.getEnd(1));
+        assertEquals(1_000, decodedOffsets.getStart(2));
+        assertEquals(70_005, decodedOffsets.getEnd(3));
+    }
+
+    @Test
+    @DisplayName("Encode small gaps between words in one byte each")
+    public void testEncodedSize() {
+        WordOffsets wordOffsets = new WordOffsets();
+        for (int i = 0; i < 100; i++) {
+            wordOffsets.add(i * 10, i * 10 + 7);
+        }
+        assertEquals(1 + 100 * 2, wordOffsets.encode().length);
+    }
+
+    @Test
+    @DisplayName("Reject words out of text order")
+    public void testAddOutOfOrder() {
+        WordOffsets wordOffsets = new WordOffsets();
+        wordOffsets.add(10, 15);
+        assertThrows(IllegalArgumentException.class, () -> wordOffsets.add(12, 20));
+    }
+}
@@ -0,0 +1,35 @@
+package searchengine.services.actions;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollectLemmasActionTest {
+
+    private final CollectLemmasAction collectLemmasAction = new CollectLemmasAction();
+
+    @Test
+    @DisplayName("Collect lemmas with count and skip particles")
+    public void testCollectLemmasFromCleanedTextWithCount() {
+        Map<String, Integer> lemmas = collectLemmasAction.collectLemmasFromCleanedTextWithCount(
+                "Повторное появление леопарда в Осетии позволяет предположить, что леопард постоянно обитает");
+        assertEquals(2, lemmas.get("леопард"));
+        assertFalse(lemmas.containsKey("в"));
+    }
+
+    @Test
+    @DisplayName("Take repeated word forms from cache")
+    public void testRepeatedWordFormIsTakenFromCache() {
+        String word = "кобылицами";
+        collectLemmasAction.getNormalFormOfWord(word);
+        long hitsBefore = collectLemmasAction.getWordFormsCacheHits();
+        long missesBefore = collectLemmasAction.getWordFormsCacheMisses();
+        assertEquals("кобылица", collectLemmasAction.getNormalFormOfWord(word));
+        assertTrue(collectLemmasAction.isWord(word));
+        assertEquals(hitsBefore + 2, collectLemmasAction.getWordFormsCacheHits());
+        assertEquals(missesBefore, collectLemmasAction.getWordFormsCacheMisses());
+    }
+}
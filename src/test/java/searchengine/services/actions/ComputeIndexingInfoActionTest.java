@@ -0,0 +1,68 @@
+package searchengine.services.actions;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import searchengine.dto.indexing.PageIndexingData;
+import searchengine.index.PageWords;
+import searchengine.index.PositionList;
+import searchengine.model.IndexEntity;
+import searchengine.model.LemmaEntity;
+import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
+import searchengine.services.entity.IndexService;
+import searchengine.services.index.LemmaFrequencyAccumulator;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComputeIndexingInfoActionTest {
+
+    private final LemmaFrequencyAccumulator lemmaFrequencyAccumulator = Mockito.mock(LemmaFrequencyAccumulator.class);
+    private final IndexService indexService = Mockito.mock(IndexService.class);
+    private final ComputeIndexingInfoAction computeIndexingInfoAction =
+            new ComputeIndexingInfoAction(new CollectLemmasAction(), lemmaFrequencyAccumulator);
+
+    @Test
+    @DisplayName("Compute indexing info - spellings with ё and е on one page should give one index")
+    public void testComputeIndexingInfoMergesLemmaSpellings() {
+        SiteEntity site = new SiteEntity();
+        site.setId(1);
+        PageEntity page = new PageEntity();
+        page.setSite(site);
+        LemmaEntity lemmaEntity = new LemmaEntity();
+        lemmaEntity.setId(10);
+        lemmaEntity.setLemma("елка");
+        Map<String, Integer> lemmasWithCount = new LinkedHashMap<>();
+        lemmasWithCount.put("ёлка", 2);
+        lemmasWithCount.put("елка", 3);
+        Mockito.when(lemmaFrequencyAccumulator.replacePageLemmas(site, Collections.emptySet(), Set.of("ёлка")))
+                .thenReturn(Map.of("ёлка", lemmaEntity));
+        Mockito.when(indexService.createIndexForPage(ArgumentMatchers.any(), ArgumentMatchers.any(),
+                        ArgumentMatchers.any()))
+                .thenAnswer(invocation -> new IndexEntity(0, invocation.getArgument(2),
+                        invocation.getArgument(0), invocation.getArgument(1), null));
+        PageWords pageWords = new PageWords();
+        pageWords.addWord("ёлка", 0, 4);
+        pageWords.addWord("дом", 5, 8);
+        pageWords.addWord("елка", 9, 13);
+
+        PageIndexingData pageIndexingData =
+                computeIndexingInfoAction.computeIndexingInfoForPage(indexService, page, lemmasWithCount);
+        computeIndexingInfoAction.attachLemmaPositions(pageIndexingData, pageWords);
+
+        assertEquals(1, pageIndexingData.getLemmasByPage().size());
+        assertEquals(1, pageIndexingData.getIndexesByPage().size());
+        IndexEntity index = pageIndexingData.getIndexesByPage().get(0);
+        assertEquals(5, index.getRank());
+        PositionList positions = PositionList.decode(index.getPositions());
+        assertEquals(2, positions.size());
+        assertEquals(0, positions.get(0));
+        assertEquals(2, positions.get(1));
+    }
+}
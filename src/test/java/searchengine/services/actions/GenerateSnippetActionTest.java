@@ -2,13 +2,23 @@ package searchengine.services.actions;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import searchengine.index.PageWords;
+import searchengine.index.PositionList;
+import searchengine.index.WordOffsets;
 import searchengine.model.PageEntity;
+import searchengine.model.PageTextEntity;
 import searchengine.model.SiteEntity;
+import searchengine.util.RussianWordTokenizer;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GenerateSnippetActionTest {
 
@@ -81,4 +91,96 @@ public class GenerateSnippetActionTest {
         String snippet = getSnippet(pageContent, queryLemmas);
         assertEquals(expected, snippet);
     }
+
+    @Test
+    @DisplayName("Create the same snippet from saved page text without parsing page content")
+    public void testCreateSnippetFromPageText() {
+        String pageContent = """
+                <html><head><title>Лошади</title></head><body>
+                <p>Домашняя лошадь - одомашненный потомок дикой лошади.</p>
+                <p>Используется человеком вплоть до настоящего времени. Наука о лошадях — иппология.</p>
+                <p>В России табун одичавших лошадей обитает в Ростовском заповеднике.</p>
+                </body></html>""";
+        Set<String> queryLemmas = Set.of("лошадь", "дикий");
+        String cleanedText = collectLemmasAction.cleanText(pageContent);
+        PageWords pageWords = new PageWords();
+        collectLemmasAction.collectLemmasFromCleanedTextWithCount(cleanedText, pageWords);
+        PageTextEntity pageText =
+                new PageTextEntity(1, "Лошади", cleanedText, pageWords.getWordOffsets().encode());
+        assertEquals(getSnippet(pageContent, queryLemmas), snippetAction.createSnippet(pageText, queryLemmas));
+    }
+
+    @Test
+    @DisplayName("Create the same snippet from stored lemma positions without lemmatizing page text")
+    public void testCreateSnippetFromLemmaPositions() {
+        String pageContent = """
+                <html><head><title>Лошади</title></head><body>
+                <p>Домашняя лошадь - одомашненный потомок дикой лошади.</p>
+                <p>Используется человеком вплоть до настоящего времени. Наука о лошадях — иппология.</p>
+                <p>В Европе дикие или одичавшие лошади — тарпаны — водились ещё в первой половине
+                прошлого столетия. В России табун одичавших лошадей обитает в Ростовском заповеднике.</p>
+                </body></html>""";
+        Set<String> queryLemmas = Set.of("лошадь", "дикий");
+        String cleanedText = collectLemmasAction.cleanText(pageContent);
+        PageWords pageWords = new PageWords();
+        collectLemmasAction.collectLemmasFromCleanedTextWithCount(cleanedText, pageWords);
+        PageTextEntity pageText =
+                new PageTextEntity(1, "Лошади", cleanedText, pageWords.getWordOffsets().encode());
+        List<byte[]> queryLemmaPositions =
+                List.of(pageWords.encodePositions("лошадь"), pageWords.encodePositions("дикий"));
+        assertEquals(getSnippet(pageContent, queryLemmas), snippetAction.createSnippet(pageText, queryLemmaPositions));
+    }
+
+    @Test
+    @DisplayName("Put snippet window with more query words first")
+    public void testCreateSnippetWithMostQueryWordsFirst() {
+        String expected = "семь восемь <b>лошадь</b> <b>дикий</b> девять... один <b>лошадь</b> два три... ";
+        PageTextEntity pageText =
+                createPageText("один лошадь два три четыре пять шесть семь восемь лошадь дикий девять");
+        List<byte[]> queryLemmaPositions = List.of(encodePositions(1, 9), encodePositions(10));
+        assertEquals(expected, snippetAction.createSnippet(pageText, queryLemmaPositions));
+    }
+
+    @Test
+    @DisplayName("Create empty snippet when page has no query words")
+    public void testCreateEmptySnippetWithoutQueryWords() {
+        PageTextEntity pageText = createPageText("один два три");
+        assertEquals("", snippetAction.createSnippet(pageText, List.of(encodePositions())));
+    }
+
+    @Test
+    @DisplayName("Stop snippet generation when rendering thread is interrupted")
+    public void testCreateSnippetWhenThreadIsInterrupted() {
+        PageTextEntity pageText = createPageText("один лошадь два три");
+        Thread.currentThread().interrupt();
+        assertThrows(CancellationException.class, () -> snippetAction.createSnippet(pageText, Set.of("лошадь")));
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    @DisplayName("Cut plain snippet by space near max length")
+    public void testCreatePlainSnippet() {
+        String cleanedText = "Расписание занятий - ".repeat(20);
+        String snippet = snippetAction.createPlainSnippet(cleanedText);
+        assertTrue(snippet.length() <= 250);
+        assertTrue(snippet.endsWith("- Расписание..."));
+        assertEquals("Короткий текст", snippetAction.createPlainSnippet("Короткий текст"));
+    }
+
+    private PageTextEntity createPageText(String cleanedText) {
+        WordOffsets wordOffsets = new WordOffsets();
+        RussianWordTokenizer tokenizer = new RussianWordTokenizer(cleanedText);
+        while (tokenizer.next()) {
+            wordOffsets.add(tokenizer.getWordStart(), tokenizer.getWordEnd());
+        }
+        return new PageTextEntity(1, "", cleanedText, wordOffsets.encode());
+    }
+
+    private byte[] encodePositions(int... positions) {
+        PositionList positionList = new PositionList();
+        for (int position : positions) {
+            positionList.add(position);
+        }
+        return positionList.encode();
+    }
 }
@@ -0,0 +1,41 @@
+package searchengine.services.crawl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import searchengine.config.CrawlConfig;
+import searchengine.model.SiteEntity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CrawlCheckpointServiceTest {
+
+    @TempDir
+    private Path checkpointDirectory;
+
+    @Test
+    @DisplayName("Delete checkpoints of other sites and unfinished checkpoint files")
+    public void testDeleteAllExcept() throws IOException {
+        CrawlConfig crawlConfig = new CrawlConfig();
+        crawlConfig.setCheckpointDirectory(checkpointDirectory.toString());
+        CrawlCheckpointService crawlCheckpointService = new CrawlCheckpointService(crawlConfig);
+        Path keptCheckpoint = Files.createFile(checkpointDirectory.resolve("site-1.checkpoint"));
+        Path keptSiteTemporaryFile = Files.createFile(checkpointDirectory.resolve("site-1.checkpoint.tmp"));
+        Path otherSiteCheckpoint = Files.createFile(checkpointDirectory.resolve("site-2.checkpoint"));
+        Path otherSiteTemporaryFile = Files.createFile(checkpointDirectory.resolve("site-3.checkpoint.tmp"));
+        Path unrelatedFile = Files.createFile(checkpointDirectory.resolve("notes.txt"));
+        SiteEntity keptSite = new SiteEntity();
+        keptSite.setId(1);
+        crawlCheckpointService.deleteAllExcept(List.of(keptSite));
+        assertTrue(Files.exists(keptCheckpoint));
+        assertTrue(Files.exists(unrelatedFile));
+        assertFalse(Files.exists(keptSiteTemporaryFile));
+        assertFalse(Files.exists(otherSiteCheckpoint));
+        assertFalse(Files.exists(otherSiteTemporaryFile));
+    }
+}
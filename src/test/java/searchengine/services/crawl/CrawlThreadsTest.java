@@ -0,0 +1,45 @@
+package searchengine.services.crawl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import searchengine.config.CrawlConfig;
+import searchengine.config.FetchMode;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CrawlThreadsTest {
+
+    @Test
+    @DisplayName("Run crawl workers on platform threads by default")
+    public void testPlatformFetchMode() throws Exception {
+        CrawlConfig crawlConfig = new CrawlConfig();
+        crawlConfig.setWorkersPerSite(3);
+        CrawlThreads crawlThreads = new CrawlThreads(crawlConfig);
+        assertEquals(3, crawlThreads.getWorkersPerSite());
+        assertFalse(runAndCheckVirtualThread(crawlThreads));
+    }
+
+    @Test
+    @DisplayName("Run crawl workers on virtual threads in virtual fetch mode")
+    public void testVirtualFetchMode() throws Exception {
+        CrawlConfig crawlConfig = new CrawlConfig();
+        crawlConfig.setFetchMode(FetchMode.VIRTUAL);
+        crawlConfig.setVirtualWorkersPerSite(100);
+        CrawlThreads crawlThreads = new CrawlThreads(crawlConfig);
+        assertEquals(100, crawlThreads.getWorkersPerSite());
+        assertTrue(runAndCheckVirtualThread(crawlThreads));
+    }
+
+    private boolean runAndCheckVirtualThread(CrawlThreads crawlThreads) throws Exception {
+        ExecutorService executor = crawlThreads.newSiteWorkersExecutor();
+        try {
+            Future<Boolean> isVirtualThread = executor.submit(() -> Thread.currentThread().isVirtual());
+            return isVirtualThread.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
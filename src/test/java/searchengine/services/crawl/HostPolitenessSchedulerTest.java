@@ -0,0 +1,60 @@
+package searchengine.services.crawl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import searchengine.config.JsoupConfig;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HostPolitenessSchedulerTest {
+
+    private static final Duration HOST_MIN_DELAY = Duration.ofSeconds(2);
+
+    private final HostPolitenessScheduler politenessScheduler = new HostPolitenessScheduler(createJsoupConfig());
+
+    private static JsoupConfig createJsoupConfig() {
+        JsoupConfig jsoupConfig = new JsoupConfig();
+        jsoupConfig.setHostMinDelay(HOST_MIN_DELAY);
+        jsoupConfig.setHostMaxJitter(Duration.ZERO);
+        return jsoupConfig;
+    }
+
+    @Test
+    @DisplayName("Space dispatches to the same host by min delay")
+    public void testReserveDispatchNanosForSameHost() {
+        long firstDispatch = politenessScheduler.reserveDispatchNanos("https://test-site-url/first");
+        long secondDispatch = politenessScheduler.reserveDispatchNanos("https://TEST-site-url/second");
+        long thirdDispatch = politenessScheduler.reserveDispatchNanos("https://test-site-url:443/third");
+        assertEquals(HOST_MIN_DELAY.toNanos(), secondDispatch - firstDispatch);
+        assertEquals(HOST_MIN_DELAY.toNanos(), thirdDispatch - secondDispatch);
+    }
+
+    @Test
+    @DisplayName("Do not delay dispatches to different hosts")
+    public void testReserveDispatchNanosForDifferentHosts() {
+        long before = System.nanoTime();
+        politenessScheduler.reserveDispatchNanos("https://first-site-url/page");
+        long secondHostDispatch = politenessScheduler.reserveDispatchNanos("https://second-site-url/page");
+        assertTrue(secondHostDispatch - before < HOST_MIN_DELAY.toNanos());
+    }
+
+    @Test
+    @DisplayName("Drop future dispatch reservations of released host")
+    public void testReleaseHost() {
+        politenessScheduler.reserveDispatchNanos("https://test-site-url/first");
+        politenessScheduler.reserveDispatchNanos("https://test-site-url/second");
+        politenessScheduler.releaseHost("https://test-site-url");
+        long before = System.nanoTime();
+        long dispatchAfterRelease = politenessScheduler.reserveDispatchNanos("https://test-site-url/third");
+        assertTrue(dispatchAfterRelease - before < HOST_MIN_DELAY.toNanos());
+    }
+
+    @Test
+    @DisplayName("Get host from url")
+    public void testGetHost() {
+        assertEquals("test-site-url", HostPolitenessScheduler.getHost("https://Test-Site-Url/path?query#anchor"));
+        assertEquals("test-site-url", HostPolitenessScheduler.getHost("http://test-site-url:8080"));
+    }
+}
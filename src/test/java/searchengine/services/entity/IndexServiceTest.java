@@ -3,18 +3,32 @@ package searchengine.services.entity;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import searchengine.config.IndexingConfig;
+import searchengine.dto.index.PageRelevanceRow;
 import searchengine.model.IndexEntity;
 import searchengine.model.LemmaEntity;
 import searchengine.model.PageEntity;
+import searchengine.repository.IndexBatchRepository;
 import searchengine.repository.IndexRepository;
 import searchengine.services.entity.impl.IndexServiceImpl;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class IndexServiceTest {
 
     private final IndexRepository indexRepository = Mockito.mock(IndexRepository.class);
-    private final IndexService indexService = new IndexServiceImpl(indexRepository);
+    private final IndexBatchRepository indexBatchRepository = Mockito.mock(IndexBatchRepository.class);
+    private final IndexService indexService =
+            new IndexServiceImpl(indexRepository, indexBatchRepository, createIndexingConfig());
+
+    private IndexingConfig createIndexingConfig() {
+        IndexingConfig indexingConfig = new IndexingConfig();
+        indexingConfig.setIndexInsertBatchSize(500);
+        return indexingConfig;
+    }
 
     @Test
     @DisplayName("Create index for page")
@@ -31,4 +45,43 @@ public class IndexServiceTest {
         assertEquals(path, indexEntity.getPage().getRelativePath());
         assertEquals(rank, indexEntity.getRank());
     }
+
+    @Test
+    @DisplayName("Get pages abs relevance for all lemmas by one query")
+    public void testGetPagesAbsRelevanceCoveringAllLemmas() {
+        LemmaEntity firstLemmaEntity = new LemmaEntity();
+        firstLemmaEntity.setId(1);
+        LemmaEntity secondLemmaEntity = new LemmaEntity();
+        secondLemmaEntity.setId(2);
+        List<PageRelevanceRow> expected = List.of(new PageRelevanceRow(10, 5.0));
+        Mockito.when(indexRepository.findPagesAbsRelevanceCoveringAllLemmas(List.of(1, 2), 2L)).thenReturn(expected);
+        List<PageRelevanceRow> pagesAbsRelevance =
+                indexService.getPagesAbsRelevanceCoveringAllLemmas(List.of(firstLemmaEntity, secondLemmaEntity));
+        assertEquals(expected, pagesAbsRelevance);
+        Mockito.verify(indexRepository, Mockito.times(1)).findPagesAbsRelevanceCoveringAllLemmas(List.of(1, 2), 2L);
+    }
+
+    @Test
+    @DisplayName("Do not query database for pages abs relevance when lemma list is empty")
+    public void testGetPagesAbsRelevanceCoveringAllLemmasWhenLemmasAreEmpty() {
+        assertTrue(indexService.getPagesAbsRelevanceCoveringAllLemmas(List.of()).isEmpty());
+        Mockito.verifyNoInteractions(indexRepository);
+    }
+
+    @Test
+    @DisplayName("Insert indexes with bulk writer using configured batch size")
+    public void testInsertAll() {
+        List<IndexEntity> indexes = List.of(new IndexEntity(), new IndexEntity());
+        Mockito.when(indexBatchRepository.insertAll(indexes, 500)).thenReturn(2);
+        assertEquals(2, indexService.insertAll(indexes));
+        Mockito.verify(indexBatchRepository, Mockito.times(1)).insertAll(indexes, 500);
+        Mockito.verifyNoInteractions(indexRepository);
+    }
+
+    @Test
+    @DisplayName("Do not query database when inserting empty index list")
+    public void testInsertAllWhenIndexesAreEmpty() {
+        assertEquals(0, indexService.insertAll(List.of()));
+        Mockito.verifyNoInteractions(indexBatchRepository);
+    }
 }
@@ -8,6 +8,8 @@ import searchengine.model.SiteEntity;
 import searchengine.repository.LemmaRepository;
 import searchengine.services.entity.impl.LemmaServiceImpl;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -80,4 +82,33 @@ public class LemmaServiceTest {
         assertEquals(frequency - 1, lemmaEntity.getFrequency());
     }
 
+    @Test
+    @DisplayName("Get lemma entities of several sites with one query grouped by site id")
+    public void testGetBySitesAndLemmas() {
+        SiteEntity firstSite = new SiteEntity();
+        firstSite.setId(1);
+        SiteEntity secondSite = new SiteEntity();
+        secondSite.setId(2);
+        LemmaEntity firstSiteLemma = new LemmaEntity();
+        firstSiteLemma.setLemma("lemma");
+        firstSiteLemma.setSite(firstSite);
+        LemmaEntity secondSiteLemma = new LemmaEntity();
+        secondSiteLemma.setLemma("lemma");
+        secondSiteLemma.setSite(secondSite);
+        List<SiteEntity> sites = List.of(firstSite, secondSite);
+        List<String> lemmas = List.of("lemma", "other");
+        Mockito.when(lemmaRepository.findBySiteInAndLemmaIn(sites, lemmas))
+                .thenReturn(List.of(firstSiteLemma, secondSiteLemma));
+        Map<Integer, List<LemmaEntity>> lemmasBySite = lemmaService.getBySitesAndLemmas(sites, lemmas);
+        assertEquals(Map.of(1, List.of(firstSiteLemma), 2, List.of(secondSiteLemma)), lemmasBySite);
+    }
+
+    @Test
+    @DisplayName("Do not query database for lemma entities when lemmas are empty")
+    public void testGetBySitesAndLemmasWhenLemmasAreEmpty() {
+        SiteEntity site = new SiteEntity();
+        site.setId(1);
+        assertEquals(Map.of(), lemmaService.getBySitesAndLemmas(List.of(site), List.of()));
+        Mockito.verifyNoInteractions(lemmaRepository);
+    }
 }
@@ -0,0 +1,146 @@
+package searchengine.services.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import searchengine.config.IndexingConfig;
+import searchengine.model.ContentDictionaryEntity;
+import searchengine.model.PageContentEntity;
+import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
+import searchengine.repository.ContentDictionaryRepository;
+import searchengine.repository.LegacyPageContentRepository;
+import searchengine.repository.PageContentRepository;
+import searchengine.services.entity.impl.PageContentServiceImpl;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageContentServiceTest {
+
+    private static final String PAGE_LAYOUT_START =
+            "<html><head><title>Page</title><link rel=\"stylesheet\" href=\"/css/main.css\"></head>" +
+                    "<body><div class=\"header\"><a href=\"/\">Home</a></div><div class=\"content\">";
+    private static final String PAGE_LAYOUT_END =
+            "</div><div class=\"footer\"><span class=\"copyright\">Site footer</span></div></body></html>";
+
+    private final PageContentRepository pageContentRepository = Mockito.mock(PageContentRepository.class);
+    private final ContentDictionaryRepository contentDictionaryRepository =
+            Mockito.mock(ContentDictionaryRepository.class);
+    private final LegacyPageContentRepository legacyPageContentRepository =
+            Mockito.mock(LegacyPageContentRepository.class);
+    private final PageContentService pageContentService = new PageContentServiceImpl(createIndexingConfig(),
+            pageContentRepository, contentDictionaryRepository, legacyPageContentRepository);
+
+    private IndexingConfig createIndexingConfig() {
+        IndexingConfig indexingConfig = new IndexingConfig();
+        indexingConfig.setContentDictionarySamples(2);
+        return indexingConfig;
+    }
+
+    @Test
+    @DisplayName("Save page content without dictionary and read it back")
+    public void testSaveAndGetContentWithoutDictionary() {
+        PageEntity page = createPage(1, PAGE_LAYOUT_START + "Первая страница" + PAGE_LAYOUT_END);
+        Mockito.when(contentDictionaryRepository.findFirstBySiteIdOrderByIdDesc(1)).thenReturn(Optional.empty());
+        pageContentService.save(page);
+        ArgumentCaptor<byte[]> compressedContent = ArgumentCaptor.forClass(byte[].class);
+        Mockito.verify(pageContentRepository).upsert(Mockito.eq(1), Mockito.isNull(), compressedContent.capture());
+        Mockito.verify(contentDictionaryRepository, Mockito.never()).save(Mockito.any());
+        Mockito.when(pageContentRepository.findById(1))
+                .thenReturn(Optional.of(new PageContentEntity(1, null, compressedContent.getValue())));
+        assertEquals(page.getContent(), pageContentService.getContent(page));
+    }
+
+    @Test
+    @DisplayName("Train site dictionary after samples are collected and use it for next pages")
+    public void testSaveContentWithTrainedDictionary() {
+        Mockito.when(contentDictionaryRepository.findFirstBySiteIdOrderByIdDesc(1)).thenReturn(Optional.empty());
+        Mockito.when(contentDictionaryRepository.save(Mockito.any())).thenAnswer(invocation -> {
+            ContentDictionaryEntity dictionary = invocation.getArgument(0);
+            dictionary.setId(5);
+            return dictionary;
+        });
+        pageContentService.save(createPage(1, PAGE_LAYOUT_START + "Первая страница" + PAGE_LAYOUT_END));
+        pageContentService.save(createPage(2, PAGE_LAYOUT_START + "Вторая страница" + PAGE_LAYOUT_END));
+        PageEntity page = createPage(3, PAGE_LAYOUT_START + "Третья страница" + PAGE_LAYOUT_END);
+        pageContentService.save(page);
+        ArgumentCaptor<ContentDictionaryEntity> dictionary = ArgumentCaptor.forClass(ContentDictionaryEntity.class);
+        Mockito.verify(contentDictionaryRepository, Mockito.times(1)).save(dictionary.capture());
+        assertEquals(1, dictionary.getValue().getSiteId());
+        assertTrue(dictionary.getValue().getDictionary().length > 0);
+        ArgumentCaptor<byte[]> compressedContent = ArgumentCaptor.forClass(byte[].class);
+        Mockito.verify(pageContentRepository).upsert(Mockito.eq(3), Mockito.eq(5), compressedContent.capture());
+        Mockito.when(pageContentRepository.findById(3))
+                .thenReturn(Optional.of(new PageContentEntity(3, 5, compressedContent.getValue())));
+        assertEquals(page.getContent(), pageContentService.getContent(page));
+    }
+
+    @Test
+    @DisplayName("Fail to get content of page when it can not be decompressed")
+    public void testGetContentOfPageWithCorruptedContent() {
+        PageEntity page = createPage(1, null);
+        Mockito.when(pageContentRepository.findById(1))
+                .thenReturn(Optional.of(new PageContentEntity(1, null, new byte[]{1, 2, 3})));
+        IllegalStateException exception =
+                assertThrows(IllegalStateException.class, () -> pageContentService.getContent(page));
+        assertTrue(exception.getMessage().contains("page id 1"));
+    }
+
+    @Test
+    @DisplayName("Get content of page without saved content")
+    public void testGetContentOfPageWithoutSavedContent() {
+        PageEntity page = createPage(1, null);
+        Mockito.when(pageContentRepository.findById(1)).thenReturn(Optional.empty());
+        assertEquals("", pageContentService.getContent(page));
+        Mockito.verify(legacyPageContentRepository, Mockito.never()).findContentByPageId(Mockito.anyInt());
+    }
+
+    @Test
+    @DisplayName("Get content of page not migrated from legacy content column")
+    public void testGetContentOfPageWithLegacyContent() {
+        PageEntity page = createPage(1, null);
+        Mockito.when(legacyPageContentRepository.hasContentColumn()).thenReturn(true);
+        Mockito.when(legacyPageContentRepository.findContentByPageId(1)).thenReturn("Старое содержимое");
+        Mockito.when(pageContentRepository.findById(1)).thenReturn(Optional.empty());
+        ((PageContentServiceImpl) pageContentService).detectLegacyContentColumn();
+        assertEquals("Старое содержимое", pageContentService.getContent(page));
+    }
+
+    @Test
+    @DisplayName("Make legacy content column nullable but do not migrate it unless migration is enabled")
+    public void testLegacyContentMigrationIsDisabledByDefault() {
+        Mockito.when(legacyPageContentRepository.hasContentColumn()).thenReturn(true);
+        PageContentServiceImpl service = (PageContentServiceImpl) pageContentService;
+        service.detectLegacyContentColumn();
+        service.initiateLegacyContentMigration();
+        Mockito.verify(legacyPageContentRepository).makeContentColumnNullable();
+        Mockito.verify(legacyPageContentRepository, Mockito.never()).findContentsAfterPageId(
+                Mockito.anyInt(), Mockito.anyInt());
+        Mockito.verify(legacyPageContentRepository, Mockito.never()).dropContentColumn();
+    }
+
+    @Test
+    @DisplayName("Do not alter legacy content column that is already nullable")
+    public void testNullableLegacyContentColumnIsNotAltered() {
+        Mockito.when(legacyPageContentRepository.hasContentColumn()).thenReturn(true);
+        Mockito.when(legacyPageContentRepository.isContentColumnNullable()).thenReturn(true);
+        ((PageContentServiceImpl) pageContentService).detectLegacyContentColumn();
+        Mockito.verify(legacyPageContentRepository, Mockito.never()).makeContentColumnNullable();
+    }
+
+    private PageEntity createPage(int id, String content) {
+        SiteEntity site = new SiteEntity();
+        site.setId(1);
+        site.setUrl("https://test-site-url");
+        PageEntity page = new PageEntity();
+        page.setId(id);
+        page.setSite(site);
+        page.setRelativePath("/page-" + id);
+        page.setContent(content);
+        return page;
+    }
+
+}
@@ -3,6 +3,7 @@ package searchengine.services.entity;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import searchengine.dto.indexing.PageValidators;
 import searchengine.exceptions.PageNotFromSiteException;
 import searchengine.model.PageEntity;
 import searchengine.model.SiteEntity;
@@ -11,6 +12,8 @@ import searchengine.util.UrlFormatter;
 import searchengine.services.entity.impl.PageServiceImpl;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -137,6 +140,85 @@ public class PageServiceTest {
         assertEquals(relativePath, pageFromService.getRelativePath());
     }
 
+    @Test
+    @DisplayName("Save page if absent - page id should be set when page is inserted")
+    public void testSaveIfAbsentWhenInserted() {
+        SiteEntity site = new SiteEntity();
+        site.setId(1);
+        PageEntity page = new PageEntity();
+        page.setSite(site);
+        page.setRelativePath("/path/");
+        page.setCode(200);
+        page.setContent("content");
+        PageEntity savedPage = new PageEntity();
+        savedPage.setId(110);
+        Mockito.when(pageRepository.insertIgnore(1, "/path", 200, null, null, null)).thenReturn(1);
+        Mockito.when(pageRepository.findByRelativePathAndSite("/path", site)).thenReturn(Optional.of(savedPage));
+        assertTrue(pageService.saveIfAbsent(page));
+        assertEquals(110, page.getId());
+        assertEquals("/path", page.getRelativePath());
+    }
+
+    @Test
+    @DisplayName("Save page if absent - page should not be saved twice")
+    public void testSaveIfAbsentWhenAlreadyPresent() {
+        SiteEntity site = new SiteEntity();
+        site.setId(1);
+        PageEntity page = new PageEntity();
+        page.setSite(site);
+        page.setRelativePath("/path");
+        page.setCode(200);
+        page.setContent("content");
+        Mockito.when(pageRepository.insertIgnore(1, "/path", 200, null, null, null)).thenReturn(0);
+        assertFalse(pageService.saveIfAbsent(page));
+        assertNull(page.getId());
+        Mockito.verify(pageRepository, Mockito.never()).findByRelativePathAndSite("/path", site);
+    }
+
+    @Test
+    @DisplayName("Save page if absent - path longer than column should be rejected before insert")
+    public void testSaveIfAbsentWhenPathIsTooLong() {
+        SiteEntity site = new SiteEntity();
+        site.setId(1);
+        site.setUrl("https://test-site-url");
+        PageEntity page = new PageEntity();
+        page.setSite(site);
+        page.setRelativePath("/" + "a".repeat(255));
+        page.setCode(200);
+        assertThrows(IllegalArgumentException.class, () -> pageService.saveIfAbsent(page));
+        assertNull(page.getId());
+        Mockito.verifyNoInteractions(pageRepository);
+    }
+
+    @Test
+    @DisplayName("Save page if absent - inserted page missing from database should fail")
+    public void testSaveIfAbsentWhenInsertedPageIsNotFound() {
+        SiteEntity site = new SiteEntity();
+        site.setId(1);
+        site.setUrl("https://test-site-url");
+        PageEntity page = new PageEntity();
+        page.setSite(site);
+        page.setRelativePath("/path");
+        page.setCode(200);
+        Mockito.when(pageRepository.insertIgnore(1, "/path", 200, null, null, null)).thenReturn(1);
+        Mockito.when(pageRepository.findByRelativePathAndSite("/path", site)).thenReturn(Optional.empty());
+        assertThrows(IllegalStateException.class, () -> pageService.saveIfAbsent(page));
+    }
+
+    @Test
+    @DisplayName("Get page validators of site by relative path")
+    public void testGetValidatorsBySite() {
+        SiteEntity site = new SiteEntity();
+        site.setId(1);
+        PageValidators homePage = new PageValidators(1, "/", 200, "\"v1\"", null, "hash1");
+        PageValidators page = new PageValidators(2, "/path", 404, null, null, null);
+        Mockito.when(pageRepository.findValidatorsBySite(site)).thenReturn(List.of(homePage, page));
+        Map<String, PageValidators> validatorsByPath = pageService.getValidatorsBySite(site);
+        assertEquals(2, validatorsByPath.size());
+        assertEquals("\"v1\"", validatorsByPath.get("/").getEtag());
+        assertEquals(404, validatorsByPath.get("/path").getCode());
+    }
+
     @Test
     @DisplayName("Create page by site path and page absolute path with escape end")
     public void testCreatePageByAbsPathWithEscapeEndAndSitePath() {
@@ -0,0 +1,129 @@
+package searchengine.services.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import searchengine.config.IndexingConfig;
+import searchengine.dto.indexing.PageIndexingData;
+import searchengine.index.PostingBatch;
+import searchengine.model.IndexEntity;
+import searchengine.model.LemmaEntity;
+import searchengine.model.PageEntity;
+import searchengine.model.SiteEntity;
+import searchengine.services.entity.IndexService;
+import searchengine.services.entity.PageService;
+import searchengine.services.entity.SiteService;
+import searchengine.services.index.impl.InvertedIndexServiceImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvertedIndexServiceTest {
+
+    private final SiteService siteService = Mockito.mock(SiteService.class);
+    private final PageService pageService = Mockito.mock(PageService.class);
+    private final IndexService indexService = Mockito.mock(IndexService.class);
+    private final InvertedIndexService invertedIndexService =
+            new InvertedIndexServiceImpl(siteService, pageService, indexService, new IndexingConfig());
+    private final SiteEntity site = createSite();
+
+    private SiteEntity createSite() {
+        SiteEntity siteEntity = new SiteEntity();
+        siteEntity.setId(1);
+        siteEntity.setUrl("https://test-site-url");
+        return siteEntity;
+    }
+
+    @Test
+    @DisplayName("Load inverted index from database")
+    public void testLoadFromDatabase() {
+        Mockito.when(siteService.getAll()).thenReturn(List.of(site));
+        mockResponsivePageIds(List.of(1, 2, 4), List.of(5));
+        mockPostings(1, 4, () -> {}, batch -> {
+            batch.add("лошадь", 1, 2f);
+            batch.add("дикий", 1, 1f);
+            batch.add("лошадь", 2, 1f);
+        });
+        mockPostings(5, 5, () -> {}, batch -> batch.add("лошадь", 5, 3f));
+        invertedIndexService.loadFromDatabase();
+        assertTrue(invertedIndexService.isReady());
+        assertEquals(Map.of(1, 2f, 2, 1f, 5, 3f),
+                invertedIndexService.getPagesWithAbsRelevance(site, Set.of("лошадь"), 10));
+        assertEquals(4, invertedIndexService.countResponsivePages(site));
+    }
+
+    @Test
+    @DisplayName("Apply index changes made while inverted index is loading")
+    public void testLoadFromDatabaseWithChangesDuringLoading() {
+        Mockito.when(siteService.getAll()).thenReturn(List.of(site));
+        mockResponsivePageIds(List.of(1, 2));
+        mockPostings(1, 2, () -> {
+            invertedIndexService.removePage(createPage(1), List.of("лошадь"));
+            invertedIndexService.addPage(createPageIndexingData(createPage(3), "лошадь", 5f));
+            assertFalse(invertedIndexService.isReady());
+        }, batch -> {
+            batch.add("лошадь", 1, 2f);
+            batch.add("лошадь", 2, 1f);
+        });
+        invertedIndexService.loadFromDatabase();
+        assertTrue(invertedIndexService.isReady());
+        assertEquals(Map.of(2, 1f, 3, 5f),
+                invertedIndexService.getPagesWithAbsRelevance(site, Set.of("лошадь"), 10));
+        assertEquals(2, invertedIndexService.countResponsivePages(site));
+    }
+
+    @Test
+    @DisplayName("Skip loaded inverted index after index is cleared")
+    public void testLoadFromDatabaseAfterClear() {
+        Mockito.when(siteService.getAll()).thenReturn(List.of(site));
+        mockResponsivePageIds(List.of(1));
+        mockPostings(1, 1, invertedIndexService::clear, batch -> batch.add("лошадь", 1, 2f));
+        invertedIndexService.loadFromDatabase();
+        assertTrue(invertedIndexService.isReady());
+        assertTrue(invertedIndexService.getPagesWithAbsRelevance(site, Set.of("лошадь"), 10).isEmpty());
+    }
+
+    @SafeVarargs
+    private void mockResponsivePageIds(List<Integer>... pageIdBatches) {
+        int lastPageId = 0;
+        for (List<Integer> pageIds : pageIdBatches) {
+            Mockito.when(pageService.getResponsivePageIdsBySite(Mockito.eq(site), Mockito.eq(lastPageId),
+                    Mockito.anyInt())).thenReturn(pageIds);
+            lastPageId = pageIds.get(pageIds.size() - 1);
+        }
+        Mockito.when(pageService.getResponsivePageIdsBySite(Mockito.eq(site), Mockito.eq(lastPageId),
+                Mockito.anyInt())).thenReturn(List.of());
+    }
+
+    private void mockPostings(int fromPageId, int toPageId, Runnable action, Consumer<PostingBatch> postings) {
+        Mockito.doAnswer(invocation -> {
+            action.run();
+            postings.accept(invocation.getArgument(3));
+            return null;
+        }).when(indexService).readPostingsBySite(Mockito.eq(site), Mockito.eq(fromPageId), Mockito.eq(toPageId),
+                Mockito.any(PostingBatch.class));
+    }
+
+    private PageEntity createPage(int id) {
+        PageEntity page = new PageEntity();
+        page.setId(id);
+        page.setSite(site);
+        page.setRelativePath("/page-" + id);
+        return page;
+    }
+
+    private PageIndexingData createPageIndexingData(PageEntity page, String lemma, float rank) {
+        LemmaEntity lemmaEntity = new LemmaEntity();
+        lemmaEntity.setLemma(lemma);
+        IndexEntity index = new IndexEntity();
+        index.setPage(page);
+        index.setLemma(lemmaEntity);
+        index.setRank(rank);
+        return new PageIndexingData(page, List.of(lemmaEntity), List.of(index));
+    }
+
+}
@@ -0,0 +1,127 @@
+package searchengine.services.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import searchengine.config.IndexingConfig;
+import searchengine.model.LemmaEntity;
+import searchengine.model.SiteEntity;
+import searchengine.repository.LemmaBatchRepository;
+import searchengine.repository.LemmaRepository;
+import searchengine.services.index.impl.LemmaFrequencyAccumulatorImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LemmaFrequencyAccumulatorTest {
+
+    private final LemmaRepository lemmaRepository = Mockito.mock(LemmaRepository.class);
+    private final LemmaBatchRepository lemmaBatchRepository = Mockito.mock(LemmaBatchRepository.class);
+    private final IndexingConfig indexingConfig = createIndexingConfig();
+    private final LemmaFrequencyAccumulator lemmaFrequencyAccumulator =
+            new LemmaFrequencyAccumulatorImpl(indexingConfig, lemmaRepository, lemmaBatchRepository);
+    private final SiteEntity site = createSite();
+
+    private IndexingConfig createIndexingConfig() {
+        IndexingConfig config = new IndexingConfig();
+        config.setLemmaFlushThreshold(100);
+        config.setLemmaFlushBatchSize(10);
+        return config;
+    }
+
+    private SiteEntity createSite() {
+        SiteEntity siteEntity = new SiteEntity();
+        siteEntity.setId(1);
+        siteEntity.setUrl("https://test-site-url");
+        return siteEntity;
+    }
+
+    private LemmaEntity createLemmaEntity(int id, String lemma) {
+        LemmaEntity lemmaEntity = new LemmaEntity();
+        lemmaEntity.setId(id);
+        lemmaEntity.setLemma(lemma);
+        lemmaEntity.setSite(site);
+        lemmaEntity.setFrequency(0);
+        return lemmaEntity;
+    }
+
+    @Test
+    @DisplayName("Register new lemmas in database only once")
+    public void testAddPageLemmasRegistersAbsentLemmasOnce() {
+        Mockito.when(lemmaRepository.findBySiteInAndLemmaIn(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(List.of(createLemmaEntity(10, "лошадь"), createLemmaEntity(11, "дикий")));
+        Map<String, LemmaEntity> firstPageLemmas =
+                lemmaFrequencyAccumulator.addPageLemmas(site, Set.of("лошадь", "дикий"));
+        Map<String, LemmaEntity> secondPageLemmas = lemmaFrequencyAccumulator.addPageLemmas(site, Set.of("лошадь"));
+        assertEquals(Set.of("лошадь", "дикий"), firstPageLemmas.keySet());
+        assertEquals(10, secondPageLemmas.get("лошадь").getId());
+        assertEquals(3, lemmaFrequencyAccumulator.countPendingIncrements(site));
+        Mockito.verify(lemmaBatchRepository, Mockito.times(1))
+                .insertIgnore(ArgumentMatchers.eq(1), ArgumentMatchers.any(), ArgumentMatchers.eq(10));
+        Mockito.verify(lemmaRepository, Mockito.times(1))
+                .findBySiteInAndLemmaIn(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("Flush accumulated lemma frequencies in one batch")
+    public void testFlush() {
+        Mockito.when(lemmaRepository.findBySiteInAndLemmaIn(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(List.of(createLemmaEntity(10, "лошадь"), createLemmaEntity(11, "дикий")));
+        lemmaFrequencyAccumulator.addPageLemmas(site, Set.of("лошадь", "дикий"));
+        lemmaFrequencyAccumulator.addPageLemmas(site, Set.of("лошадь"));
+        lemmaFrequencyAccumulator.flush(site);
+        Mockito.verify(lemmaBatchRepository, Mockito.times(1))
+                .increaseFrequencies(1, Map.of("лошадь", 2L, "дикий", 1L), 10);
+        assertEquals(0, lemmaFrequencyAccumulator.countPendingIncrements(site));
+        lemmaFrequencyAccumulator.flush(site);
+        Mockito.verify(lemmaBatchRepository, Mockito.times(1))
+                .increaseFrequencies(ArgumentMatchers.anyInt(), ArgumentMatchers.any(), ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    @DisplayName("Apply only lemma frequency deltas when page lemmas are replaced")
+    public void testReplacePageLemmas() {
+        Mockito.when(lemmaRepository.findBySiteInAndLemmaIn(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(List.of(createLemmaEntity(10, "лошадь"), createLemmaEntity(11, "дикий"),
+                        createLemmaEntity(12, "табун")));
+        Map<String, LemmaEntity> pageLemmas = lemmaFrequencyAccumulator.replacePageLemmas(
+                site, Set.of("лошадь", "дикий"), Set.of("лошадь", "табун"));
+        assertEquals(Set.of("лошадь", "табун"), pageLemmas.keySet());
+        lemmaFrequencyAccumulator.flush(site);
+        Mockito.verify(lemmaBatchRepository, Mockito.times(1))
+                .increaseFrequencies(1, Map.of("табун", 1L, "дикий", -1L), 10);
+    }
+
+    @Test
+    @DisplayName("Flush lemma frequencies automatically when threshold is reached")
+    public void testFlushOnThreshold() {
+        indexingConfig.setLemmaFlushThreshold(2);
+        Mockito.when(lemmaRepository.findBySiteInAndLemmaIn(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(List.of(createLemmaEntity(10, "лошадь"), createLemmaEntity(11, "дикий")));
+        lemmaFrequencyAccumulator.addPageLemmas(site, Set.of("лошадь", "дикий"));
+        Mockito.verify(lemmaBatchRepository, Mockito.times(1))
+                .increaseFrequencies(1, Map.of("лошадь", 1L, "дикий", 1L), 10);
+        assertEquals(0, lemmaFrequencyAccumulator.countPendingIncrements(site));
+    }
+
+    @Test
+    @DisplayName("Match lemmas stored under spelling equal by collation")
+    public void testAddPageLemmasWithCollationEqualSpelling() {
+        Mockito.when(lemmaRepository.findBySiteInAndLemmaIn(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(List.of(createLemmaEntity(10, "ёлка"), createLemmaEntity(11, "лес")));
+        Map<String, LemmaEntity> pageLemmas = lemmaFrequencyAccumulator.addPageLemmas(site, Set.of("елка", "лес"));
+        assertEquals(Set.of("елка", "лес"), pageLemmas.keySet());
+        assertEquals(10, pageLemmas.get("елка").getId());
+        Map<String, LemmaEntity> secondPageLemmas = lemmaFrequencyAccumulator.addPageLemmas(site, Set.of("ёлка"));
+        assertEquals(10, secondPageLemmas.get("ёлка").getId());
+        lemmaFrequencyAccumulator.flush(site);
+        Mockito.verify(lemmaBatchRepository, Mockito.times(1))
+                .increaseFrequencies(1, Map.of("ёлка", 2L, "лес", 1L), 10);
+        Mockito.verify(lemmaRepository, Mockito.times(1))
+                .findBySiteInAndLemmaIn(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+}
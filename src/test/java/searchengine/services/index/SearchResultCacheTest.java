@@ -0,0 +1,83 @@
+package searchengine.services.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import searchengine.config.SearchConfig;
+import searchengine.index.PagesRelevance;
+import searchengine.model.SiteEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchResultCacheTest {
+
+    private final SearchResultCache searchResultCache = new SearchResultCache(createSearchConfig());
+
+    private SearchConfig createSearchConfig() {
+        SearchConfig searchConfig = new SearchConfig();
+        searchConfig.setResultCacheMaxEntries(2);
+        searchConfig.setResultCacheMaxWeight(100);
+        searchConfig.setResultCacheTtl(Duration.ofMinutes(1));
+        return searchConfig;
+    }
+
+    private SiteEntity createSite(int id) {
+        SiteEntity site = new SiteEntity();
+        site.setId(id);
+        site.setUrl("https://test-site-url-" + id);
+        return site;
+    }
+
+    @Test
+    @DisplayName("Get cached search result by query lemmas and sites regardless of order")
+    public void testGetCachedResult() {
+        PagesRelevance pagesRelevance = PagesRelevance.of(Map.of(1, 1f), 1f);
+        SearchResultCache.Key key =
+                SearchResultCache.createKey(Set.of("лошадь", "дикий"), List.of(createSite(1), createSite(2)));
+        searchResultCache.put(key, pagesRelevance, searchResultCache.getVersion());
+        SearchResultCache.Key sameKey =
+                SearchResultCache.createKey(Set.of("дикий", "лошадь"), List.of(createSite(2), createSite(1)));
+        assertSame(pagesRelevance, searchResultCache.get(sameKey));
+    }
+
+    @Test
+    @DisplayName("Invalidate cached search results by site")
+    public void testInvalidateSite() {
+        SearchResultCache.Key firstSiteKey = SearchResultCache.createKey(Set.of("лошадь"), List.of(createSite(1)));
+        SearchResultCache.Key secondSiteKey = SearchResultCache.createKey(Set.of("лошадь"), List.of(createSite(2)));
+        searchResultCache.put(firstSiteKey, PagesRelevance.empty(), searchResultCache.getVersion());
+        searchResultCache.put(secondSiteKey, PagesRelevance.empty(), searchResultCache.getVersion());
+        searchResultCache.invalidateSite(1);
+        assertNull(searchResultCache.get(firstSiteKey));
+        assertNotNull(searchResultCache.get(secondSiteKey));
+    }
+
+    @Test
+    @DisplayName("Do not cache search result computed before invalidation")
+    public void testPutAfterInvalidation() {
+        SearchResultCache.Key key = SearchResultCache.createKey(Set.of("лошадь"), List.of(createSite(1)));
+        long version = searchResultCache.getVersion();
+        searchResultCache.invalidateSite(1);
+        searchResultCache.put(key, PagesRelevance.empty(), version);
+        assertNull(searchResultCache.get(key));
+    }
+
+    @Test
+    @DisplayName("Evict least recently used search result when cache is full")
+    public void testEvictLeastRecentlyUsed() {
+        SearchResultCache.Key firstKey = SearchResultCache.createKey(Set.of("лошадь"), List.of(createSite(1)));
+        SearchResultCache.Key secondKey = SearchResultCache.createKey(Set.of("дикий"), List.of(createSite(1)));
+        SearchResultCache.Key thirdKey = SearchResultCache.createKey(Set.of("табун"), List.of(createSite(1)));
+        searchResultCache.put(firstKey, PagesRelevance.empty(), searchResultCache.getVersion());
+        searchResultCache.put(secondKey, PagesRelevance.empty(), searchResultCache.getVersion());
+        searchResultCache.get(firstKey);
+        searchResultCache.put(thirdKey, PagesRelevance.empty(), searchResultCache.getVersion());
+        assertNotNull(searchResultCache.get(firstKey));
+        assertNull(searchResultCache.get(secondKey));
+        assertNotNull(searchResultCache.get(thirdKey));
+    }
+}
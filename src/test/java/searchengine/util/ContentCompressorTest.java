@@ -0,0 +1,46 @@
+package searchengine.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentCompressorTest {
+
+    private static final String PAGE_TEMPLATE = """
+            <html><head><meta charset="utf-8"><title>%s</title>
+            <link rel="stylesheet" href="/static/css/main.css"></head>
+            <body><header class="site-header"><nav class="main-menu"><a href="/">Главная</a>
+            <a href="/courses">Курсы</a><a href="/about">О нас</a></nav></header>
+            <main><p>%s</p></main><footer class="site-footer">Все права защищены</footer></body></html>""";
+
+    @Test
+    @DisplayName("Decompress the same content that was compressed")
+    public void testCompressAndDecompress() {
+        String content = PAGE_TEMPLATE.formatted("Лошади", "Домашняя лошадь - одомашненный потомок дикой лошади.");
+        byte[] compressedContent = ContentCompressor.compress(content, null);
+        assertTrue(compressedContent.length < content.getBytes(StandardCharsets.UTF_8).length);
+        assertEquals(content, ContentCompressor.decompress(compressedContent, null));
+        assertEquals("", ContentCompressor.decompress(ContentCompressor.compress("", null), null));
+    }
+
+    @Test
+    @DisplayName("Compress page better with dictionary of site template")
+    public void testCompressWithDictionary() {
+        byte[] dictionary = PAGE_TEMPLATE.formatted("", "").getBytes(StandardCharsets.UTF_8);
+        String content = PAGE_TEMPLATE.formatted("Лошади", "Домашняя лошадь - одомашненный потомок дикой лошади.");
+        byte[] compressedWithDictionary = ContentCompressor.compress(content, dictionary);
+        assertTrue(compressedWithDictionary.length < ContentCompressor.compress(content, null).length);
+        assertEquals(content, ContentCompressor.decompress(compressedWithDictionary, dictionary));
+    }
+
+    @Test
+    @DisplayName("Reject decompression without required dictionary")
+    public void testDecompressWithoutDictionary() {
+        byte[] dictionary = PAGE_TEMPLATE.formatted("", "").getBytes(StandardCharsets.UTF_8);
+        byte[] compressedContent = ContentCompressor.compress(PAGE_TEMPLATE.formatted("Лошади", ""), dictionary);
+        assertThrows(IllegalArgumentException.class, () -> ContentCompressor.decompress(compressedContent, null));
+    }
+}
@@ -0,0 +1,35 @@
+package searchengine.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentDictionaryTrainerTest {
+
+    private final List<String> samples = List.of(
+            "<html><body><nav class=\"main-menu\"><a href=\"/courses\">Курсы</a></nav><p>Лошади</p></body></html>",
+            "<html><body><nav class=\"main-menu\"><a href=\"/courses\">Курсы</a></nav><p>Пони</p></body></html>",
+            "<html><body><nav class=\"main-menu\"><p>Зебры</p></body></html>");
+
+    @Test
+    @DisplayName("Put fragments repeated in several samples to dictionary")
+    public void testTrain() {
+        String dictionary = new String(ContentDictionaryTrainer.train(samples, 1_024), StandardCharsets.UTF_8);
+        assertTrue(dictionary.contains("<nav class=\"main-menu\">"));
+        assertTrue(dictionary.contains("<a href=\"/courses\">"));
+        assertFalse(dictionary.contains("Лошади"));
+        assertTrue(dictionary.endsWith("<nav class=\"main-menu\">"));
+    }
+
+    @Test
+    @DisplayName("Keep dictionary within max size")
+    public void testTrainWithMaxSize() {
+        byte[] dictionary = ContentDictionaryTrainer.train(samples, 24);
+        assertTrue(dictionary.length <= 24);
+        assertEquals("<nav class=\"main-menu\">", new String(dictionary, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,25 @@
+package searchengine.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentHashCalculatorTest {
+
+    @Test
+    @DisplayName("Compute same hash for same content and different hash for changed content")
+    public void testComputeHash() {
+        String hash = ContentHashCalculator.computeHash("<html><body>Дикая лошадь</body></html>");
+        assertEquals(64, hash.length());
+        assertEquals(hash, ContentHashCalculator.computeHash("<html><body>Дикая лошадь</body></html>"));
+        assertNotEquals(hash, ContentHashCalculator.computeHash("<html><body>Дикие лошади</body></html>"));
+    }
+
+    @Test
+    @DisplayName("Do not compute hash for empty content")
+    public void testComputeHashForEmptyContent() {
+        assertNull(ContentHashCalculator.computeHash(""));
+        assertNull(ContentHashCalculator.computeHash(null));
+    }
+}
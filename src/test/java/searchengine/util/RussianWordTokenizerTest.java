@@ -0,0 +1,52 @@
+package searchengine.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RussianWordTokenizerTest {
+
+    @Test
+    @DisplayName("Split text into lowercase russian words with offsets")
+    public void testNextWithOffsets() {
+        String text = "Дикая Лошадь, horse - я!";
+        RussianWordTokenizer tokenizer = new RussianWordTokenizer(text);
+        assertTrue(tokenizer.next());
+        assertEquals("дикая", tokenizer.getWord());
+        assertEquals(0, tokenizer.getWordStart());
+        assertEquals(5, tokenizer.getWordEnd());
+        assertTrue(tokenizer.next());
+        assertEquals("лошадь", tokenizer.getWord());
+        assertEquals("Лошадь", text.substring(tokenizer.getWordStart(), tokenizer.getWordEnd()));
+        assertFalse(tokenizer.next());
+    }
+
+    @Test
+    @DisplayName("Cut standalone repeated consonants at the end of word")
+    public void testCutStandaloneConsonants() {
+        assertEquals(List.of("кла", "ттт"), getWords("класс ммм жж, ттт"));
+    }
+
+    @Test
+    @DisplayName("Check word consists of two or more lowcase russian letters")
+    public void testIsRussianWord() {
+        assertTrue(RussianWordTokenizer.isRussianWord("лошадь"));
+        assertFalse(RussianWordTokenizer.isRussianWord("я"));
+        assertFalse(RussianWordTokenizer.isRussianWord("Лошадь"));
+        assertFalse(RussianWordTokenizer.isRussianWord("ёж"));
+        assertFalse(RussianWordTokenizer.isRussianWord(""));
+    }
+
+    private List<String> getWords(String text) {
+        List<String> words = new ArrayList<>();
+        RussianWordTokenizer tokenizer = new RussianWordTokenizer(text);
+        while (tokenizer.next()) {
+            words.add(tokenizer.getWord());
+        }
+        return words;
+    }
+}
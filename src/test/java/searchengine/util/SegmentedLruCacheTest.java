@@ -0,0 +1,38 @@
+package searchengine.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentedLruCacheTest {
+
+    @Test
+    @DisplayName("Count hits and misses")
+    public void testGetCountsHitsAndMisses() {
+        SegmentedLruCache<String, Integer> cache = new SegmentedLruCache<>(10);
+        assertNull(cache.get("лошадь"));
+        cache.put("лошадь", 1);
+        assertEquals(1, cache.get("лошадь"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Keep admitting new entries and evict least recently used ones")
+    public void testEvictLeastRecentlyUsed() {
+        SegmentedLruCache<Integer, Integer> cache = new SegmentedLruCache<>(6);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        assertEquals(1, cache.get(1));
+        cache.put(4, 4);
+        cache.put(5, 5);
+        cache.put(6, 6);
+        assertNull(cache.get(2));
+        assertNull(cache.get(3));
+        assertEquals(1, cache.get(1));
+        assertEquals(6, cache.get(6));
+        assertTrue(cache.size() <= 6);
+    }
+}